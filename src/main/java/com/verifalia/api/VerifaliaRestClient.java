@@ -34,9 +34,13 @@ package com.verifalia.api;
 import com.verifalia.api.baseURIProviders.BaseURIProvider;
 import com.verifalia.api.baseURIProviders.ClientCertificateBaseURIProvider;
 import com.verifalia.api.baseURIProviders.DefaultBaseURIProvider;
+import com.verifalia.api.common.AsyncHelper;
+import com.verifalia.api.common.VerifaliaExecutors;
 import com.verifalia.api.credits.CreditsRestClient;
 import com.verifalia.api.emailvalidations.EmailValidationsRestClient;
+import com.verifalia.api.exceptions.VerifaliaException;
 import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.RestClientOptions;
 import com.verifalia.api.rest.security.AuthenticationProvider;
 import com.verifalia.api.rest.security.UsernamePasswordAuthenticationProvider;
 import com.verifalia.api.rest.security.ClientCertificateAuthenticationProvider;
@@ -47,6 +51,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * HTTPS-based REST client for Verifalia.
@@ -135,10 +142,86 @@ public class VerifaliaRestClient {
      *                  affect the stability of the SDK itself. If unsure, please just use {@link #VerifaliaRestClient(AuthenticationProvider)}.
      */
     public VerifaliaRestClient(@NonNull final AuthenticationProvider authenticationProvider, @NonNull final BaseURIProvider baseURIProvider, @NonNull final String apiVersion) {
+        this(authenticationProvider, baseURIProvider, apiVersion, null);
+    }
+
+    /**
+     * Initializes a new HTTPS-based REST client for Verifalia with the specified {@link AuthenticationProvider}, whose
+     * asynchronous operations run on the specified {@link Executor}. Pass the result of
+     * {@link VerifaliaExecutors#newVirtualThreadPerTaskExecutor()} to run them on virtual threads, where supported.
+     * @param authenticationProvider The {@link AuthenticationProvider} which authenticates to the Verifalia API.
+     * @param executor The {@link Executor} which runs the asynchronous operations of the client.
+     */
+    public VerifaliaRestClient(@NonNull final AuthenticationProvider authenticationProvider, @NonNull final Executor executor) {
+        this(authenticationProvider, new DefaultBaseURIProvider(), DEFAULT_API_VERSION, executor);
+    }
+
+    /**
+     * Initializes a new HTTPS-based REST client for Verifalia with the specified {@link AuthenticationProvider}, using the
+     * specified {@link BaseURIProvider base URIs provider}, API version and {@link Executor}.
+     * @param authenticationProvider The {@link AuthenticationProvider} which authenticates to the Verifalia API.
+     * @param baseURIProvider A {@link BaseURIProvider} instance which overrides the default values provided by the SDK.
+     * @param apiVersion The specific API version to use while connecting to the Verifalia API. Warning: this value may
+     *                  affect the stability of the SDK itself. If unsure, please just use {@link #VerifaliaRestClient(AuthenticationProvider)}.
+     * @param executor The {@link Executor} which runs the asynchronous operations of the client; if <tt>null</tt>, the
+     *                 executor returned by {@link VerifaliaExecutors#defaultExecutor()} is used.
+     */
+    public VerifaliaRestClient(@NonNull final AuthenticationProvider authenticationProvider, @NonNull final BaseURIProvider baseURIProvider, @NonNull final String apiVersion,
+                               final Executor executor) {
         List<URI> baseURIs = baseURIProvider.provideBaseURIs();
         Collections.shuffle(baseURIs);
 
-        cachedRestClient = new RestClient(authenticationProvider, baseURIs, apiVersion);
+        cachedRestClient = new RestClient(authenticationProvider, baseURIs, apiVersion, RestClientOptions.builder()
+                .executor(executor)
+                .build());
+    }
+
+    /**
+     * Initializes a new HTTPS-based REST client for Verifalia on top of the specified {@link RestClient}, which may share
+     * its connection pool with other clients; see {@link com.verifalia.api.pool.VerifaliaClientPool}.
+     * @param restClient The underlying {@link RestClient}.
+     */
+    public VerifaliaRestClient(@NonNull final RestClient restClient) {
+        cachedRestClient = restClient;
+    }
+
+    /**
+     * Prepares the client for its first requests, so that they run at steady-state latency: connects to every base URI
+     * in parallel (DNS resolution, TCP and TLS handshakes included), lets the authentication provider acquire its
+     * credentials ahead of time (for example, a bearer token) and primes the JSON serialization of the models.
+     * @throws com.verifalia.api.exceptions.ServiceUnreachableException If none of the base URIs can be reached.
+     * @throws VerifaliaException If the authentication provider can't acquire its credentials.
+     */
+    public void warmUp() throws VerifaliaException {
+        try {
+            warmUpAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof VerifaliaException) {
+                throw (VerifaliaException) e.getCause();
+            }
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Prepares the client for its first requests without blocking the calling thread, for example right after its
+     * construction; see {@link #warmUp()}.
+     * @return A {@link CompletableFuture} which completes once the client is ready.
+     */
+    public CompletableFuture<Void> warmUpAsync() {
+        CompletableFuture<Void> serialization = AsyncHelper.supplyAsync(() -> {
+            getEmailValidations().primeSerialization();
+            getCredits().primeSerialization();
+            return null;
+        }, cachedRestClient.getExecutor());
+
+        return cachedRestClient.warmUpAsync(1)
+                .thenCombine(serialization, (ignored, ignoredToo) -> null);
     }
 
     /**
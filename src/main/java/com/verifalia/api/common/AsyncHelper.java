@@ -0,0 +1,70 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common;
+
+import com.verifalia.api.exceptions.VerifaliaException;
+import lombok.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Internal class used to run the blocking operations of the SDK asynchronously.
+ */
+public class AsyncHelper {
+    /**
+     * A blocking operation against the Verifalia API.
+     * @param <T> The type of the result of the operation.
+     */
+    @FunctionalInterface
+    public interface VerifaliaSupplier<T> {
+        T get() throws VerifaliaException;
+    }
+
+    /**
+     * Runs the specified operation on the given executor; the returned future is completed exceptionally with the
+     * original {@link VerifaliaException} (or unchecked exception) should the operation fail.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(@NonNull final VerifaliaSupplier<T> supplier, @NonNull final Executor executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        executor.execute(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Provides options for a listing which is split into date partitions, retrieved concurrently.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionedListingOptions {
+    /**
+     * The maximum number of partitions retrieved at the same time.
+     */
+    @Builder.Default
+    private int parallelism = 4;
+
+    /**
+     * The number of days covered by each partition; 0 (the default) splits the date range into about four partitions
+     * per unit of {@link #parallelism}, so that a busy partition does not hold back the others.
+     */
+    @Builder.Default
+    private int partitionDays = 0;
+
+    /**
+     * Whether the items are returned in the order of the listing, as if it was not partitioned; otherwise, they are
+     * returned as soon as they are retrieved by any partition, which is faster when the partitions differ in size.
+     */
+    @Builder.Default
+    private boolean ordered = true;
+
+    /**
+     * The maximum number of segments each running partition retrieves ahead of the consumer of the listing; in ordered
+     * mode, partitions which fit within this limit never wait for the consumer.
+     */
+    @Builder.Default
+    private int prefetchSegments = 8;
+}
@@ -31,6 +31,7 @@
 
 package com.verifalia.api.common;
 
+import com.verifalia.api.common.serialization.IsoDateFormat;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.utils.URIBuilder;
 
@@ -40,6 +41,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.util.Objects.nonNull;
 
@@ -47,6 +50,9 @@ import static java.util.Objects.nonNull;
  * Internal utility methods/functions used throughout the SDK.
  */
 public class Utils {
+    private static final String ISO_LOCAL_DATE_FORMAT = "yyyy-MM-dd";
+    private static final ConcurrentMap<String, DateTimeFormatter> DATE_TIME_FORMATTERS = new ConcurrentHashMap<>();
+
     /**
      * Generates URI for HTTP request.
      *
@@ -82,7 +88,11 @@ public class Utils {
      */
     public static String convertLocalDateToString(LocalDate localDate, String dateFormat) {
         if (nonNull(localDate)) {
-            return localDate.format(DateTimeFormatter.ofPattern(dateFormat));
+            if (ISO_LOCAL_DATE_FORMAT.equals(dateFormat)) {
+                return IsoDateFormat.formatLocalDate(localDate);
+            }
+
+            return localDate.format(DATE_TIME_FORMATTERS.computeIfAbsent(dateFormat, DateTimeFormatter::ofPattern));
         }
         return StringUtils.EMPTY;
     }
@@ -0,0 +1,125 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Factory methods for the executors used to run the asynchronous operations of the SDK.
+ * <p>On Java 21 and later the SDK runs its blocking calls on virtual threads, which are detected at runtime; on older
+ * runtimes it falls back to a cached pool of daemon platform threads.
+ */
+public final class VerifaliaExecutors {
+    private static final Lock DEFAULT_EXECUTOR_LOCK = new ReentrantLock();
+    private static volatile ExecutorService defaultExecutor;
+
+    private VerifaliaExecutors() {
+    }
+
+    /**
+     * Returns <tt>true</tt> if the current Java runtime supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return findVirtualThreadFactoryMethod() != null;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task, if the current Java runtime supports virtual
+     * threads, or an executor backed by a cached pool of daemon platform threads otherwise.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method factoryMethod = findVirtualThreadFactoryMethod();
+
+        if (factoryMethod != null) {
+            try {
+                return (ExecutorService) factoryMethod.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall back to platform threads
+            }
+        }
+
+        return newPlatformThreadExecutor();
+    }
+
+    /**
+     * Creates an executor backed by a cached pool of daemon platform threads.
+     */
+    public static ExecutorService newPlatformThreadExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * Gets the executor shared by the REST clients which have not been configured with a specific one; the executor is
+     * created on first use through {@link #newVirtualThreadPerTaskExecutor()}.
+     */
+    public static ExecutorService defaultExecutor() {
+        ExecutorService executor = defaultExecutor;
+
+        if (executor == null) {
+            DEFAULT_EXECUTOR_LOCK.lock();
+
+            try {
+                executor = defaultExecutor;
+
+                if (executor == null) {
+                    executor = newVirtualThreadPerTaskExecutor();
+                    defaultExecutor = executor;
+                }
+            } finally {
+                DEFAULT_EXECUTOR_LOCK.unlock();
+            }
+        }
+
+        return executor;
+    }
+
+    private static Method findVirtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
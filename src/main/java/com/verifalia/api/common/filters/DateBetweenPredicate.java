@@ -38,6 +38,7 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A filter predicate used to filter dates between two optional values.
@@ -89,4 +90,35 @@ public class DateBetweenPredicate extends DateFilterPredicate {
 
         return result.toArray(new FilterPredicateFragment[result.size()]);
     }
+
+    /**
+     * Splits this predicate into contiguous, non-overlapping predicates, in ascending date order, each covering at
+     * most the specified number of days; both the bounds of this predicate must be set.
+     *
+     * @param partitionDays The maximum number of days covered by each resulting predicate.
+     */
+    public List<DateBetweenPredicate> split(final int partitionDays) {
+        if (partitionDays <= 0) {
+            throw new IllegalArgumentException("The number of days of each partition must be greater than zero.");
+        }
+        if (this.getSince() == null || this.getUntil() == null) {
+            throw new IllegalArgumentException("Both since and until are required to split the predicate.");
+        }
+
+        List<DateBetweenPredicate> result = new ArrayList<>();
+        LocalDate since = this.getSince();
+
+        while (!since.isAfter(this.getUntil())) {
+            LocalDate until = since.plusDays(partitionDays - 1);
+
+            if (until.isAfter(this.getUntil())) {
+                until = this.getUntil();
+            }
+
+            result.add(new DateBetweenPredicate(since, until));
+            since = until.plusDays(1);
+        }
+
+        return result;
+    }
 }
\ No newline at end of file
@@ -36,6 +36,8 @@ import lombok.NonNull;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Objects;
+
 /**
  * A filter predicate used to exclude certain elements from a target set of possible values.
  *
@@ -68,4 +70,15 @@ public class SetExclusionPredicate<T> extends SetFilterPredicate<T> {
 
         return new FilterPredicateFragment[0];
     }
+
+    @Override
+    public boolean test(final T value) {
+        for (T item : values) {
+            if (Objects.equals(item, value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
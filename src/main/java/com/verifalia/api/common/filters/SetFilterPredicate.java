@@ -37,4 +37,15 @@ package com.verifalia.api.common.filters;
  * @param <T> The type of elements in the target set.
  */
 public abstract class SetFilterPredicate<T> extends FilterPredicate {
+    /**
+     * Evaluates the predicate against the specified value, allowing to apply the filter on the client side. The default
+     * implementation accepts every value: predicates which don't override this method are only applied by the
+     * Verifalia API.
+     *
+     * @param value The value to evaluate.
+     * @return <tt>true</tt> if the value satisfies the predicate, <tt>false</tt> otherwise.
+     */
+    public boolean test(final T value) {
+        return true;
+    }
 }
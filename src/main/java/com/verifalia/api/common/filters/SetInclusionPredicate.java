@@ -36,6 +36,8 @@ import lombok.NonNull;
 import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Objects;
+
 /**
  * A filter predicate used to include certain elements from a target set of possible values.
  *
@@ -68,4 +70,21 @@ public class SetInclusionPredicate<T> extends SetFilterPredicate<T> {
 
         return new FilterPredicateFragment[0];
     }
+
+    @Override
+    public boolean test(final T value) {
+        // An empty set is not sent to the Verifalia API, which then returns every value
+
+        if (values.length == 0) {
+            return true;
+        }
+
+        for (T item : values) {
+            if (Objects.equals(item, value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
@@ -31,40 +31,123 @@
 
 package com.verifalia.api.common.iterables;
 
+import com.verifalia.api.common.ListingCheckpoint;
 import com.verifalia.api.common.ListingCursor;
 import com.verifalia.api.common.ListingOptions;
+import com.verifalia.api.common.PartitionedListingOptions;
+import com.verifalia.api.common.ProgressProvider;
 import com.verifalia.api.common.models.ListSegment;
 import com.verifalia.api.exceptions.VerifaliaException;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 
-import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
 
 /**
  * Internal class used for keyset pagination against the Verifalia API.
  */
 public class IterableHelper {
-    public static <TItem, TOptions extends ListingOptions> Iterable<TItem> buildIterator(FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher,
-                                                                                         NextSegmentFetcher<TItem> nextSegmentFetcher,
-                                                                                         TOptions options) throws VerifaliaException {
+    public static <TItem, TOptions extends ListingOptions> ResumableIterable<TItem> buildIterator(FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher,
+                                                                                                  NextSegmentFetcher<TItem> nextSegmentFetcher,
+                                                                                                  TOptions options) throws VerifaliaException {
+        return buildIterator(firstSegmentFetcher, nextSegmentFetcher, options, null, null, 0);
+    }
+
+    /**
+     * Builds an iterable collection over the items of a listing operation, eventually resuming it from a checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, or <tt>null</tt> to start from the
+     *                   first segment.
+     * @param checkpointProvider A {@link ProgressProvider} instance which eventually receives a {@link ListingCheckpoint}
+     *                           each <tt>checkpointInterval</tt> retrieved segments.
+     * @param checkpointInterval The number of segments between two consecutive checkpoints.
+     */
+    public static <TItem, TOptions extends ListingOptions> ResumableIterable<TItem> buildIterator(FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher,
+                                                                                                  NextSegmentFetcher<TItem> nextSegmentFetcher,
+                                                                                                  TOptions options,
+                                                                                                  ListingCheckpoint resumeFrom,
+                                                                                                  ProgressProvider<ListingCheckpoint> checkpointProvider,
+                                                                                                  int checkpointInterval) throws VerifaliaException {
+        if (checkpointProvider != null && checkpointInterval <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be greater than zero.");
+        }
+
+        ListingCursor cursor = null;
+        ListSegment<TItem> firstSegment;
+
+        if (resumeFrom != null && resumeFrom.getCursor() != null) {
+            cursor = buildCursor(resumeFrom.getCursor(), options);
+            firstSegment = nextSegmentFetcher.fetch(cursor);
+        } else {
+            firstSegment = firstSegmentFetcher.fetch(options);
+        }
+
+        ItemIterator<TItem, TOptions> iterator = new ItemIterator<>(firstSegment, cursor, nextSegmentFetcher, options,
+                checkpointProvider, checkpointInterval);
 
-        ListSegment<TItem> firstSegment = firstSegmentFetcher.fetch(options);
-        ItemIterator<TItem, TOptions> iterator = new ItemIterator<>(firstSegment, nextSegmentFetcher, options);
+        // Skip the items consumed before the checkpoint
+
+        if (resumeFrom != null) {
+            iterator.skip(resumeFrom.getPositionInSegment());
+        }
 
         return () -> iterator;
     }
 
-    private static class ItemIterator<TItem, TOptions extends ListingOptions> implements Iterator {
+    /**
+     * Builds an iterable collection over the items of a listing operation split into partitions, which are retrieved
+     * concurrently on the specified executor.
+     * @param partitions The options of each partition, in the order of the listing; partitions must not overlap.
+     * @param partitioningOptions A {@link PartitionedListingOptions} representing the options for the retrieval.
+     * @param executor The {@link Executor} which retrieves the partitions.
+     */
+    public static <TItem, TOptions extends ListingOptions> PartitionedIterable<TItem> buildPartitionedIterator(@NonNull FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher,
+                                                                                                           @NonNull NextSegmentFetcher<TItem> nextSegmentFetcher,
+                                                                                                           @NonNull List<TOptions> partitions,
+                                                                                                           @NonNull PartitionedListingOptions partitioningOptions,
+                                                                                                           @NonNull Executor executor) {
+        if (partitioningOptions.getParallelism() <= 0) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero.");
+        }
+        if (partitioningOptions.getPrefetchSegments() <= 0) {
+            throw new IllegalArgumentException("The number of prefetched segments must be greater than zero.");
+        }
+
+        return () -> new PartitionedItemIterator<>(firstSegmentFetcher, nextSegmentFetcher, partitions, partitioningOptions, executor);
+    }
+
+    static ListingCursor buildCursor(@NonNull final String cursor, final ListingOptions options) {
+        ListingCursor listingCursor = new ListingCursor();
+
+        listingCursor.setCursor(cursor);
+
+        if (options != null) {
+            listingCursor.setDirection(options.getDirection());
+            listingCursor.setLimit(options.getLimit());
+        }
+
+        return listingCursor;
+    }
+
+    private static class ItemIterator<TItem, TOptions extends ListingOptions> implements ResumableIterator<TItem> {
         private final NextSegmentFetcher<TItem> nextSegmentFetcher;
         private final TOptions options;
+        private final ProgressProvider<ListingCheckpoint> checkpointProvider;
+        private final int checkpointInterval;
         private ListSegment<TItem> segment;
+        private ListingCursor cursor;
         private int consumedInSegment = 0;
+        private long fetchedSegments = 1;
 
-        public ItemIterator(@NonNull ListSegment<TItem> segment, @NonNull NextSegmentFetcher<TItem> nextSegmentFetcher, TOptions options) {
+        public ItemIterator(@NonNull ListSegment<TItem> segment, ListingCursor cursor, @NonNull NextSegmentFetcher<TItem> nextSegmentFetcher,
+                            TOptions options, ProgressProvider<ListingCheckpoint> checkpointProvider, int checkpointInterval) {
             this.segment = segment;
+            this.cursor = cursor;
             this.nextSegmentFetcher = nextSegmentFetcher;
             this.options = options;
+            this.checkpointProvider = checkpointProvider;
+            this.checkpointInterval = checkpointInterval;
         }
 
         @SneakyThrows
@@ -72,12 +155,12 @@ public class IterableHelper {
         public boolean hasNext() {
             fetchNextSegmentIfNeeded();
 
-            return segment != null && (consumedInSegment < segment.getData().size());
+            return segment != null;
         }
 
         @SneakyThrows
         @Override
-        public Object next() {
+        public TItem next() {
             fetchNextSegmentIfNeeded();
 
             if (segment == null) {
@@ -87,25 +170,52 @@ public class IterableHelper {
             return segment.getData().get(consumedInSegment++);
         }
 
-        private void fetchNextSegmentIfNeeded() throws VerifaliaException {
-            if (consumedInSegment >= segment.getData().size()) {
-                consumedInSegment = 0;
+        @Override
+        public ListingCursor getCursor() {
+            return cursor;
+        }
 
-                if (segment.getMeta() != null && segment.getMeta().getIsTruncated()) {
-                    ListingCursor cursor = new ListingCursor();
+        @Override
+        public int getPositionInSegment() {
+            return consumedInSegment;
+        }
 
-                    cursor.setCursor(segment.getMeta().getCursor());
+        @Override
+        public ListingCheckpoint getCheckpoint() {
+            return new ListingCheckpoint(cursor == null ? null : cursor.getCursor(), consumedInSegment);
+        }
 
-                    if (options != null) {
-                        cursor.setDirection(options.getDirection());
-                        cursor.setLimit(options.getLimit());
-                    }
+        private void skip(final int count) {
+            if (segment != null) {
+                consumedInSegment = Math.min(count, sizeOf(segment));
+            }
+        }
+
+        /**
+         * Moves to the next segment with some data, if the current one has been consumed; segments may be empty even
+         * when followed by others, for example because their items have been filtered out on the client side. The
+         * segment is <tt>null</tt> once the listing is over.
+         */
+        private void fetchNextSegmentIfNeeded() throws VerifaliaException {
+            while (segment != null && consumedInSegment >= sizeOf(segment)) {
+                consumedInSegment = 0;
 
+                if (segment.getMeta() != null && Boolean.TRUE.equals(segment.getMeta().getIsTruncated())) {
+                    cursor = buildCursor(segment.getMeta().getCursor(), options);
                     segment = nextSegmentFetcher.fetch(cursor);
+                    fetchedSegments++;
+
+                    if (checkpointProvider != null && fetchedSegments % checkpointInterval == 0) {
+                        checkpointProvider.report(getCheckpoint());
+                    }
                 } else {
                     segment = null;
                 }
             }
         }
+
+        private static int sizeOf(final ListSegment<?> segment) {
+            return segment.getData() == null ? 0 : segment.getData().size();
+        }
     }
 }
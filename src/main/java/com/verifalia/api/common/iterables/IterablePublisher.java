@@ -0,0 +1,211 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.iterables;
+
+import com.verifalia.api.common.AsyncHelper;
+import lombok.NonNull;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Internal class which exposes the items of a listing operation as a Reactive Streams {@link Publisher}.
+ * <p>Segments are retrieved from the Verifalia API only as the subscriber signals demand, and always on the provided
+ * executor, so that the subscriber threads are never blocked; cancelling the subscription stops any further retrieval.
+ * The completion is signaled lazily, once the subscriber requests more items than the listing holds.
+ * On Java 9 and later, the publisher can be adapted to a <tt>java.util.concurrent.Flow.Publisher</tt> through
+ * <tt>org.reactivestreams.FlowAdapters</tt>.
+ * @param <TItem> The type of the listed items.
+ */
+public class IterablePublisher<TItem> implements Publisher<TItem> {
+    private final AsyncHelper.VerifaliaSupplier<? extends Iterable<TItem>> source;
+    private final Executor executor;
+
+    /**
+     * @param source A supplier of the (blocking) iterable collection to publish, invoked once per subscription on the
+     *               executor, as soon as the subscriber signals some demand.
+     * @param executor The executor which retrieves the segments and signals the subscriber.
+     */
+    public IterablePublisher(@NonNull final AsyncHelper.VerifaliaSupplier<? extends Iterable<TItem>> source, @NonNull final Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super TItem> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("The subscriber must not be null.");
+        }
+
+        subscriber.onSubscribe(new IterableSubscription<>(subscriber, source, executor));
+    }
+
+    private static class IterableSubscription<TItem> implements Subscription, Runnable {
+        private final Subscriber<? super TItem> subscriber;
+        private final AsyncHelper.VerifaliaSupplier<? extends Iterable<TItem>> source;
+        private final Executor executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private Iterator<TItem> iterator;
+
+        IterableSubscription(@NonNull final Subscriber<? super TItem> subscriber,
+                             @NonNull final AsyncHelper.VerifaliaSupplier<? extends Iterable<TItem>> source,
+                             @NonNull final Executor executor) {
+            this.subscriber = subscriber;
+            this.source = source;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The number of requested items must be positive (rule 3.9), got " + n + ".");
+            } else {
+                // Accumulate the demand, capping it to Long.MAX_VALUE (meaning unbounded)
+
+                long current;
+
+                do {
+                    current = requested.get();
+
+                    if (current == Long.MAX_VALUE) {
+                        break;
+                    }
+                } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // No drain loop is running, hence the subscriber can be signaled from here
+
+                    terminate(e);
+                }
+            }
+        }
+
+        /**
+         * Emits items while there is outstanding demand; only one drain loop runs at any time.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+
+            while (true) {
+                long demand = requested.get();
+                long emitted = 0;
+
+                while (emitted != demand) {
+                    if (cancelled) {
+                        iterator = null;
+                        return;
+                    }
+
+                    if (invalidRequest != null) {
+                        terminate(invalidRequest);
+                        return;
+                    }
+
+                    TItem item;
+
+                    try {
+                        if (iterator == null) {
+                            iterator = source.get().iterator();
+                        }
+
+                        if (!iterator.hasNext()) {
+                            cancelled = true;
+                            iterator = null;
+                            subscriber.onComplete();
+                            return;
+                        }
+
+                        item = iterator.next();
+                    } catch (Throwable e) {
+                        terminate(e);
+                        return;
+                    }
+
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+
+                if (cancelled) {
+                    iterator = null;
+                    return;
+                }
+
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+
+                // Once the demand is fulfilled, the iterator is not asked whether more items follow, as that may retrieve
+                // the next segment: the completion is signaled by the first drain which finds it exhausted
+
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = pendingDrains.addAndGet(-missed);
+
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate(@NonNull final Throwable e) {
+            cancelled = true;
+            iterator = null;
+            subscriber.onError(e);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.iterables;
+
+import com.verifalia.api.common.ListingOptions;
+import com.verifalia.api.common.PartitionedListingOptions;
+import com.verifalia.api.common.models.ListSegment;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.exceptions.WaitingInterruptedException;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retrieves the partitions of a listing on an {@link Executor}, at most {@link PartitionedListingOptions#getParallelism()}
+ * at a time and in their natural order, each of them buffering a bounded number of segments ahead of the consumer.
+ * <p>In ordered mode each partition has its own buffer, which the consumer drains one partition after the other:
+ * partitions never overlap, so this yields the same order as the non-partitioned listing. Since partitions are started
+ * in order as soon as a running one completes, the first partition not yet consumed is always running.
+ */
+class PartitionedItemIterator<TItem, TOptions extends ListingOptions> implements PartitionedIterator<TItem> {
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher;
+    private final NextSegmentFetcher<TItem> nextSegmentFetcher;
+    private final List<TOptions> partitions;
+    private final Executor executor;
+    private final boolean ordered;
+    private final List<BlockingQueue<Chunk<TItem>>> buffers;
+    private final AtomicInteger nextPartition = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Consumer state
+
+    private int completedPartitions;
+    private List<TItem> items;
+    private int consumedInItems;
+
+    PartitionedItemIterator(@NonNull final FirstSegmentFetcher<TItem, TOptions> firstSegmentFetcher,
+                            @NonNull final NextSegmentFetcher<TItem> nextSegmentFetcher,
+                            @NonNull final List<TOptions> partitions,
+                            @NonNull final PartitionedListingOptions options,
+                            @NonNull final Executor executor) {
+        this.firstSegmentFetcher = firstSegmentFetcher;
+        this.nextSegmentFetcher = nextSegmentFetcher;
+        this.partitions = partitions;
+        this.executor = executor;
+        this.ordered = options.isOrdered();
+
+        if (ordered) {
+            this.buffers = new ArrayList<>(partitions.size());
+
+            for (int index = 0; index < partitions.size(); index++) {
+                this.buffers.add(new ArrayBlockingQueue<>(options.getPrefetchSegments()));
+            }
+        } else {
+            // A single buffer, shared by all the running partitions
+
+            this.buffers = Collections.singletonList(
+                    new ArrayBlockingQueue<>(options.getPrefetchSegments() * options.getParallelism()));
+        }
+
+        for (int count = 0; count < Math.min(options.getParallelism(), partitions.size()); count++) {
+            startNextPartition();
+        }
+    }
+
+    @SneakyThrows
+    @Override
+    public boolean hasNext() {
+        fetchNextItemsIfNeeded();
+
+        return items != null;
+    }
+
+    @SneakyThrows
+    @Override
+    public TItem next() {
+        fetchNextItemsIfNeeded();
+
+        if (items == null) {
+            throw new NoSuchElementException();
+        }
+
+        return items.get(consumedInItems++);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        // Unblocks the partitions waiting for room in their buffers
+
+        for (BlockingQueue<Chunk<TItem>> buffer : buffers) {
+            buffer.clear();
+        }
+    }
+
+    private void fetchNextItemsIfNeeded() throws Exception {
+        if (closed) {
+            items = null;
+            return;
+        }
+
+        while (items == null || consumedInItems >= items.size()) {
+            items = null;
+            consumedInItems = 0;
+
+            if (closed || completedPartitions >= partitions.size()) {
+                return;
+            }
+
+            BlockingQueue<Chunk<TItem>> buffer = buffers.get(ordered ? completedPartitions : 0);
+            Chunk<TItem> chunk;
+
+            try {
+                chunk = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new WaitingInterruptedException("Interrupted while waiting for the partitions of the listing.", e);
+            }
+
+            if (chunk.failure != null) {
+                close();
+                throw chunk.failure;
+            }
+
+            if (chunk.items == null) {
+                completedPartitions++;
+            } else {
+                items = chunk.items;
+            }
+        }
+    }
+
+    private void startNextPartition() {
+        int index = nextPartition.getAndIncrement();
+
+        if (index >= partitions.size() || closed) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> retrievePartition(index));
+        } catch (RejectedExecutionException e) {
+            buffers.get(ordered ? index : 0).offer(new Chunk<>(null, new VerifaliaException("Cannot retrieve the partitions of the listing.", e)));
+        }
+    }
+
+    private void retrievePartition(final int index) {
+        TOptions options = partitions.get(index);
+
+        try {
+            ListSegment<TItem> segment = firstSegmentFetcher.fetch(options);
+
+            while (segment != null && !closed) {
+                if (segment.getData() != null && !segment.getData().isEmpty()) {
+                    deliver(index, new Chunk<>(segment.getData(), null));
+                }
+
+                if (segment.getMeta() != null && Boolean.TRUE.equals(segment.getMeta().getIsTruncated())) {
+                    segment = nextSegmentFetcher.fetch(IterableHelper.buildCursor(segment.getMeta().getCursor(), options));
+                } else {
+                    segment = null;
+                }
+            }
+
+            deliver(index, new Chunk<>(null, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        } catch (Exception e) {
+            try {
+                deliver(index, new Chunk<>(null, e));
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        } finally {
+            startNextPartition();
+        }
+    }
+
+    private void deliver(final int index, @NonNull final Chunk<TItem> chunk) throws InterruptedException {
+        BlockingQueue<Chunk<TItem>> buffer = buffers.get(ordered ? index : 0);
+
+        while (!closed) {
+            if (buffer.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The items of a segment, the end of a partition (no items) or the failure of a partition.
+     */
+    private static class Chunk<TItem> {
+        final List<TItem> items;
+        final Exception failure;
+
+        Chunk(final List<TItem> items, final Exception failure) {
+            this.items = items;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.iterables;
+
+import com.verifalia.api.common.ListingCheckpoint;
+import com.verifalia.api.common.ListingCursor;
+
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over the items of a listing operation which exposes its position, allowing to resume the
+ * listing at a later time.
+ * @param <TItem> The type of the listed items.
+ */
+public interface ResumableIterator<TItem> extends Iterator<TItem> {
+    /**
+     * Gets the {@link ListingCursor} used to retrieve the current segment of items, or <tt>null</tt> if the current
+     * segment is the first one of the listing.
+     */
+    ListingCursor getCursor();
+
+    /**
+     * Gets the number of items already consumed within the current segment.
+     */
+    int getPositionInSegment();
+
+    /**
+     * Gets a {@link ListingCheckpoint} representing the current position of the iterator.
+     */
+    ListingCheckpoint getCheckpoint();
+}
@@ -31,35 +31,46 @@
 
 package com.verifalia.api.common.serialization;
 
-import lombok.NonNull;
-import org.apache.commons.lang3.StringUtils;
 import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.JsonDeserializer;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * A Json deserializer for the dates returned by the Verifalia API.
  */
 public class DateDeserializer extends JsonDeserializer<LocalDate> {
-    private static LocalDate convertStringToLocalDate(@NonNull final String dateStr) {
-        if (!StringUtils.isBlank(dateStr)) {
-            return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        }
-        return null;
-    }
-
     @Override
     public LocalDate deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-        String dateString = jsonParser.getText();
+        if (jsonParser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        char[] buffer = jsonParser.getTextCharacters();
+        int offset = jsonParser.getTextOffset();
+        int length = jsonParser.getTextLength();
 
-        if (dateString == null) {
+        // Blank values are mapped to null
+
+        while (length > 0 && Character.isWhitespace(buffer[offset])) {
+            offset++;
+            length--;
+        }
+        while (length > 0 && Character.isWhitespace(buffer[offset + length - 1])) {
+            length--;
+        }
+
+        if (length == 0) {
             return null;
         }
 
-        return convertStringToLocalDate(dateString);
+        try {
+            return IsoDateFormat.parseLocalDate(buffer, offset, length);
+        } catch (IllegalArgumentException e) {
+            throw deserializationContext.weirdStringException(LocalDate.class, e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A Json deserializer for the timestamps returned by the Verifalia API.
+ * <p>ISO 8601 timestamps are parsed straight out of the parser's character buffer; any other representation falls
+ * back to the default date parsing of the deserialization context.
+ */
+public class DateTimeDeserializer extends JsonDeserializer<Date> {
+    @Override
+    public Date deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        JsonToken token = jsonParser.getCurrentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(jsonParser.getLongValue());
+        }
+
+        try {
+            return new Date(IsoDateFormat.parseDateTime(jsonParser.getTextCharacters(),
+                    jsonParser.getTextOffset(),
+                    jsonParser.getTextLength()));
+        } catch (IllegalArgumentException e) {
+            String text = jsonParser.getText().trim();
+
+            if (text.isEmpty()) {
+                return null;
+            }
+
+            // Report unparseable values as mapping errors, like the default date deserializer of Jackson does
+
+            try {
+                return deserializationContext.parseDate(text);
+            } catch (IllegalArgumentException parseException) {
+                throw deserializationContext.weirdStringException(Date.class,
+                        "not a valid representation (error: " + parseException.getMessage() + ")");
+            }
+        }
+    }
+}
@@ -31,8 +31,8 @@
 
 package com.verifalia.api.common.serialization;
 
-import lombok.NonNull;
 import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.JsonDeserializer;
 
@@ -41,49 +41,21 @@ import java.time.Duration;
 
 /**
  * A Json deserializer for the durations returned by the Verifalia API.
+ * <p>The time span is parsed straight out of the parser's character buffer, without allocating intermediate strings.
  */
 public class DurationDeserializer extends JsonDeserializer<Duration> {
     @Override
     public Duration deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-        String durationString = jsonParser.getText();
-
-        if (durationString == null) {
+        if (jsonParser.getCurrentToken() == JsonToken.VALUE_NULL) {
             return null;
         }
 
-        return parseDuration(durationString);
-    }
-
-    private Duration parseDuration(@NonNull String inputData) {
-        inputData = inputData.trim();
-
-        // Parse the eventual days information
-
-        String[] dayFields = inputData.split("\\.");
-
-        if (dayFields.length > 2) {
-            throw new IllegalArgumentException();
-        }
-
-        int days = 0;
-        String timeData = inputData;
-
-        if (dayFields.length == 2) {
-            days = Integer.parseInt(dayFields[0]);
-            timeData = dayFields[1];
+        try {
+            return TimeSpanFormat.parse(jsonParser.getTextCharacters(),
+                    jsonParser.getTextOffset(),
+                    jsonParser.getTextLength());
+        } catch (IllegalArgumentException e) {
+            throw deserializationContext.weirdStringException(Duration.class, e.getMessage());
         }
-
-        // Parse the time information
-
-        String[] timeFields = timeData.split(":");
-
-        if (timeFields.length != 3) {
-            throw new IllegalArgumentException();
-        }
-
-        return Duration.ofSeconds((days * 24 * 60 * 60) +
-                (Integer.parseInt(timeFields[0]) * 60 * 60) +
-                (Integer.parseInt(timeFields[1]) * 60) +
-                (Integer.parseInt(timeFields[2])));
     }
-}
\ No newline at end of file
+}
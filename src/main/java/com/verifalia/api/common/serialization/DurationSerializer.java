@@ -31,7 +31,6 @@
 
 package com.verifalia.api.common.serialization;
 
-import lombok.NonNull;
 import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.map.JsonSerializer;
 import org.codehaus.jackson.map.SerializerProvider;
@@ -40,44 +39,20 @@ import java.io.IOException;
 import java.time.Duration;
 
 /**
- * A Json serializer for the dates accepted by the Verifalia API.
+ * A Json serializer for the durations accepted by the Verifalia API.
  */
 public class DurationSerializer extends JsonSerializer<Duration> {
-    private final long SECONDS_IN_MINUTE = 60;
-    private final long SECONDS_IN_HOUR = SECONDS_IN_MINUTE * 60;
-    private final long SECONDS_IN_DAY = SECONDS_IN_HOUR * 24;
-
     @Override
     public void serialize(Duration value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
         if (value == null) {
             jgen.writeNull();
         } else {
-            jgen.writeString(toString(value));
-        }
-    }
-
-    private String toString(@NonNull Duration value) {
-        StringBuffer sb = new StringBuffer();
-        long remainingSeconds = value.toMillis() / 1000;
+            // The generator copies the characters, so the per-thread buffer can be reused right away
 
-        long days = remainingSeconds / SECONDS_IN_DAY;
+            char[] buffer = TimeSpanFormat.scratchBuffer();
+            int length = TimeSpanFormat.format(value, buffer, 0);
 
-        if (days != 0) {
-            sb.append(days);
-            sb.append(".");
-            remainingSeconds = remainingSeconds % SECONDS_IN_DAY;
+            jgen.writeString(buffer, 0, length);
         }
-
-        sb.append(remainingSeconds / SECONDS_IN_HOUR);
-        sb.append(":");
-        remainingSeconds = remainingSeconds % SECONDS_IN_HOUR;
-
-        sb.append(remainingSeconds / SECONDS_IN_MINUTE);
-        sb.append(":");
-        remainingSeconds = remainingSeconds % SECONDS_IN_MINUTE;
-
-        sb.append(remainingSeconds);
-
-        return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,286 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import lombok.NonNull;
+
+import java.time.LocalDate;
+
+/**
+ * Internal, allocation-free parser and formatter for the ISO 8601 dates and timestamps exchanged with the Verifalia API.
+ */
+public final class IsoDateFormat {
+    /**
+     * The length of a formatted <tt>yyyy-MM-dd</tt> date.
+     */
+    public static final int LOCAL_DATE_LENGTH = 10;
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private IsoDateFormat() {
+    }
+
+    /**
+     * Parses a <tt>yyyy-MM-dd</tt> date stored in a portion of a character buffer.
+     * @return The parsed {@link LocalDate}.
+     * @throws IllegalArgumentException If the characters do not represent a valid date.
+     */
+    public static LocalDate parseLocalDate(@NonNull final char[] buffer, final int offset, final int length) {
+        if (length != LOCAL_DATE_LENGTH) {
+            throw invalid(buffer, offset, length);
+        }
+
+        int year = readDigits(buffer, offset, 4, offset, length);
+        expect(buffer, offset + 4, '-', offset, length);
+        int month = readDigits(buffer, offset + 5, 2, offset, length);
+        expect(buffer, offset + 7, '-', offset, length);
+        int day = readDigits(buffer, offset + 8, 2, offset, length);
+
+        checkDate(year, month, day, buffer, offset, length);
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Formats the specified {@link LocalDate} as <tt>yyyy-MM-dd</tt> into the given buffer, which must have room for at
+     * least {@link #LOCAL_DATE_LENGTH} characters past the offset.
+     * @return The number of characters written.
+     */
+    public static int formatLocalDate(@NonNull final LocalDate value, @NonNull final char[] buffer, final int offset) {
+        int year = value.getYear();
+
+        if (year < 0 || year > 9999) {
+            throw new IllegalArgumentException("Unsupported year: " + year);
+        }
+
+        buffer[offset] = (char) ('0' + year / 1000);
+        buffer[offset + 1] = (char) ('0' + (year / 100) % 10);
+        TimeSpanFormat.writeTwoDigits(year % 100, buffer, offset + 2);
+        buffer[offset + 4] = '-';
+        TimeSpanFormat.writeTwoDigits(value.getMonthValue(), buffer, offset + 5);
+        buffer[offset + 7] = '-';
+        TimeSpanFormat.writeTwoDigits(value.getDayOfMonth(), buffer, offset + 8);
+
+        return LOCAL_DATE_LENGTH;
+    }
+
+    /**
+     * Formats the specified {@link LocalDate} as <tt>yyyy-MM-dd</tt>.
+     */
+    public static String formatLocalDate(@NonNull final LocalDate value) {
+        char[] buffer = TimeSpanFormat.scratchBuffer();
+        return new String(buffer, 0, formatLocalDate(value, buffer, 0));
+    }
+
+    /**
+     * Parses an ISO 8601 timestamp (<tt>yyyy-MM-dd[THH:mm[:ss[.fffffff]]][Z|&plusmn;HH:mm|&plusmn;HHmm]</tt>) stored in
+     * a portion of a character buffer; timestamps without an explicit offset are assumed to be in UTC.
+     * @return The number of milliseconds since the epoch.
+     * @throws IllegalArgumentException If the characters do not represent a supported timestamp.
+     */
+    public static long parseDateTime(@NonNull final char[] buffer, final int offset, final int length) {
+        if (length < LOCAL_DATE_LENGTH) {
+            throw invalid(buffer, offset, length);
+        }
+
+        int end = offset + length;
+        int year = readDigits(buffer, offset, 4, offset, length);
+        expect(buffer, offset + 4, '-', offset, length);
+        int month = readDigits(buffer, offset + 5, 2, offset, length);
+        expect(buffer, offset + 7, '-', offset, length);
+        int day = readDigits(buffer, offset + 8, 2, offset, length);
+
+        checkDate(year, month, day, buffer, offset, length);
+
+        long millis = daysFromCivil(year, month, day) * MILLIS_PER_DAY;
+        int position = offset + LOCAL_DATE_LENGTH;
+
+        if (position == end) {
+            return millis;
+        }
+
+        // Time of the day
+
+        if (buffer[position] != 'T' && buffer[position] != 't' && buffer[position] != ' ') {
+            throw invalid(buffer, offset, length);
+        }
+
+        int hours = readDigits(buffer, position + 1, 2, offset, length);
+        expect(buffer, position + 3, ':', offset, length);
+        int minutes = readDigits(buffer, position + 4, 2, offset, length);
+        int seconds = 0;
+        position += 6;
+
+        if (position < end && buffer[position] == ':') {
+            seconds = readDigits(buffer, position + 1, 2, offset, length);
+            position += 3;
+
+            if (position < end && (buffer[position] == '.' || buffer[position] == ',')) {
+                position++;
+
+                int fractionStart = position;
+                int fractionMillis = 0;
+
+                while (position < end && buffer[position] >= '0' && buffer[position] <= '9') {
+                    // Digits beyond the milliseconds are ignored, as java.util.Date can't represent them
+
+                    if (position - fractionStart < 3) {
+                        fractionMillis = fractionMillis * 10 + (buffer[position] - '0');
+                    }
+
+                    position++;
+                }
+
+                int fractionDigits = position - fractionStart;
+
+                if (fractionDigits == 0) {
+                    throw invalid(buffer, offset, length);
+                }
+
+                for (int i = fractionDigits; i < 3; i++) {
+                    fractionMillis *= 10;
+                }
+
+                millis += fractionMillis;
+            }
+        }
+
+        if (hours > 23 || minutes > 59 || seconds > 59) {
+            throw invalid(buffer, offset, length);
+        }
+
+        millis += ((hours * 60L + minutes) * 60L + seconds) * 1000L;
+
+        // Optional UTC offset
+
+        if (position == end) {
+            return millis;
+        }
+
+        char designator = buffer[position];
+
+        if (designator == 'Z' || designator == 'z') {
+            if (position + 1 != end) {
+                throw invalid(buffer, offset, length);
+            }
+
+            return millis;
+        }
+
+        if (designator != '+' && designator != '-') {
+            throw invalid(buffer, offset, length);
+        }
+
+        int offsetHours = readDigits(buffer, position + 1, 2, offset, length);
+        int offsetMinutes = 0;
+        position += 3;
+
+        if (position < end) {
+            if (buffer[position] == ':') {
+                position++;
+            }
+
+            offsetMinutes = readDigits(buffer, position, 2, offset, length);
+            position += 2;
+        }
+
+        if (position != end || offsetHours > 18 || offsetMinutes > 59) {
+            throw invalid(buffer, offset, length);
+        }
+
+        long offsetMillis = (offsetHours * 60L + offsetMinutes) * MILLIS_PER_MINUTE;
+        return designator == '+' ? millis - offsetMillis : millis + offsetMillis;
+    }
+
+    /**
+     * Returns the number of days since the epoch for the specified proleptic Gregorian date.
+     */
+    private static long daysFromCivil(final int year, final int month, final int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static void checkDate(final int year, final int month, final int day, final char[] buffer, final int offset, final int length) {
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            throw invalid(buffer, offset, length);
+        }
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int readDigits(final char[] buffer, final int position, final int count, final int offset, final int length) {
+        if (position + count > offset + length) {
+            throw invalid(buffer, offset, length);
+        }
+
+        int value = 0;
+
+        for (int i = position; i < position + count; i++) {
+            char digit = buffer[i];
+
+            if (digit < '0' || digit > '9') {
+                throw invalid(buffer, offset, length);
+            }
+
+            value = value * 10 + (digit - '0');
+        }
+
+        return value;
+    }
+
+    private static void expect(final char[] buffer, final int position, final char expected, final int offset, final int length) {
+        if (position >= offset + length || buffer[position] != expected) {
+            throw invalid(buffer, offset, length);
+        }
+    }
+
+    private static IllegalArgumentException invalid(final char[] buffer, final int offset, final int length) {
+        return new IllegalArgumentException("Invalid ISO 8601 date: " + new String(buffer, offset, length));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import com.verifalia.api.common.models.ListSegment;
+import com.verifalia.api.common.models.ListSegmentMeta;
+import lombok.NonNull;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.DeserializerProvider;
+import org.codehaus.jackson.map.JsonDeserializer;
+import org.codehaus.jackson.map.JsonMappingException;
+import org.codehaus.jackson.map.ResolvableDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A streaming Json deserializer for the segments of a listing, whose items are read through the deserializer resolved
+ * by the object mapper for their type - so that, for example, projections of the validation entries apply.
+ * @param <S> The type of the segment.
+ * @param <T> The type of the items of the segment.
+ */
+public class ListSegmentDeserializer<S extends ListSegment<T>, T> extends JsonDeserializer<S> implements ResolvableDeserializer {
+    private final Supplier<S> segmentFactory;
+    private final Class<T> itemClass;
+    private JsonDeserializer<Object> itemDeserializer;
+
+    public ListSegmentDeserializer(@NonNull final Supplier<S> segmentFactory, @NonNull final Class<T> itemClass) {
+        this.segmentFactory = segmentFactory;
+        this.itemClass = itemClass;
+    }
+
+    @Override
+    public void resolve(DeserializationConfig config, DeserializerProvider provider) throws JsonMappingException {
+        itemDeserializer = provider.findValueDeserializer(config, config.getTypeFactory().constructType(itemClass), null);
+    }
+
+    @Override
+    public S deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(ListSegment.class);
+        }
+
+        S segment = segmentFactory.get();
+
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String fieldName = jp.getCurrentName();
+            JsonToken valueToken = jp.nextToken();
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "meta":
+                    segment.setMeta(deserializeMeta(jp));
+                    break;
+                case "data":
+                    segment.setData(deserializeItems(jp, ctxt));
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return segment;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> deserializeItems(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(List.class);
+        }
+
+        List<T> items = new ArrayList<>();
+
+        for (JsonToken token = jp.nextToken(); token != JsonToken.END_ARRAY; token = jp.nextToken()) {
+            items.add(token == JsonToken.VALUE_NULL ? null : (T) itemDeserializer.deserialize(jp, ctxt));
+        }
+
+        return items;
+    }
+
+    private static ListSegmentMeta deserializeMeta(final JsonParser jp) throws IOException {
+        ListSegmentMeta meta = new ListSegmentMeta();
+
+        for (JsonToken token = jp.nextToken(); token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String fieldName = jp.getCurrentName();
+            JsonToken valueToken = jp.nextToken();
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "cursor":
+                    meta.setCursor(jp.getText());
+                    break;
+                case "isTruncated":
+                    meta.setIsTruncated(jp.getBooleanValue());
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return meta;
+    }
+}
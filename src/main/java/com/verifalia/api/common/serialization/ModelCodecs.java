@@ -0,0 +1,141 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.credits.models.DailyUsage;
+import com.verifalia.api.credits.serialization.BalanceDeserializer;
+import com.verifalia.api.credits.serialization.DailyUsageDeserializer;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+import com.verifalia.api.emailvalidations.serialization.ValidationEntryDeserializer;
+import com.verifalia.api.emailvalidations.serialization.ValidationOverviewDeserializer;
+import com.verifalia.api.emailvalidations.serialization.ValidationOverviewSerializer;
+import com.verifalia.api.emailvalidations.serialization.ValidationRequestSerializer;
+import lombok.NonNull;
+import org.codehaus.jackson.Version;
+import org.codehaus.jackson.map.BeanDescription;
+import org.codehaus.jackson.map.BeanProperty;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.DeserializerProvider;
+import org.codehaus.jackson.map.Deserializers;
+import org.codehaus.jackson.map.JsonDeserializer;
+import org.codehaus.jackson.map.JsonSerializer;
+import org.codehaus.jackson.map.Module;
+import org.codehaus.jackson.map.SerializationConfig;
+import org.codehaus.jackson.map.Serializers;
+import org.codehaus.jackson.type.JavaType;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The registry of the streaming JSON codecs of the SDK models, which read and write the models directly against the
+ * Jackson parser and generator - dispatching on the field names - instead of relying on bean introspection and
+ * reflective accessors. The codecs are plugged into the object mappers of the SDK through {@link #buildModule()};
+ * models without a registered codec keep being handled by Jackson.
+ */
+public final class ModelCodecs {
+    private static final Map<Class<?>, Supplier<? extends JsonDeserializer<?>>> DESERIALIZERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, JsonSerializer<?>> SERIALIZERS = new ConcurrentHashMap<>();
+
+    static {
+        registerDeserializer(ValidationEntry.class, () -> new ValidationEntryDeserializer(EnumSet.allOf(ValidationEntryField.class)));
+        registerDeserializer(ValidationOverview.class, ValidationOverviewDeserializer::new);
+        registerDeserializer(Balance.class, BalanceDeserializer::new);
+        registerDeserializer(DailyUsage.class, DailyUsageDeserializer::new);
+        registerSerializer(ValidationRequest.class, new ValidationRequestSerializer());
+        registerSerializer(ValidationOverview.class, new ValidationOverviewSerializer());
+    }
+
+    private ModelCodecs() {
+    }
+
+    /**
+     * Registers the deserializer of the specified type; a new deserializer is built for each object mapper, so that
+     * deserializers may resolve their dependencies against it. Types must be registered before their first use.
+     * @param type The exact type handled by the deserializer.
+     * @param factory The factory of the deserializer.
+     */
+    public static <T> void registerDeserializer(@NonNull final Class<T> type, @NonNull final Supplier<? extends JsonDeserializer<? extends T>> factory) {
+        DESERIALIZERS.put(type, factory);
+    }
+
+    /**
+     * Registers the (stateless) serializer of the specified type. Types must be registered before their first use.
+     * @param type The exact type handled by the serializer.
+     * @param serializer The serializer.
+     */
+    public static <T> void registerSerializer(@NonNull final Class<T> type, @NonNull final JsonSerializer<T> serializer) {
+        SERIALIZERS.put(type, serializer);
+    }
+
+    /**
+     * Builds a Jackson module which resolves the registered codecs.
+     */
+    public static Module buildModule() {
+        return new Module() {
+            @Override
+            public String getModuleName() {
+                return "VerifaliaModelCodecs";
+            }
+
+            @Override
+            public Version version() {
+                return Version.unknownVersion();
+            }
+
+            @Override
+            public void setupModule(SetupContext context) {
+                context.addDeserializers(new Deserializers.Base() {
+                    @Override
+                    public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, DeserializerProvider provider,
+                                                                    BeanDescription beanDesc, BeanProperty property) {
+                        Supplier<? extends JsonDeserializer<?>> factory = DESERIALIZERS.get(type.getRawClass());
+                        return factory == null ? null : factory.get();
+                    }
+                });
+
+                context.addSerializers(new Serializers.Base() {
+                    @Override
+                    public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc, BeanProperty property) {
+                        return SERIALIZERS.get(type.getRawClass());
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Internal, allocation-free parser and formatter for the time spans exchanged with the Verifalia API, which follow the
+ * .NET constant ("c") format: <tt>[-][d.]hh:mm[:ss[.fffffff]]</tt>.
+ */
+public final class TimeSpanFormat {
+    /**
+     * The maximum length of a formatted time span; use it to size the buffers passed to {@link #format(Duration, char[], int)}.
+     */
+    public static final int MAX_LENGTH = 32;
+
+    private static final long SECONDS_IN_MINUTE = 60;
+    private static final long SECONDS_IN_HOUR = SECONDS_IN_MINUTE * 60;
+    private static final long SECONDS_IN_DAY = SECONDS_IN_HOUR * 24;
+    private static final int FRACTION_DIGITS = 7;
+    private static final int NANOS_PER_TICK = 100;
+
+    /**
+     * A per-thread buffer for the formatting methods, which only allocate it once per thread.
+     */
+    private static final ThreadLocal<char[]> SCRATCH_BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
+    private TimeSpanFormat() {
+    }
+
+    /**
+     * Returns the per-thread scratch buffer, with room for at least {@link #MAX_LENGTH} characters; its content is
+     * only valid until the next formatting on the same thread.
+     */
+    static char[] scratchBuffer() {
+        return SCRATCH_BUFFER.get();
+    }
+
+    /**
+     * Parses the time span stored in a portion of a character buffer; leading and trailing white spaces are ignored.
+     * @return The parsed {@link Duration}.
+     * @throws IllegalArgumentException If the characters do not represent a valid time span.
+     */
+    public static Duration parse(@NonNull final char[] buffer, final int offset, final int length) {
+        int position = offset;
+        int end = offset + length;
+
+        while (position < end && Character.isWhitespace(buffer[position])) {
+            position++;
+        }
+        while (end > position && Character.isWhitespace(buffer[end - 1])) {
+            end--;
+        }
+
+        boolean negative = position < end && buffer[position] == '-';
+
+        if (negative) {
+            position++;
+        }
+
+        // The first component is either the number of days (if followed by a dot) or the number of hours
+
+        long days = 0;
+        long value = 0;
+        int digitsStart = position;
+
+        while (position < end && isDigit(buffer[position])) {
+            value = value * 10 + (buffer[position++] - '0');
+        }
+
+        checkDigits(buffer, offset, length, digitsStart, position, 8);
+
+        if (position == end) {
+            // Days only
+
+            return build(negative, value * SECONDS_IN_DAY, 0);
+        }
+
+        if (buffer[position] == '.') {
+            days = value;
+            position++;
+            value = 0;
+            digitsStart = position;
+
+            while (position < end && isDigit(buffer[position])) {
+                value = value * 10 + (buffer[position++] - '0');
+            }
+
+            checkDigits(buffer, offset, length, digitsStart, position, 2);
+        }
+
+        long hours = value;
+        position = expect(buffer, offset, length, position, end, ':');
+
+        // Minutes
+
+        long minutes = 0;
+        digitsStart = position;
+
+        while (position < end && isDigit(buffer[position])) {
+            minutes = minutes * 10 + (buffer[position++] - '0');
+        }
+
+        checkDigits(buffer, offset, length, digitsStart, position, 2);
+
+        // Optional seconds and fraction of seconds
+
+        long seconds = 0;
+        long nanos = 0;
+
+        if (position < end) {
+            position = expect(buffer, offset, length, position, end, ':');
+            digitsStart = position;
+
+            while (position < end && isDigit(buffer[position])) {
+                seconds = seconds * 10 + (buffer[position++] - '0');
+            }
+
+            checkDigits(buffer, offset, length, digitsStart, position, 2);
+
+            if (position < end) {
+                position = expect(buffer, offset, length, position, end, '.');
+                digitsStart = position;
+
+                long scale = 100_000_000;
+
+                while (position < end && isDigit(buffer[position])) {
+                    nanos += (buffer[position++] - '0') * scale;
+                    scale /= 10;
+                }
+
+                checkDigits(buffer, offset, length, digitsStart, position, 9);
+            }
+        }
+
+        if (position != end || hours > 23 || minutes > 59 || seconds > 59) {
+            throw invalid(buffer, offset, length);
+        }
+
+        return build(negative, days * SECONDS_IN_DAY + hours * SECONDS_IN_HOUR + minutes * SECONDS_IN_MINUTE + seconds, nanos);
+    }
+
+    /**
+     * Parses the specified time span.
+     * @return The parsed {@link Duration}.
+     * @throws IllegalArgumentException If the string does not represent a valid time span.
+     */
+    public static Duration parse(@NonNull final String value) {
+        return parse(value.toCharArray(), 0, value.length());
+    }
+
+    /**
+     * Formats the specified {@link Duration} into the given buffer, which must have room for at least
+     * {@link #MAX_LENGTH} characters past the offset.
+     * @return The number of characters written.
+     */
+    public static int format(@NonNull final Duration value, @NonNull final char[] buffer, final int offset) {
+        int position = offset;
+        long totalSeconds = value.getSeconds();
+        int nanos = value.getNano();
+
+        if (value.isNegative()) {
+            buffer[position++] = '-';
+
+            // Duration keeps the nanoseconds positive, even for negative values
+
+            if (nanos > 0) {
+                totalSeconds = -totalSeconds - 1;
+                nanos = 1_000_000_000 - nanos;
+            } else {
+                totalSeconds = -totalSeconds;
+            }
+        }
+
+        long days = totalSeconds / SECONDS_IN_DAY;
+        long remainingSeconds = totalSeconds % SECONDS_IN_DAY;
+
+        if (days != 0) {
+            position = writeLong(days, buffer, position);
+            buffer[position++] = '.';
+        }
+
+        position = writeTwoDigits((int) (remainingSeconds / SECONDS_IN_HOUR), buffer, position);
+        buffer[position++] = ':';
+        remainingSeconds %= SECONDS_IN_HOUR;
+        position = writeTwoDigits((int) (remainingSeconds / SECONDS_IN_MINUTE), buffer, position);
+        buffer[position++] = ':';
+        position = writeTwoDigits((int) (remainingSeconds % SECONDS_IN_MINUTE), buffer, position);
+
+        // Fractions of seconds are expressed in ticks (100 nanoseconds), like .NET does
+
+        int ticks = nanos / NANOS_PER_TICK;
+
+        if (ticks != 0) {
+            buffer[position++] = '.';
+
+            for (int divisor = 1_000_000; divisor > 0; divisor /= 10) {
+                buffer[position++] = (char) ('0' + (ticks / divisor) % 10);
+            }
+        }
+
+        return position - offset;
+    }
+
+    /**
+     * Formats the specified {@link Duration}.
+     * @return The formatted time span.
+     */
+    public static String format(@NonNull final Duration value) {
+        char[] buffer = scratchBuffer();
+        return new String(buffer, 0, format(value, buffer, 0));
+    }
+
+    private static Duration build(final boolean negative, final long seconds, final long nanos) {
+        if (seconds == 0 && nanos == 0) {
+            return Duration.ZERO;
+        }
+
+        return negative
+                ? Duration.ofSeconds(-seconds, -nanos)
+                : Duration.ofSeconds(seconds, nanos);
+    }
+
+    private static int expect(final char[] buffer, final int offset, final int length, final int position, final int end, final char expected) {
+        if (position >= end || buffer[position] != expected) {
+            throw invalid(buffer, offset, length);
+        }
+
+        return position + 1;
+    }
+
+    private static void checkDigits(final char[] buffer, final int offset, final int length, final int start, final int end, final int maxDigits) {
+        if (end == start || end - start > maxDigits) {
+            throw invalid(buffer, offset, length);
+        }
+    }
+
+    private static boolean isDigit(final char value) {
+        return value >= '0' && value <= '9';
+    }
+
+    static int writeTwoDigits(final int value, final char[] buffer, final int position) {
+        buffer[position] = (char) ('0' + value / 10);
+        buffer[position + 1] = (char) ('0' + value % 10);
+        return position + 2;
+    }
+
+    static int writeLong(final long value, final char[] buffer, final int position) {
+        int digits = 1;
+
+        for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+            digits++;
+        }
+
+        long remaining = value;
+
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+
+        return position + digits;
+    }
+
+    private static IllegalArgumentException invalid(final char[] buffer, final int offset, final int length) {
+        return new IllegalArgumentException("Invalid time span: " + new String(buffer, offset, length));
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.common.serialization;
+
+import lombok.NonNull;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Internal, immutable lookup table which maps the (case-insensitive) tokens returned by the Verifalia API to their
+ * values, without allocating any intermediate string.
+ * <p>Tokens are hashed straight from the character buffer of the JSON parser, using a seed chosen at construction time
+ * so that each token lands in its own slot (a perfect hash); a lookup thus costs a single hash computation and at most
+ * one case-insensitive comparison.</p>
+ * <p>Field names are instead looked up by their string, which Jackson canonicalizes (and whose hash code is thus
+ * computed once): the outcome of each distinct name is cached, up to a fixed number of names.</p>
+ * @param <T> The type of the values of the table.
+ */
+public final class TokenLookupTable<T> {
+    private static final int MAX_SEED_ATTEMPTS = 4096;
+    private static final int MAX_CACHED_NAMES = 256;
+    private static final Object UNKNOWN_TOKEN = new Object();
+    private static final Map<Class<?>, TokenLookupTable<?>> ENUM_TABLES = new ConcurrentHashMap<>();
+
+    private final char[][] tokens;
+    private final Object[] values;
+    private final int mask;
+    private final int seed;
+    private final ConcurrentMap<String, Object> cachedNames = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a lookup table with the specified tokens and values. Tokens are matched ignoring the case of their
+     * ASCII letters.
+     * @param entries The tokens, along with their values.
+     */
+    public TokenLookupTable(@NonNull final Map<String, T> entries) {
+        Set<String> foldedTokens = new HashSet<>();
+
+        for (String token : entries.keySet()) {
+            if (!foldedTokens.add(new String(foldCase(token.toCharArray())))) {
+                throw new IllegalArgumentException("Duplicate token (ignoring case): " + token);
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) << 1;
+        int candidateSeed = 1;
+        char[][] candidateTokens = new char[capacity][];
+        Object[] candidateValues = new Object[capacity];
+
+        // Look for a seed which maps every token to a distinct slot, growing the table if none can be found
+
+        while (!tryPopulate(entries, candidateSeed, capacity - 1, candidateTokens, candidateValues)) {
+            if (++candidateSeed > MAX_SEED_ATTEMPTS) {
+                candidateSeed = 1;
+                capacity <<= 1;
+            }
+
+            candidateTokens = new char[capacity][];
+            candidateValues = new Object[capacity];
+        }
+
+        this.tokens = candidateTokens;
+        this.values = candidateValues;
+        this.mask = capacity - 1;
+        this.seed = candidateSeed;
+    }
+
+    /**
+     * Returns the shared lookup table for the constants of the specified enum type, keyed by their names.
+     * @param enumClass The enum type.
+     * @return The (cached) lookup table for the enum type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> TokenLookupTable<E> forEnum(@NonNull final Class<E> enumClass) {
+        return (TokenLookupTable<E>) ENUM_TABLES.computeIfAbsent(enumClass, key -> {
+            Map<String, E> entries = new LinkedHashMap<>();
+
+            for (E constant : enumClass.getEnumConstants()) {
+                entries.put(constant.name(), constant);
+            }
+
+            return new TokenLookupTable<>(entries);
+        });
+    }
+
+    /**
+     * Looks up the specified token, stored in a portion of a character buffer.
+     * @return The value associated with the token, or <tt>null</tt> if the token is unknown.
+     */
+    @SuppressWarnings("unchecked")
+    public T find(@NonNull final char[] buffer, final int offset, final int length) {
+        int slot = hash(seed, buffer, offset, length) & mask;
+        char[] candidate = tokens[slot];
+
+        if (candidate == null || candidate.length != length) {
+            return null;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (foldCase(buffer[offset + i]) != candidate[i]) {
+                return null;
+            }
+        }
+
+        return (T) values[slot];
+    }
+
+    /**
+     * Looks up the specified token.
+     * @return The value associated with the token, or <tt>null</tt> if the token is unknown.
+     */
+    public T find(@NonNull final String token) {
+        return find(token.toCharArray(), 0, token.length());
+    }
+
+    /**
+     * Looks up the text of the current token of the specified {@link JsonParser}, reading it straight from the parser
+     * buffer.
+     * @return The value associated with the token, or <tt>null</tt> if the token is unknown.
+     */
+    public T find(@NonNull final JsonParser jsonParser) throws IOException {
+        if (jsonParser.getCurrentToken() == JsonToken.FIELD_NAME) {
+            return findName(jsonParser.getCurrentName());
+        }
+
+        return find(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+    }
+
+    @SuppressWarnings("unchecked")
+    private T findName(final String name) {
+        Object value = cachedNames.get(name);
+
+        if (value == null) {
+            value = find(name);
+
+            if (value == null) {
+                value = UNKNOWN_TOKEN;
+            }
+
+            // Unknown names are cached too, hence the bound: a payload with many distinct names would grow it forever
+
+            if (cachedNames.size() < MAX_CACHED_NAMES) {
+                cachedNames.putIfAbsent(name, value);
+            }
+        }
+
+        return value == UNKNOWN_TOKEN ? null : (T) value;
+    }
+
+    private static <T> boolean tryPopulate(final Map<String, T> entries, final int seed, final int mask,
+                                           final char[][] tokens, final Object[] values) {
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            char[] token = entry.getKey().toCharArray();
+            int slot = hash(seed, token, 0, token.length) & mask;
+
+            if (tokens[slot] != null) {
+                return false;
+            }
+
+            tokens[slot] = foldCase(token);
+            values[slot] = entry.getValue();
+        }
+
+        return true;
+    }
+
+    private static int hash(final int seed, final char[] buffer, final int offset, final int length) {
+        int hash = seed * 0x9E3779B9;
+
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ foldCase(buffer[i])) * 0x01000193;
+        }
+
+        return hash ^ (hash >>> 15);
+    }
+
+    private static char[] foldCase(final char[] value) {
+        for (int i = 0; i < value.length; i++) {
+            value[i] = foldCase(value[i]);
+        }
+
+        return value;
+    }
+
+    private static char foldCase(final char value) {
+        return value >= 'A' && value <= 'Z' ? (char) (value + ('a' - 'A')) : value;
+    }
+}
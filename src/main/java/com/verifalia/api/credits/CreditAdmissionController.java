@@ -0,0 +1,461 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.credits;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.credits.models.CreditAdmissionOptions;
+import com.verifalia.api.emailvalidations.EmailValidationsRestClient;
+import com.verifalia.api.emailvalidations.WaitingStrategy;
+import com.verifalia.api.emailvalidations.models.AbstractValidationRequest;
+import com.verifalia.api.emailvalidations.models.FileValidationRequest;
+import com.verifalia.api.emailvalidations.models.QualityLevelName;
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+import com.verifalia.api.exceptions.InsufficientCreditException;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.exceptions.WaitingInterruptedException;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits email validation submissions only if the credit balance of the account can likely cover them, so that
+ * submissions bound to be rejected with an {@link InsufficientCreditException} - for example, large file uploads - are
+ * not even sent.
+ * <p>The controller caches the {@link Balance} of the account, refreshing it periodically in the background and right
+ * after the free daily credits reset, and estimates the cost of each submission out of its number of entries and its
+ * quality level. Credits are reserved locally before each submission, so that concurrent threads never overcommit the
+ * cached balance; reservations which can't be satisfied are either rejected immediately or queued until enough
+ * credits become available.
+ * <p>The accounting rests on two assumptions, neither verified against the Verifalia API:
+ * <ul>
+ *     <li>Verifalia deducts the credits of a job when it accepts the submission, not when the job completes: a
+ *     committed debit is dropped by the first refresh started after its commit, as the retrieved balance is assumed to
+ *     include it. Set {@link CreditAdmissionOptions#getReconciliationWindow()} to keep it deducted longer.</li>
+ *     <li>Validating one email address costs 1, 2 and 4 credits with the standard, high and extreme quality levels;
+ *     set {@link CreditAdmissionOptions#getCostPerEntry()} to the actual costs of your plan.</li>
+ * </ul>
+ */
+public class CreditAdmissionController implements Closeable {
+    private static final long RESET_REFRESH_DELAY_MILLIS = 1000;
+
+    private final CreditsRestClient credits;
+    private final EmailValidationsRestClient emailValidations;
+    private final CreditAdmissionOptions options;
+    private final ScheduledExecutorService refresher;
+    private final Lock lock = new ReentrantLock();
+    private final Condition creditsChanged = lock.newCondition();
+    private final Deque<CommittedDebit> committedDebits = new ArrayDeque<>();
+    private Balance balance;
+    private double reservedCredits;
+    private double committedCredits;
+    private ScheduledFuture<?> resetRefresh;
+
+    /**
+     * Initializes a new controller with the default options.
+     * @param verifaliaRestClient The client used to retrieve the balance and to submit the requests.
+     */
+    public CreditAdmissionController(@NonNull final VerifaliaRestClient verifaliaRestClient) {
+        this(verifaliaRestClient, new CreditAdmissionOptions());
+    }
+
+    /**
+     * Initializes a new controller with the specified options.
+     * @param verifaliaRestClient The client used to retrieve the balance and to submit the requests.
+     * @param options A {@link CreditAdmissionOptions} representing the options for the controller.
+     */
+    public CreditAdmissionController(@NonNull final VerifaliaRestClient verifaliaRestClient, @NonNull final CreditAdmissionOptions options) {
+        this.credits = verifaliaRestClient.getCredits();
+        this.emailValidations = verifaliaRestClient.getEmailValidations();
+        this.options = options;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-credit-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalMillis = options.getRefreshInterval().toMillis();
+        this.refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the cached balance, or <tt>null</tt> if it has not been retrieved yet.
+     */
+    public Balance getBalance() {
+        lock.lock();
+
+        try {
+            return balance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the credits which can still be reserved, retrieving the balance if needed.
+     * @throws VerifaliaException If the balance can't be retrieved.
+     */
+    public double getAvailableCredits() throws VerifaliaException {
+        ensureBalance();
+
+        lock.lock();
+
+        try {
+            return computeAvailableCredits();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the balance of the account, replacing the cached one.
+     * @throws VerifaliaException If the balance can't be retrieved.
+     */
+    public void refresh() throws VerifaliaException {
+        long startedOn = System.nanoTime();
+        long windowNanos = options.getReconciliationWindow().toNanos();
+        Balance newBalance = credits.getBalance();
+
+        lock.lock();
+
+        try {
+            balance = newBalance;
+
+            // Debits committed at least a reconciliation window before this request started are assumed to be accounted
+            // for by the new balance
+
+            while (!committedDebits.isEmpty() && committedDebits.peekFirst().committedOn + windowNanos - startedOn < 0) {
+                committedCredits -= committedDebits.pollFirst().credits;
+            }
+
+            if (committedDebits.isEmpty()) {
+                committedCredits = 0;
+            }
+
+            scheduleResetRefresh(newBalance.getFreeCreditsResetIn());
+            creditsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estimates the cost of validating the specified number of email addresses.
+     * @param entries The number of email addresses.
+     * @param quality The quality level, or <tt>null</tt> for the standard one.
+     * @return The estimated cost, in credits.
+     */
+    public double estimateCost(final int entries, final QualityLevelName quality) {
+        Double costPerEntry = options.getCostPerEntry().get(quality == null ? QualityLevelName.Standard : quality);
+        return entries * (costPerEntry == null ? options.getDefaultCostPerEntry() : costPerEntry);
+    }
+
+    /**
+     * Estimates the cost of the specified request; the number of entries of a {@link FileValidationRequest} is only
+     * known if its ending row is set, and is otherwise estimated out of the length of its content - see
+     * {@link CreditAdmissionOptions#getEstimatedBytesPerFileEntry()} and {@link CreditAdmissionOptions#getDefaultFileEntries()}.
+     * @param validationRequest The email validation request.
+     * @return The estimated cost, in credits.
+     * @throws IllegalArgumentException If the number of entries of the request can't be determined.
+     */
+    public double estimateCost(@NonNull final AbstractValidationRequest validationRequest) {
+        return estimateCost(countEntries(validationRequest), validationRequest.getQuality());
+    }
+
+    /**
+     * Reserves the specified amount of credits, if available.
+     * @param amount The amount of credits to reserve.
+     * @return The reservation, or <tt>null</tt> if the available credits are not enough.
+     * @throws VerifaliaException If the balance can't be retrieved.
+     */
+    public CreditReservation tryReserve(final double amount) throws VerifaliaException {
+        ensureBalance();
+
+        lock.lock();
+
+        try {
+            return tryReserveLocked(amount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserves the specified amount of credits, rejecting the reservation if they are not available.
+     * @param amount The amount of credits to reserve.
+     * @return The reservation.
+     * @throws InsufficientCreditException If the available credits are not enough.
+     * @throws VerifaliaException If the balance can't be retrieved.
+     */
+    public CreditReservation reserve(final double amount) throws VerifaliaException {
+        CreditReservation reservation = tryReserve(amount);
+
+        if (reservation == null) {
+            throw new InsufficientCreditException(String.format("Insufficient credit: %.2f credits requested, %.2f available.",
+                    amount, getAvailableCredits()));
+        }
+
+        return reservation;
+    }
+
+    /**
+     * Reserves the specified amount of credits, waiting for them to become available - because of released
+     * reservations or of a refreshed balance - for at most the specified time.
+     * @param amount The amount of credits to reserve.
+     * @param timeout The maximum time to wait.
+     * @return The reservation.
+     * @throws InsufficientCreditException If the credits did not become available in time.
+     * @throws VerifaliaException If the balance can't be retrieved or the wait is interrupted.
+     */
+    public CreditReservation reserve(final double amount, @NonNull final Duration timeout) throws VerifaliaException {
+        ensureBalance();
+
+        long remainingNanos = timeout.toNanos();
+
+        lock.lock();
+
+        try {
+            while (true) {
+                CreditReservation reservation = tryReserveLocked(amount);
+
+                if (reservation != null) {
+                    return reservation;
+                }
+
+                if (remainingNanos <= 0) {
+                    throw new InsufficientCreditException(String.format("Insufficient credit: %.2f credits requested, %.2f available after %d ms.",
+                            amount, computeAvailableCredits(), timeout.toMillis()));
+                }
+
+                remainingNanos = creditsChanged.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WaitingInterruptedException("Interrupted while waiting for credits.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Submits the specified request after reserving its estimated cost, rejecting it before sending it if the
+     * available credits are not enough.
+     * @param validationRequest The email validation request to submit.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation.
+     * @return The submitted {@link Validation}.
+     * @throws InsufficientCreditException If the available credits are not enough, either locally or for Verifalia.
+     * @throws VerifaliaException If the submission fails.
+     */
+    public Validation submit(@NonNull final AbstractValidationRequest validationRequest, final WaitingStrategy waitingStrategy) throws VerifaliaException {
+        CreditReservation reservation = reserve(estimateCost(validationRequest));
+
+        try {
+            Validation validation = emailValidations.submit(validationRequest, waitingStrategy);
+            reservation.commit();
+
+            return validation;
+        } catch (InsufficientCreditException e) {
+            // The cached balance was stale: reconcile it before the next admissions
+
+            refreshQuietly();
+            throw e;
+        } finally {
+            reservation.release();
+        }
+    }
+
+    /**
+     * Stops the background refreshes of the balance.
+     */
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    void commit(@NonNull final CreditReservation reservation) {
+        lock.lock();
+
+        try {
+            reservedCredits -= reservation.getCredits();
+            committedCredits += reservation.getCredits();
+            committedDebits.addLast(new CommittedDebit(reservation.getCredits(), System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(@NonNull final CreditReservation reservation) {
+        lock.lock();
+
+        try {
+            reservedCredits -= reservation.getCredits();
+            creditsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CreditReservation tryReserveLocked(final double amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("The amount of credits can't be negative.");
+        }
+
+        if (computeAvailableCredits() < amount) {
+            return null;
+        }
+
+        reservedCredits += amount;
+        return new CreditReservation(this, amount);
+    }
+
+    private double computeAvailableCredits() {
+        if (balance == null) {
+            return 0;
+        }
+
+        double total = (balance.getCreditPacks() == null ? 0 : balance.getCreditPacks())
+                + (balance.getFreeCredits() == null ? 0 : balance.getFreeCredits());
+
+        return Math.max(0, total - reservedCredits - committedCredits - options.getSafetyMargin());
+    }
+
+    private void ensureBalance() throws VerifaliaException {
+        boolean missing;
+
+        lock.lock();
+
+        try {
+            missing = balance == null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (missing) {
+            refresh();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Retried on the next refresh
+        }
+    }
+
+    /**
+     * Refreshes the balance right after the free daily credits reset; must be invoked while holding the lock.
+     */
+    private void scheduleResetRefresh(final Duration freeCreditsResetIn) {
+        if (resetRefresh != null) {
+            resetRefresh.cancel(false);
+            resetRefresh = null;
+        }
+
+        if (freeCreditsResetIn == null || freeCreditsResetIn.isNegative()) {
+            return;
+        }
+
+        try {
+            resetRefresh = refresher.schedule(this::refreshQuietly, freeCreditsResetIn.toMillis() + RESET_REFRESH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The controller has been closed
+        }
+    }
+
+    private int countEntries(@NonNull final AbstractValidationRequest validationRequest) {
+        if (validationRequest instanceof ValidationRequest) {
+            ValidationRequest request = (ValidationRequest) validationRequest;
+            return request.getEntries() == null ? 0 : request.getEntries().size();
+        }
+
+        if (validationRequest instanceof FileValidationRequest) {
+            FileValidationRequest request = (FileValidationRequest) validationRequest;
+            int firstRow = request.getStartingRow() == null ? 0 : request.getStartingRow();
+
+            if (request.getEndingRow() != null) {
+                return Math.max(0, request.getEndingRow() - firstRow + 1);
+            }
+
+            Integer rows = estimateFileRows(request);
+
+            if (rows != null) {
+                return Math.max(0, rows - firstRow);
+            }
+        }
+
+        throw new IllegalArgumentException("Can't determine the number of entries of the request: reserve its estimated cost explicitly.");
+    }
+
+    private Integer estimateFileRows(@NonNull final FileValidationRequest request) {
+        long length;
+
+        // Streams over files and byte arrays, the ones built by the constructors of the request, report their whole
+        // remaining length without blocking
+
+        try {
+            length = request.getInputStream().available();
+        } catch (IOException e) {
+            length = 0;
+        }
+
+        if (length <= 0) {
+            return options.getDefaultFileEntries();
+        }
+
+        int bytesPerEntry = Math.max(1, options.getEstimatedBytesPerFileEntry());
+        return (int) Math.min(Integer.MAX_VALUE, (length + bytesPerEntry - 1) / bytesPerEntry);
+    }
+
+    private static class CommittedDebit {
+        final double credits;
+        final long committedOn;
+
+        CommittedDebit(final double credits, final long committedOn) {
+            this.credits = credits;
+            this.committedOn = committedOn;
+        }
+    }
+}
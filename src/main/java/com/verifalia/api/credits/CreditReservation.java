@@ -0,0 +1,84 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.credits;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An amount of credits reserved through a {@link CreditAdmissionController} for a submission.
+ * <p>Once the submission has been accepted by Verifalia, {@link #commit()} the reservation: its credits stay deducted
+ * from the cached balance until a later refresh accounts for them. Otherwise, {@link #release()} it, or just close it:
+ * closing a reservation which has not been committed releases it.
+ */
+public class CreditReservation implements Closeable {
+    private final CreditAdmissionController controller;
+
+    /**
+     * Gets the amount of reserved credits.
+     */
+    @Getter
+    private final double credits;
+
+    private final AtomicBoolean settled = new AtomicBoolean();
+
+    CreditReservation(@NonNull final CreditAdmissionController controller, final double credits) {
+        this.controller = controller;
+        this.credits = credits;
+    }
+
+    /**
+     * Marks the reserved credits as spent by an accepted submission.
+     */
+    public void commit() {
+        if (settled.compareAndSet(false, true)) {
+            controller.commit(this);
+        }
+    }
+
+    /**
+     * Returns the reserved credits to the available balance.
+     */
+    public void release() {
+        if (settled.compareAndSet(false, true)) {
+            controller.release(this);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
@@ -31,11 +31,18 @@
 
 package com.verifalia.api.credits;
 
+import com.verifalia.api.common.AsyncHelper;
 import com.verifalia.api.common.Direction;
+import com.verifalia.api.common.ListingCheckpoint;
 import com.verifalia.api.common.iterables.IterableHelper;
+import com.verifalia.api.common.iterables.IterablePublisher;
+import com.verifalia.api.common.iterables.ResumableIterable;
 import com.verifalia.api.common.ListingCursor;
+import com.verifalia.api.common.ProgressProvider;
 import com.verifalia.api.common.Utils;
 import com.verifalia.api.common.filters.FilterPredicateFragment;
+import com.verifalia.api.common.serialization.ListSegmentDeserializer;
+import com.verifalia.api.common.serialization.ModelCodecs;
 import com.verifalia.api.common.models.ListSegment;
 import com.verifalia.api.credits.models.Balance;
 import com.verifalia.api.credits.models.DailyUsage;
@@ -47,10 +54,15 @@ import com.verifalia.api.rest.RestRequest;
 import com.verifalia.api.rest.RestResponse;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.reactivestreams.Publisher;
 
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Objects.nonNull;
 
@@ -58,6 +70,13 @@ import static java.util.Objects.nonNull;
  * Manages credit packs, daily free credits and usage consumption for the Verifalia account.
  */
 public class CreditsRestClient {
+    static {
+        // The list segments are private to this class: register their streaming codecs here
+
+        ModelCodecs.registerDeserializer(DailyUsageListSegment.class,
+                () -> new ListSegmentDeserializer<>(DailyUsageListSegment::new, DailyUsage.class));
+    }
+
     private final RestClient restClient;
 
     /**
@@ -82,6 +101,26 @@ public class CreditsRestClient {
         return response.deserialize(Balance.class);
     }
 
+    /**
+     * Builds and caches the JSON deserializers of the credits models, without sending any request; see
+     * {@link com.verifalia.api.VerifaliaRestClient#warmUp()}.
+     * @throws VerifaliaException If the payload can't be processed.
+     */
+    public void primeSerialization() throws VerifaliaException {
+        new RestResponse(HttpStatus.SC_OK, new StringEntity("{\"creditPacks\":0,\"freeCredits\":0,\"freeCreditsResetIn\":\"00:00:00\"}",
+                ContentType.APPLICATION_JSON), restClient.getJsonCodec())
+                .deserialize(Balance.class);
+    }
+
+    /**
+     * Returns the current credits balance for the Verifalia account, without blocking the calling thread: the operation
+     * runs on the executor of the underlying {@link RestClient}.
+     * @return A {@link CompletableFuture} which completes with the current credits balance.
+     */
+    public CompletableFuture<Balance> getBalanceAsync() {
+        return AsyncHelper.supplyAsync(this::getBalance, restClient.getExecutor());
+    }
+
     /**
      * Lists the daily usages of the credits for the Verifalia account.
      * @return Iterable<DailyUsage> A collection where each item represents the daily usage of credits for a date.
@@ -101,6 +140,55 @@ public class CreditsRestClient {
                 options);
     }
 
+    /**
+     * Lists the daily usages of the credits for the Verifalia account, resuming the listing from a previously saved
+     * checkpoint.
+     * @param options A {@link DailyUsageListingOptions} representing the options for the listing operation; these must
+     *                match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, or <tt>null</tt> to start from the
+     *                   first item.
+     * @return ResumableIterable<DailyUsage> A collection where each item represents the daily usage of credits for a date.
+     */
+    public ResumableIterable<DailyUsage> listDailyUsages(final DailyUsageListingOptions options,
+                                                         final ListingCheckpoint resumeFrom) throws VerifaliaException {
+        return listDailyUsages(options, resumeFrom, null, 0);
+    }
+
+    /**
+     * Lists the daily usages of the credits for the Verifalia account, resuming the listing from a previously saved
+     * checkpoint and reporting a new checkpoint each <tt>checkpointInterval</tt> retrieved pages.
+     * @param options A {@link DailyUsageListingOptions} representing the options for the listing operation; these must
+     *                match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, or <tt>null</tt> to start from the
+     *                   first item.
+     * @param checkpointProvider A {@link ProgressProvider} instance which eventually receives the checkpoints.
+     * @param checkpointInterval The number of retrieved pages between two consecutive checkpoints.
+     * @return ResumableIterable<DailyUsage> A collection where each item represents the daily usage of credits for a date.
+     */
+    public ResumableIterable<DailyUsage> listDailyUsages(final DailyUsageListingOptions options,
+                                                         final ListingCheckpoint resumeFrom,
+                                                         final ProgressProvider<ListingCheckpoint> checkpointProvider,
+                                                         final int checkpointInterval) throws VerifaliaException {
+        return IterableHelper.buildIterator(
+                this::listDailyUsageSegmented,
+                this::listDailyUsageSegmented,
+                options,
+                resumeFrom,
+                checkpointProvider,
+                checkpointInterval);
+    }
+
+    /**
+     * Lists the daily usages of the credits for the Verifalia account as a Reactive Streams {@link Publisher}: each page
+     * is retrieved on the executor of the underlying {@link RestClient}, only once the subscriber has signalled enough
+     * demand, and the retrieval stops as soon as the subscription is cancelled.
+     * @param options A {@link DailyUsageListingOptions} representing the options for the listing operation.
+     * @return Publisher<DailyUsage> A publisher where each item represents the daily usage of credits for a date.
+     */
+    public Publisher<DailyUsage> listDailyUsagesPublisher(final DailyUsageListingOptions options) {
+        return new IterablePublisher<>(() -> listDailyUsages(options), restClient.getExecutor());
+    }
+
     private ListSegment<DailyUsage> listDailyUsageSegmented(final DailyUsageListingOptions options) throws VerifaliaException {
         Map<String, String> paramMap = new HashMap<>();
 
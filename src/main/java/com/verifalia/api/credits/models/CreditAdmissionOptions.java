@@ -0,0 +1,114 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.credits.models;
+
+import com.verifalia.api.emailvalidations.models.QualityLevelName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides options for a {@link com.verifalia.api.credits.CreditAdmissionController}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditAdmissionOptions {
+    /**
+     * The interval between the refreshes of the cached balance.
+     */
+    @Builder.Default
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * The time a committed debit stays deducted from the cached balance: it is dropped by the first refresh started
+     * at least this long after its commit. The default assumes Verifalia deducts the credits as soon as it accepts a
+     * submission; if it deducts them at completion instead, set this to the expected duration of the jobs.
+     */
+    @Builder.Default
+    private Duration reconciliationWindow = Duration.ZERO;
+
+    /**
+     * The estimated cost, in credits, of validating one email address with each quality level; defaults to 1, 2 and 4
+     * credits for the standard, high and extreme levels, which are not verified against the actual pricing and should
+     * be adjusted to match your plan.
+     */
+    @Builder.Default
+    private Map<QualityLevelName, Double> costPerEntry = defaultCosts();
+
+    /**
+     * The estimated cost, in credits, of validating one email address with a quality level missing from
+     * {@link #costPerEntry}, like a custom one.
+     */
+    @Builder.Default
+    private double defaultCostPerEntry = 1;
+
+    /**
+     * The amount of credits which is never reserved, to absorb the inaccuracies of the estimates.
+     */
+    @Builder.Default
+    private double safetyMargin = 0;
+
+    /**
+     * The estimated average size, in bytes, of the row of each email address in the files submitted through a
+     * {@link com.verifalia.api.emailvalidations.models.FileValidationRequest}, used to estimate their number of entries
+     * out of their length when their ending row is not set.
+     */
+    @Builder.Default
+    private int estimatedBytesPerFileEntry = 32;
+
+    /**
+     * The estimated number of entries of the files whose length can't be determined, like those read from an arbitrary
+     * input stream, and whose ending row is not set; if <tt>null</tt>, the cost of such submissions can't be estimated
+     * and must be reserved explicitly.
+     */
+    private Integer defaultFileEntries;
+
+    private static Map<QualityLevelName, Double> defaultCosts() {
+        Map<QualityLevelName, Double> costs = new HashMap<>();
+        costs.put(QualityLevelName.Standard, 1d);
+        costs.put(QualityLevelName.High, 2d);
+        costs.put(QualityLevelName.Extreme, 4d);
+
+        return costs;
+    }
+}
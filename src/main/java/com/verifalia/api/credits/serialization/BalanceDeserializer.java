@@ -0,0 +1,89 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.credits.serialization;
+
+import com.verifalia.api.common.serialization.DurationDeserializer;
+import com.verifalia.api.credits.models.Balance;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * A streaming Json deserializer for the credits balance, which dispatches on the field names without relying on bean
+ * introspection.
+ */
+public class BalanceDeserializer extends JsonDeserializer<Balance> {
+    private static final DurationDeserializer DURATION_DESERIALIZER = new DurationDeserializer();
+
+    @Override
+    public Balance deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(Balance.class);
+        }
+
+        Balance balance = new Balance();
+
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String fieldName = jp.getCurrentName();
+            JsonToken valueToken = jp.nextToken();
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "creditPacks":
+                    balance.setCreditPacks(jp.getDoubleValue());
+                    break;
+                case "freeCredits":
+                    balance.setFreeCredits(jp.getDoubleValue());
+                    break;
+                case "freeCreditsResetIn":
+                    balance.setFreeCreditsResetIn(DURATION_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return balance;
+    }
+}
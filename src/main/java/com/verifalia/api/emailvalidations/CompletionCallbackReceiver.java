@@ -0,0 +1,398 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.emailvalidations.models.*;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Receives the completion notifications Verifalia sends to the {@link CompletionCallback} of the submitted jobs, as
+ * an alternative to polling them.
+ * <p>The receiver either runs an embedded JDK {@link HttpServer} or, if no bind address is configured, relies on the
+ * hosting application to forward the payloads it receives to {@link #handleNotification(byte[])}. Notifications are
+ * not trusted: each of them only triggers the retrieval of the referenced job, which completes the matching future.
+ * Should no notification arrive within {@link CompletionCallbackReceiverOptions#getFallbackDelay()}, the job is polled
+ * with the configured {@link WaitingStrategy}.
+ */
+public class CompletionCallbackReceiver implements Closeable {
+    private static final String COMPLETED_EVENT_TYPE = "validation-completed";
+    private static final int MAX_EARLY_NOTIFICATIONS = 10_000;
+    private static final long EARLY_NOTIFICATION_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final EmailValidationsRestClient emailValidations;
+    private final CompletionCallbackReceiverOptions options;
+    private final ConcurrentMap<String, CompletableFuture<Validation>> pendingJobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> earlyNotifications = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService fallbackScheduler;
+    private final Lock lock = new ReentrantLock();
+    private HttpServer server;
+    private volatile String callbackUrl;
+
+    /**
+     * Initializes a new receiver with the default options, which does not start the embedded HTTP server.
+     * @param emailValidations The client used to submit and retrieve the jobs.
+     * @param callbackUrl The public URL Verifalia sends the notifications to.
+     */
+    public CompletionCallbackReceiver(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final String callbackUrl) {
+        this(emailValidations, CompletionCallbackReceiverOptions.builder().callbackUrl(callbackUrl).build());
+    }
+
+    /**
+     * Initializes a new receiver with the specified options.
+     * @param emailValidations The client used to submit and retrieve the jobs.
+     * @param options A {@link CompletionCallbackReceiverOptions} representing the options for the receiver.
+     */
+    public CompletionCallbackReceiver(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final CompletionCallbackReceiverOptions options) {
+        if (options.getBindAddress() == null && options.getCallbackUrl() == null) {
+            throw new IllegalArgumentException("Either a bind address or a callback URL must be specified.");
+        }
+
+        this.emailValidations = emailValidations;
+        this.options = options;
+        this.callbackUrl = options.getCallbackUrl();
+        this.fallbackScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-callback-fallback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the embedded HTTP server, if a bind address is configured.
+     * @throws IOException If the server can't be started.
+     */
+    public void start() throws IOException {
+        lock.lock();
+
+        try {
+            if (options.getBindAddress() == null || server != null) {
+                return;
+            }
+
+            server = HttpServer.create(options.getBindAddress(), 0);
+            server.createContext(options.getPath(), this::handleExchange);
+            server.start();
+
+            if (callbackUrl == null) {
+                InetSocketAddress address = server.getAddress();
+                String host = address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+
+                callbackUrl = "http://" + host + ":" + address.getPort() + options.getPath();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the URL Verifalia sends the notifications to.
+     */
+    public String getCallbackUrl() {
+        if (callbackUrl == null) {
+            throw new IllegalStateException("The receiver must be started to determine its callback URL.");
+        }
+
+        return callbackUrl;
+    }
+
+    /**
+     * Submits the specified request, setting its completion callback to this receiver unless already set, and returns
+     * a future which completes once the job has been completed.
+     * @param validationRequest The email validation request to submit.
+     * @return A {@link CompletableFuture} which completes with the completed {@link Validation} (or <tt>null</tt> if the
+     * job is deleted in the meantime), or exceptionally with a
+     * {@link com.verifalia.api.exceptions.VerifaliaException}.
+     */
+    public CompletableFuture<Validation> submit(@NonNull final AbstractValidationRequest validationRequest) {
+        if (validationRequest.getCompletionCallback() == null) {
+            validationRequest.setCompletionCallback(new CompletionCallback(getCallbackUrl()));
+        }
+
+        return emailValidations.submitAsync(validationRequest, null)
+                .thenCompose(validation -> validation.getOverview().getStatus() == ValidationStatus.InProgress
+                        ? await(validation.getOverview().getId())
+                        : CompletableFuture.completedFuture(validation));
+    }
+
+    /**
+     * Returns a future which completes once the specified job, submitted with the completion callback of this
+     * receiver, has been completed.
+     * @param id The {@link ValidationOverview#getId()} of the job.
+     * @return A {@link CompletableFuture} which completes with the completed {@link Validation} (or <tt>null</tt> if the
+     * job is not found), or exceptionally with a {@link com.verifalia.api.exceptions.VerifaliaException}.
+     */
+    public CompletableFuture<Validation> await(@NonNull final String id) {
+        CompletableFuture<Validation> newFuture = new CompletableFuture<>();
+        CompletableFuture<Validation> future = pendingJobs.putIfAbsent(id, newFuture);
+
+        if (future != null) {
+            return future;
+        }
+
+        newFuture.whenComplete((validation, exception) -> pendingJobs.remove(id, newFuture));
+
+        try {
+            fallbackScheduler.schedule(() -> poll(id, newFuture), options.getFallbackDelay().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            newFuture.completeExceptionally(new IllegalStateException("The receiver has been closed."));
+            return newFuture;
+        }
+
+        // The notification may have arrived before the submission returned the ID of the job
+
+        Long notifiedAt = earlyNotifications.remove(id);
+
+        if (notifiedAt != null && System.nanoTime() - notifiedAt < EARLY_NOTIFICATION_TTL_NANOS) {
+            fetch(id, newFuture);
+        }
+
+        return newFuture;
+    }
+
+    /**
+     * Handles a notification payload received by a server other than the embedded one.
+     * @param payload The body of the notification request.
+     * @return <tt>true</tt> if the notification refers to a job awaited by this receiver.
+     * @throws IllegalArgumentException If the payload is not a valid notification.
+     */
+    public boolean handleNotification(@NonNull final byte[] payload) {
+        Notification notification;
+
+        try {
+            notification = emailValidations.getRestClient().getJsonCodec().deserialize(payload, Notification.class);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid notification payload.", e);
+        }
+
+        if (notification == null) {
+            throw new IllegalArgumentException("Invalid notification payload.");
+        }
+
+        NotificationEvent event = notification.getEvent();
+        String type = event == null ? null : event.getType();
+
+        if (type != null && !COMPLETED_EVENT_TYPE.equals(type)) {
+            return false;
+        }
+
+        String id = event == null || event.getData() == null ? null : event.getData().getId();
+
+        if (id == null) {
+            id = notification.getId();
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("The notification payload does not contain the ID of the job.");
+        }
+
+        return notifyCompleted(id);
+    }
+
+    /**
+     * Signals that the specified job may have been completed, as a notification would; useful to simulate the
+     * notifications while testing.
+     * @param id The {@link ValidationOverview#getId()} of the job.
+     * @return <tt>true</tt> if the job is awaited by this receiver.
+     */
+    public boolean notifyCompleted(@NonNull final String id) {
+        CompletableFuture<Validation> future = pendingJobs.get(id);
+
+        if (future == null) {
+            rememberEarlyNotification(id);
+            return false;
+        }
+
+        fetch(id, future);
+        return true;
+    }
+
+    /**
+     * Stops the embedded HTTP server and the fallback polling; the awaited futures are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+
+        try {
+            if (server != null) {
+                server.stop(0);
+                server = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        fallbackScheduler.shutdownNow();
+
+        for (CompletableFuture<Validation> future : pendingJobs.values()) {
+            future.completeExceptionally(new IllegalStateException("The receiver has been closed."));
+        }
+    }
+
+    private void fetch(@NonNull final String id, @NonNull final CompletableFuture<Validation> future) {
+        emailValidations.getAsync(id, null).whenComplete((validation, exception) -> {
+            // Failed retrievals and spurious notifications are covered by the fallback polling
+
+            if (exception == null && (validation == null || validation.getOverview().getStatus() != ValidationStatus.InProgress)) {
+                future.complete(validation);
+            }
+        });
+    }
+
+    private void poll(@NonNull final String id, @NonNull final CompletableFuture<Validation> future) {
+        if (future.isDone()) {
+            return;
+        }
+
+        // Polling stops as soon as a notification completes the job
+
+        WaitingStrategy fallbackStrategy = options.getFallbackWaitingStrategy();
+        WaitingStrategy waitingStrategy = new WaitingStrategy(true, fallbackStrategy.getProgressProvider()) {
+            @Override
+            public void waitForNextPoll(@NonNull final ValidationOverview validationOverview) throws InterruptedException {
+                if (future.isDone()) {
+                    throw new InterruptedException("The job has been completed through its notification.");
+                }
+
+                fallbackStrategy.waitForNextPoll(validationOverview);
+            }
+        };
+
+        emailValidations.getAsync(id, waitingStrategy).whenComplete((validation, exception) -> {
+            if (exception != null) {
+                future.completeExceptionally(exception instanceof CompletionException && exception.getCause() != null
+                        ? exception.getCause()
+                        : exception);
+            } else {
+                future.complete(validation);
+            }
+        });
+    }
+
+    private void rememberEarlyNotification(@NonNull final String id) {
+        long now = System.nanoTime();
+
+        if (earlyNotifications.size() >= MAX_EARLY_NOTIFICATIONS) {
+            earlyNotifications.values().removeIf(notifiedAt -> now - notifiedAt >= EARLY_NOTIFICATION_TTL_NANOS);
+
+            if (earlyNotifications.size() >= MAX_EARLY_NOTIFICATIONS) {
+                return;
+            }
+        }
+
+        earlyNotifications.put(id, now);
+    }
+
+    private void handleExchange(@NonNull final HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] payload = readPayload(exchange.getRequestBody(), options.getMaxPayloadSize());
+
+            if (payload == null) {
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+
+            try {
+                handleNotification(payload);
+            } catch (IllegalArgumentException e) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            // Notifications of unknown jobs are acknowledged as well, so that they are not sent again
+
+            exchange.sendResponseHeaders(200, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readPayload(@NonNull final InputStream input, final int maxSize) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+
+        while ((read = input.read(buffer)) != -1) {
+            if (output.size() + read > maxSize) {
+                return null;
+            }
+
+            output.write(buffer, 0, read);
+        }
+
+        return output.toByteArray();
+    }
+
+    @Getter
+    @Setter
+    private static class Notification {
+        private String id;
+        private NotificationEvent event;
+    }
+
+    @Getter
+    @Setter
+    private static class NotificationEvent {
+        private String type;
+        private NotificationEventData data;
+    }
+
+    @Getter
+    @Setter
+    private static class NotificationEventData {
+        private String id;
+    }
+}
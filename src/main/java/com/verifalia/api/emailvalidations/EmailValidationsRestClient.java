@@ -36,23 +36,30 @@ import com.verifalia.api.common.filters.*;
 import com.verifalia.api.common.iterables.*;
 import com.verifalia.api.common.models.*;
 import com.verifalia.api.emailvalidations.models.*;
+import com.verifalia.api.common.serialization.ListSegmentDeserializer;
+import com.verifalia.api.common.serialization.ModelCodecs;
 import com.verifalia.api.exceptions.*;
 import com.verifalia.api.rest.*;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
-import org.apache.commons.lang.NotImplementedException;
+import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.reactivestreams.Publisher;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Objects.nonNull;
 
@@ -62,6 +69,15 @@ import static java.util.Objects.nonNull;
  * property of {@link com.verifalia.api.VerifaliaRestClient}.
  */
 public class EmailValidationsRestClient {
+    static {
+        // The list segments are private to this class: register their streaming codecs here
+
+        ModelCodecs.registerDeserializer(ValidationOverviewListSegment.class,
+                () -> new ListSegmentDeserializer<>(ValidationOverviewListSegment::new, ValidationOverview.class));
+        ModelCodecs.registerDeserializer(ValidationEntryListSegment.class,
+                () -> new ListSegmentDeserializer<>(ValidationEntryListSegment::new, ValidationEntry.class));
+    }
+
     private final RestClient restClient;
 
     /**
@@ -72,6 +88,35 @@ public class EmailValidationsRestClient {
         this.restClient = restClient;
     }
 
+    /**
+     * Gets the underlying {@link RestClient}, for the helpers of this package which issue their own requests.
+     */
+    RestClient getRestClient() {
+        return restClient;
+    }
+
+    /**
+     * Builds and caches the JSON serializers and deserializers of the email validation models by round-tripping
+     * representative payloads, without sending any request; see {@link com.verifalia.api.VerifaliaRestClient#warmUp()}.
+     * @throws VerifaliaException If a payload can't be processed.
+     */
+    public void primeSerialization() throws VerifaliaException {
+        restClient.serializeToJson(new ValidationRequest(new String[]{"warm-up@example.com"}));
+
+        String overview = "{\"id\":\"00000000-0000-0000-0000-000000000000\",\"status\":\"Completed\",\"priority\":0," +
+                "\"quality\":\"Standard\",\"deduplication\":\"Off\",\"noOfEntries\":1,\"progress\":{\"percentage\":1}," +
+                "\"retention\":\"00:10:00\",\"submittedOn\":\"2020-01-01T00:00:00Z\",\"createdOn\":\"2020-01-01T00:00:00Z\"," +
+                "\"completedOn\":\"2020-01-01T00:00:00Z\"}";
+        String entry = "{\"index\":0,\"inputData\":\"warm-up@example.com\",\"classification\":\"Deliverable\"," +
+                "\"status\":\"Success\",\"emailAddress\":\"warm-up@example.com\",\"isRoleAccount\":false," +
+                "\"completedOn\":\"2020-01-01T00:00:00Z\"}";
+
+        new RestResponse(HttpStatus.SC_OK, new StringEntity("{\"overview\":" + overview + ",\"entries\":{\"data\":[" + entry + "]}}", ContentType.APPLICATION_JSON), restClient.getJsonCodec())
+                .deserialize(ValidationMapper.class);
+        new RestResponse(HttpStatus.SC_OK, new StringEntity("{\"meta\":{},\"data\":[" + overview + "]}", ContentType.APPLICATION_JSON), restClient.getJsonCodec())
+                .deserialize(ValidationOverviewListSegment.class);
+    }
+
     // region Submission methods
 
     /**
@@ -226,7 +271,7 @@ public class EmailValidationsRestClient {
             request = new RestRequest(HttpRequestMethod.POST,
                     "email-validations",
                     // Explicitly set the charset as UTF-8 (see https://github.com/verifalia/verifalia-java-sdk/issues/4)
-                    new StringEntity(RestRequest.serializeToJson(validationRequest), "UTF-8"));
+                    new StringEntity(restClient.serializeToJson(validationRequest), "UTF-8"));
         }
         else if (validationRequest instanceof FileValidationRequest) {
             // The actual file content will be checked by the Verifalia API
@@ -249,7 +294,7 @@ public class EmailValidationsRestClient {
             // Settings part
 
             entityBuilder.addTextBody("settings",
-                    RestRequest.serializeToJson(fileValidationRequest),
+                    restClient.serializeToJson(fileValidationRequest),
                     ContentType.parse("application/json"));
 
             request = new RestRequest(HttpRequestMethod.POST,
@@ -260,6 +305,23 @@ public class EmailValidationsRestClient {
             throw new IllegalArgumentException("Unsupported class for the validationRequest parameter.");
         }
 
+        return submit(request, waitingStrategy);
+    }
+
+    /**
+     * Submits an email validation request which has already been serialized to its JSON representation, as produced
+     * by {@link RestClient#serializeToJson(Object)} for a {@link ValidationRequest}; used to submit again the requests
+     * persisted by a {@link ValidationJobManager}.
+     */
+    Validation submitSerialized(@NonNull final String serializedRequest) throws VerifaliaException {
+        RestRequest request = new RestRequest(HttpRequestMethod.POST,
+                "email-validations",
+                new StringEntity(serializedRequest, "UTF-8"));
+
+        return submit(request, null);
+    }
+
+    private Validation submit(@NonNull final RestRequest request, final WaitingStrategy waitingStrategy) throws VerifaliaException {
         // Send the request to the Verifalia servers
 
         RestResponse response = restClient.execute(request);
@@ -333,10 +395,24 @@ public class EmailValidationsRestClient {
      * @throws VerifaliaException
      */
     public Validation get(@NonNull final String id, final WaitingStrategy waitingStrategy) throws VerifaliaException {
+        return get(id, waitingStrategy, null);
+    }
+
+    /**
+     * Returns an email validation job previously submitted for processing, projecting its entries onto the specified
+     * fields: the values of the other fields are skipped while parsing the response, reducing the parsing time and the
+     * memory used by each entry.
+     * @param id The {@link ValidationOverview#id} of the email validation job to retrieve.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation.
+     * @param fields The fields to retrieve for each {@link ValidationEntry}, or <tt>null</tt> to retrieve all of them.
+     * @return The {@link Validation} object representing the email validation job.
+     * @throws VerifaliaException
+     */
+    public Validation get(@NonNull final String id, final WaitingStrategy waitingStrategy, final Set<ValidationEntryField> fields) throws VerifaliaException {
 
         // Handle the case when the client wishes to avoid waiting for completion
 
-        Validation result = getOnce(id);
+        Validation result = getOnce(id, fields);
 
         if (waitingStrategy != null && waitingStrategy.waitForCompletion) {
             EmailValidationsRestClient parent = this;
@@ -350,7 +426,7 @@ public class EmailValidationsRestClient {
 
                         @Override
                         public Validation refresh(String id) throws VerifaliaException {
-                            return parent.getOnce(id);
+                            return parent.getOnce(id, fields);
                         }
                     },
                     waitingStrategy);
@@ -364,7 +440,7 @@ public class EmailValidationsRestClient {
         return result;
     }
 
-    private Validation getOnce(@NonNull final String id) throws VerifaliaException {
+    private Validation getOnce(@NonNull final String id, final Set<ValidationEntryField> fields) throws VerifaliaException {
         // Build request
         RestRequest request = new RestRequest(HttpRequestMethod.GET, "email-validations/" + id);
 
@@ -376,7 +452,7 @@ public class EmailValidationsRestClient {
             case HttpStatus.SC_OK:
             case HttpStatus.SC_ACCEPTED:
             case HttpStatus.SC_GONE: {
-                ValidationMapper data = response.deserialize(ValidationMapper.class);
+                ValidationMapper data = response.deserialize(ValidationMapper.class, fields);
                 Validation validation = mapValidationMapperToValidation(data);
 
                 switch (response.getStatusCode()) {
@@ -529,12 +605,85 @@ public class EmailValidationsRestClient {
      * @throws VerifaliaException
      */
     public Iterable<ValidationEntry> listEntries(@NonNull final String id, final ValidationEntryListingOptions options) throws VerifaliaException {
-        return IterableHelper.buildIterator(theOptions -> this.listEntriesSegmented(id, theOptions),
-                cursor -> this.listEntriesSegmented(id, cursor),
+        return IterableHelper.buildIterator(theOptions -> filterEntries(this.listEntriesSegmented(id, theOptions), options),
+                cursor -> filterEntries(this.listEntriesSegmented(id, cursor, options == null ? null : options.resolveFields()), options),
                 options);
     }
 
-    private ListSegment<ValidationEntry> listEntriesSegmented(@NonNull final String id, final ValidationEntryListingOptions options) throws VerifaliaException {
+    /**
+     * Lists the validated entries for a given validation, resuming the listing from a previously saved checkpoint.
+     * @param id The {@link ValidationOverview#id} of the email validation job to list the entries for.
+     * @param options A {@link ValidationEntryListingOptions} representing the options for the listing operation; these
+     *                must match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, as returned by
+     *                   {@link ResumableIterator#getCheckpoint()}, or <tt>null</tt> to start from the first entry.
+     * @return A {@link ResumableIterable} collection of {@link ValidationEntry} items.
+     * @throws VerifaliaException
+     */
+    public ResumableIterable<ValidationEntry> listEntries(@NonNull final String id, final ValidationEntryListingOptions options,
+                                                          final ListingCheckpoint resumeFrom) throws VerifaliaException {
+        return listEntries(id, options, resumeFrom, null, 0);
+    }
+
+    /**
+     * Lists the validated entries for a given validation, resuming the listing from a previously saved checkpoint and
+     * reporting a new checkpoint each <tt>checkpointInterval</tt> retrieved pages.
+     * @param id The {@link ValidationOverview#id} of the email validation job to list the entries for.
+     * @param options A {@link ValidationEntryListingOptions} representing the options for the listing operation; these
+     *                must match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, or <tt>null</tt> to start from the
+     *                   first entry.
+     * @param checkpointProvider A {@link ProgressProvider} instance which eventually receives the checkpoints.
+     * @param checkpointInterval The number of retrieved pages between two consecutive checkpoints.
+     * @return A {@link ResumableIterable} collection of {@link ValidationEntry} items.
+     * @throws VerifaliaException
+     */
+    public ResumableIterable<ValidationEntry> listEntries(@NonNull final String id, final ValidationEntryListingOptions options,
+                                                          final ListingCheckpoint resumeFrom,
+                                                          final ProgressProvider<ListingCheckpoint> checkpointProvider,
+                                                          final int checkpointInterval) throws VerifaliaException {
+        return IterableHelper.buildIterator(theOptions -> filterEntries(this.listEntriesSegmented(id, theOptions), options),
+                cursor -> filterEntries(this.listEntriesSegmented(id, cursor, options == null ? null : options.resolveFields()), options),
+                options,
+                resumeFrom,
+                checkpointProvider,
+                checkpointInterval);
+    }
+
+    /**
+     * Lists the validated entries for a given validation as a Reactive Streams {@link Publisher}: each page of entries is
+     * retrieved on the executor of the underlying {@link RestClient}, only once the subscriber has signalled enough
+     * demand, and the retrieval stops as soon as the subscription is cancelled.
+     * @param id The {@link ValidationOverview#id} of the email validation job to list the entries for.
+     * @param options A {@link ValidationEntryListingOptions} representing the options for the listing operation.
+     * @return A {@link Publisher} of {@link ValidationEntry} items.
+     */
+    public Publisher<ValidationEntry> listEntriesPublisher(@NonNull final String id, final ValidationEntryListingOptions options) {
+        return new IterablePublisher<>(() -> listEntries(id, options), restClient.getExecutor());
+    }
+
+    /**
+     * Enforces on the client side the predicates of the specified options, as the Verifalia API may not be able to apply
+     * all of them: the entries of the segment which do not match are removed, while its paging metadata is preserved.
+     */
+    static ListSegment<ValidationEntry> filterEntries(@NonNull final ListSegment<ValidationEntry> segment, final ValidationEntryListingOptions options) {
+        if (options == null || !options.hasPredicates() || segment.getData() == null) {
+            return segment;
+        }
+
+        List<ValidationEntry> matching = new ArrayList<>(segment.getData().size());
+
+        for (ValidationEntry entry : segment.getData()) {
+            if (options.matches(entry)) {
+                matching.add(entry);
+            }
+        }
+
+        segment.setData(matching);
+        return segment;
+    }
+
+    ListSegment<ValidationEntry> listEntriesSegmented(@NonNull final String id, final ValidationEntryListingOptions options) throws VerifaliaException {
         Map<String, String> paramMap = new HashMap<>();
 
         if (nonNull(options)) {
@@ -549,6 +698,30 @@ public class EmailValidationsRestClient {
                     paramMap.put(fragment.getKey(), fragment.getValue());
                 }
             }
+
+            if (options.getClassifications() != null) {
+                for (FilterPredicateFragment fragment : options.getClassifications().serialize("classification")) {
+                    paramMap.put(fragment.getKey(), fragment.getValue());
+                }
+            }
+
+            if (options.getIsDisposableEmailAddress() != null) {
+                for (FilterPredicateFragment fragment : options.getIsDisposableEmailAddress().serialize("isDisposableEmailAddress")) {
+                    paramMap.put(fragment.getKey(), fragment.getValue());
+                }
+            }
+
+            if (options.getIsRoleAccount() != null) {
+                for (FilterPredicateFragment fragment : options.getIsRoleAccount().serialize("isRoleAccount")) {
+                    paramMap.put(fragment.getKey(), fragment.getValue());
+                }
+            }
+
+            if (options.getIsFreeEmailAddress() != null) {
+                for (FilterPredicateFragment fragment : options.getIsFreeEmailAddress().serialize("isFreeEmailAddress")) {
+                    paramMap.put(fragment.getKey(), fragment.getValue());
+                }
+            }
         }
 
         // Build request URI with the param map
@@ -574,10 +747,11 @@ public class EmailValidationsRestClient {
         }
 
         // Handle pagination with meta details
-        return response.deserialize(ValidationEntryListSegment.class);
+        return response.deserialize(ValidationEntryListSegment.class,
+                options == null ? null : options.resolveFields());
     }
 
-    private ListSegment<ValidationEntry> listEntriesSegmented(@NonNull final String id, @NonNull final ListingCursor cursor) throws VerifaliaException {
+    ListSegment<ValidationEntry> listEntriesSegmented(@NonNull final String id, @NonNull final ListingCursor cursor, final Set<ValidationEntryField> fields) throws VerifaliaException {
         Map<String, String> paramMap = new HashMap<>();
 
         if (cursor.getDirection() == Direction.Forward) {
@@ -613,7 +787,7 @@ public class EmailValidationsRestClient {
         }
 
         // Handle pagination with meta details
-        return response.deserialize(ValidationEntryListSegment.class);
+        return response.deserialize(ValidationEntryListSegment.class, fields);
     }
 
     // endregion
@@ -643,6 +817,124 @@ public class EmailValidationsRestClient {
                 options);
     }
 
+    /**
+     * Lists the email validation jobs, resuming the listing from a previously saved checkpoint.
+     * @param options A {@link ValidationOverviewListingOptions} representing the options for the listing operation;
+     *                these must match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, as returned by
+     *                   {@link ResumableIterator#getCheckpoint()}, or <tt>null</tt> to start from the first job.
+     * @return A {@link ResumableIterable} collection of {@link ValidationOverview} elements.
+     * @throws VerifaliaException
+     */
+    public ResumableIterable<ValidationOverview> list(final ValidationOverviewListingOptions options,
+                                                      final ListingCheckpoint resumeFrom) throws VerifaliaException {
+        return list(options, resumeFrom, null, 0);
+    }
+
+    /**
+     * Lists the email validation jobs, resuming the listing from a previously saved checkpoint and reporting a new
+     * checkpoint each <tt>checkpointInterval</tt> retrieved pages.
+     * @param options A {@link ValidationOverviewListingOptions} representing the options for the listing operation;
+     *                these must match the options of the listing which produced the checkpoint.
+     * @param resumeFrom The {@link ListingCheckpoint} to resume the listing from, or <tt>null</tt> to start from the
+     *                   first job.
+     * @param checkpointProvider A {@link ProgressProvider} instance which eventually receives the checkpoints.
+     * @param checkpointInterval The number of retrieved pages between two consecutive checkpoints.
+     * @return A {@link ResumableIterable} collection of {@link ValidationOverview} elements.
+     * @throws VerifaliaException
+     */
+    public ResumableIterable<ValidationOverview> list(final ValidationOverviewListingOptions options,
+                                                      final ListingCheckpoint resumeFrom,
+                                                      final ProgressProvider<ListingCheckpoint> checkpointProvider,
+                                                      final int checkpointInterval) throws VerifaliaException {
+        return IterableHelper.buildIterator(
+                this::listSegmented,
+                this::listSegmented,
+                options,
+                resumeFrom,
+                checkpointProvider,
+                checkpointInterval);
+    }
+
+    /**
+     * Lists the email validation jobs as a Reactive Streams {@link Publisher}: each page of jobs is retrieved on the
+     * executor of the underlying {@link RestClient}, only once the subscriber has signalled enough demand, and the
+     * retrieval stops as soon as the subscription is cancelled.
+     * @param options A {@link ValidationOverviewListingOptions} representing the options for the listing operation.
+     * @return A {@link Publisher} of {@link ValidationOverview} elements.
+     */
+    public Publisher<ValidationOverview> listPublisher(final ValidationOverviewListingOptions options) {
+        return new IterablePublisher<>(() -> list(options), restClient.getExecutor());
+    }
+
+    /**
+     * Lists the email validation jobs created within a date range, splitting the range into partitions which are
+     * retrieved concurrently on the executor of the underlying {@link RestClient}; this is much faster than
+     * {@link #list(ValidationOverviewListingOptions)} for accounts with many jobs. The owner and status filters of the
+     * options apply to every partition.
+     * @param options A {@link ValidationOverviewListingOptions} representing the options for the listing operation;
+     *                its {@link ValidationOverviewListingOptions#getCreatedOn()} filter must be a
+     *                {@link DateBetweenPredicate} with both of its bounds set.
+     * @param partitioningOptions A {@link PartitionedListingOptions} representing how the listing is partitioned; in
+     *                            ordered mode the jobs are sorted by their creation date, in the direction of the
+     *                            listing options.
+     * @return A {@link PartitionedIterable} collection of {@link ValidationOverview} elements; close its iterator to
+     * stop the retrieval of the partitions before consuming all of the jobs.
+     */
+    public PartitionedIterable<ValidationOverview> listPartitioned(@NonNull final ValidationOverviewListingOptions options,
+                                                                   @NonNull final PartitionedListingOptions partitioningOptions) {
+        if (!(options.getCreatedOn() instanceof DateBetweenPredicate)) {
+            throw new IllegalArgumentException("A partitioned listing requires a createdOn filter with a DateBetweenPredicate.");
+        }
+
+        DateBetweenPredicate createdOn = (DateBetweenPredicate) options.getCreatedOn();
+
+        if (createdOn.getSince() == null || createdOn.getUntil() == null) {
+            throw new IllegalArgumentException("A partitioned listing requires both the since and until dates of the createdOn filter.");
+        }
+
+        int partitionDays = partitioningOptions.getPartitionDays();
+
+        if (partitionDays <= 0) {
+            long totalDays = createdOn.getUntil().toEpochDay() - createdOn.getSince().toEpochDay() + 1;
+            long partitionCount = Math.max(1, (long) partitioningOptions.getParallelism() * 4);
+
+            partitionDays = (int) Math.max(1, (totalDays + partitionCount - 1) / partitionCount);
+        }
+
+        List<ValidationOverviewListingOptions> partitions = new ArrayList<>();
+
+        for (DateBetweenPredicate range : createdOn.split(partitionDays)) {
+            ValidationOverviewListingOptions partition = new ValidationOverviewListingOptions();
+
+            partition.setLimit(options.getLimit());
+            partition.setDirection(options.getDirection());
+            partition.setOwner(options.getOwner());
+            partition.setStatuses(options.getStatuses());
+            partition.setOrderBy(options.getOrderBy());
+            partition.setCreatedOn(range);
+
+            if (partitioningOptions.isOrdered()) {
+                partition.setOrderBy(ValidationOverviewListingField.CreatedOn);
+            }
+
+            partitions.add(partition);
+        }
+
+        // Backward listings are ordered from the newest job, hence from the last partition
+
+        if (partitioningOptions.isOrdered() && options.getDirection() == Direction.Backward) {
+            Collections.reverse(partitions);
+        }
+
+        return IterableHelper.buildPartitionedIterator(
+                this::listSegmented,
+                this::listSegmented,
+                partitions,
+                partitioningOptions,
+                restClient.getExecutor());
+    }
+
     private ListSegment<ValidationOverview> listSegmented(final ValidationOverviewListingOptions options) throws VerifaliaException {
         // Build query string param map
         Map<String, String> paramMap = new HashMap<>();
@@ -679,7 +971,7 @@ public class EmailValidationsRestClient {
                         break;
 
                     default:
-                        throw new NotImplementedException();
+                        throw new NotImplementedException("Unsupported sort order: " + options.getOrderBy());
                 }
             }
         }
@@ -835,6 +1127,59 @@ public class EmailValidationsRestClient {
 
     // endregion
 
+    // region Asynchronous methods
+
+    /**
+     * Submits a new email validation for processing, without blocking the calling thread: the operation runs on the
+     * executor of the underlying {@link RestClient}.
+     * @param validationRequest An object with the email addresses to validate and the validation options.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation.
+     * @return A {@link CompletableFuture} which completes with the {@link Validation} object representing the submitted
+     * email validation job, or exceptionally with a {@link VerifaliaException}.
+     */
+    public CompletableFuture<Validation> submitAsync(@NonNull final AbstractValidationRequest validationRequest, final WaitingStrategy waitingStrategy) {
+        return AsyncHelper.supplyAsync(() -> submit(validationRequest, waitingStrategy), restClient.getExecutor());
+    }
+
+    /**
+     * Returns an email validation job previously submitted for processing, without blocking the calling thread: the
+     * operation runs on the executor of the underlying {@link RestClient}.
+     * @param id The {@link ValidationOverview#id} of the email validation job to retrieve.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation.
+     * @return A {@link CompletableFuture} which completes with the {@link Validation} object representing the email
+     * validation job (or <tt>null</tt> if the job is not found), or exceptionally with a {@link VerifaliaException}.
+     */
+    public CompletableFuture<Validation> getAsync(@NonNull final String id, final WaitingStrategy waitingStrategy) {
+        return AsyncHelper.supplyAsync(() -> get(id, waitingStrategy), restClient.getExecutor());
+    }
+
+    /**
+     * Returns the overview of an email validation job previously submitted for processing, without blocking the calling
+     * thread: the operation runs on the executor of the underlying {@link RestClient}.
+     * @param id The {@link ValidationOverview#id} of the email validation job to retrieve.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation.
+     * @return A {@link CompletableFuture} which completes with the {@link ValidationOverview} of the email validation job
+     * (or <tt>null</tt> if the job is not found), or exceptionally with a {@link VerifaliaException}.
+     */
+    public CompletableFuture<ValidationOverview> getOverviewAsync(@NonNull final String id, final WaitingStrategy waitingStrategy) {
+        return AsyncHelper.supplyAsync(() -> getOverview(id, waitingStrategy), restClient.getExecutor());
+    }
+
+    /**
+     * Deletes an email validation job previously submitted for processing, without blocking the calling thread: the
+     * operation runs on the executor of the underlying {@link RestClient}.
+     * @param id The {@link ValidationOverview#id} of the email validation job to delete.
+     * @return A {@link CompletableFuture} which completes once the job has been deleted.
+     */
+    public CompletableFuture<Void> deleteAsync(@NonNull final String id) {
+        return AsyncHelper.supplyAsync(() -> {
+            delete(id);
+            return null;
+        }, restClient.getExecutor());
+    }
+
+    // endregion
+
     private static class ValidationEntryListSegment extends ListSegment<ValidationEntry> {
     }
 
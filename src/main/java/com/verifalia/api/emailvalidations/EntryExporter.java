@@ -0,0 +1,545 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.common.Direction;
+import com.verifalia.api.common.ListingCursor;
+import com.verifalia.api.common.models.ListSegment;
+import com.verifalia.api.emailvalidations.models.EntryExportCheckpoint;
+import com.verifalia.api.emailvalidations.models.EntryExportCompression;
+import com.verifalia.api.emailvalidations.models.EntryExportFormat;
+import com.verifalia.api.emailvalidations.models.EntryExportOptions;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import com.verifalia.api.emailvalidations.models.ValidationEntryListingOptions;
+import com.verifalia.api.emailvalidations.models.ValidationResultTable;
+import com.verifalia.api.exceptions.VerifaliaException;
+import lombok.NonNull;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the entries of an email validation job to a file, streaming one page of entries at a time.
+ * <p>The next page is requested to the Verifalia API only once the previous one has been written to the file, so the
+ * memory used by an export is bounded by the size of a single page, regardless of the number of exported entries.
+ * After each page an {@link EntryExportCheckpoint} is reported to the configured progress provider: an interrupted
+ * export can later be resumed from its last checkpoint through {@link #resume(String, Path, EntryExportCheckpoint, EntryExportOptions)}.
+ */
+public class EntryExporter {
+    private static final byte[] COLUMNAR_MAGIC = {'V', 'F', 'E', 'C', 1};
+    private static final String[] FIELD_NAMES = {
+            "index", "inputData", "classification", "status", "emailAddress", "emailAddressLocalPart",
+            "emailAddressDomainPart", "asciiEmailAddressDomainPart", "hasInternationalDomainName",
+            "hasInternationalMailboxName", "isDisposableEmailAddress", "isRoleAccount", "isFreeEmailAddress",
+            "syntaxFailureIndex", "custom", "duplicateOf", "completedOn"
+    };
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final EmailValidationsRestClient emailValidations;
+
+    public EntryExporter(@NonNull final EmailValidationsRestClient emailValidations) {
+        this.emailValidations = emailValidations;
+    }
+
+    /**
+     * Exports the entries of the specified email validation job as newline-delimited JSON.
+     * @param id The {@link com.verifalia.api.emailvalidations.models.ValidationOverview#id} of the email validation job.
+     * @param path The path of the file to export to; an existing file is overwritten.
+     * @return The final {@link EntryExportCheckpoint} of the export.
+     * @throws VerifaliaException
+     * @throws IOException
+     */
+    public EntryExportCheckpoint export(@NonNull final String id, @NonNull final Path path) throws VerifaliaException, IOException {
+        return export(id, path, null);
+    }
+
+    /**
+     * Exports the entries of the specified email validation job.
+     * @param id The {@link com.verifalia.api.emailvalidations.models.ValidationOverview#id} of the email validation job.
+     * @param path The path of the file to export to; an existing file is overwritten.
+     * @param options A {@link EntryExportOptions} representing the options for the export.
+     * @return The final {@link EntryExportCheckpoint} of the export.
+     * @throws VerifaliaException
+     * @throws IOException
+     */
+    public EntryExportCheckpoint export(@NonNull final String id, @NonNull final Path path, final EntryExportOptions options) throws VerifaliaException, IOException {
+        return resume(id, path, new EntryExportCheckpoint(), options);
+    }
+
+    /**
+     * Resumes an export of the entries of the specified email validation job from the given checkpoint: the file is
+     * truncated to the checkpoint position, then the remaining pages are appended to it. The options must match the ones
+     * of the interrupted export.
+     * @param id The {@link com.verifalia.api.emailvalidations.models.ValidationOverview#id} of the email validation job.
+     * @param path The path of the file being exported.
+     * @param checkpoint The last {@link EntryExportCheckpoint} reported by the interrupted export.
+     * @param options A {@link EntryExportOptions} representing the options for the export.
+     * @return The final {@link EntryExportCheckpoint} of the export.
+     * @throws VerifaliaException
+     * @throws IOException
+     */
+    public EntryExportCheckpoint resume(@NonNull final String id, @NonNull final Path path, @NonNull final EntryExportCheckpoint checkpoint,
+                                        final EntryExportOptions options) throws VerifaliaException, IOException {
+        if (checkpoint.isCompleted()) {
+            return checkpoint;
+        }
+
+        EntryExportOptions theOptions = options == null ? new EntryExportOptions() : options;
+        ValidationEntryListingOptions listingOptions = theOptions.getListingOptions();
+        Set<ValidationEntryField> fields = listingOptions == null ? null : listingOptions.resolveFields();
+        PageEncoder encoder = createEncoder(theOptions.getFormat());
+
+        // A checkpoint without a cursor means that not even the first page has been exported
+
+        boolean fromScratch = checkpoint.getCursor() == null;
+        long exportedEntries = fromScratch ? 0 : checkpoint.getExportedEntries();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(fromScratch ? 0 : checkpoint.getPosition());
+            channel.position(channel.size());
+
+            BufferedOutputStream output = new BufferedOutputStream(new NonClosingOutputStream(Channels.newOutputStream(channel)),
+                    theOptions.getBufferSize());
+
+            if (fromScratch) {
+                writeBlock(output, theOptions.getCompression(), encoder::writeHeader);
+            }
+
+            ListSegment<ValidationEntry> segment;
+
+            if (fromScratch) {
+                segment = EmailValidationsRestClient.filterEntries(emailValidations.listEntriesSegmented(id, listingOptions), listingOptions);
+            } else {
+                segment = EmailValidationsRestClient.filterEntries(emailValidations.listEntriesSegmented(id, buildCursor(checkpoint.getCursor(), listingOptions), fields), listingOptions);
+            }
+
+            while (true) {
+                final List<ValidationEntry> entries = segment.getData() == null
+                        ? new ArrayList<>()
+                        : segment.getData();
+
+                writeBlock(output, theOptions.getCompression(), stream -> encoder.writePage(entries, stream));
+                output.flush();
+
+                if (theOptions.isForceOnCheckpoint()) {
+                    channel.force(false);
+                }
+
+                exportedEntries += entries.size();
+
+                boolean hasNext = segment.getMeta() != null && segment.getMeta().getIsTruncated();
+                EntryExportCheckpoint current = new EntryExportCheckpoint(hasNext ? segment.getMeta().getCursor() : null,
+                        channel.position(),
+                        exportedEntries,
+                        !hasNext);
+
+                if (theOptions.getProgressProvider() != null) {
+                    theOptions.getProgressProvider().report(current);
+                }
+
+                if (!hasNext) {
+                    return current;
+                }
+
+                segment = EmailValidationsRestClient.filterEntries(emailValidations.listEntriesSegmented(id, buildCursor(current.getCursor(), listingOptions), fields), listingOptions);
+            }
+        }
+    }
+
+    private static ListingCursor buildCursor(@NonNull final String cursor, final ValidationEntryListingOptions listingOptions) {
+        ListingCursor listingCursor = new ListingCursor();
+        listingCursor.setCursor(cursor);
+
+        if (listingOptions != null) {
+            listingCursor.setDirection(listingOptions.getDirection());
+            listingCursor.setLimit(listingOptions.getLimit());
+        } else {
+            listingCursor.setDirection(Direction.Forward);
+        }
+
+        return listingCursor;
+    }
+
+    private static void writeBlock(@NonNull final OutputStream output, final EntryExportCompression compression, @NonNull final BlockWriter writer) throws IOException {
+        if (compression == EntryExportCompression.Gzip) {
+            // Each block is a complete gzip member, so the file stays valid at every checkpoint; closing the member
+            // releases its native deflater, while the underlying stream is kept open
+
+            try (GZIPOutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(output), 8192)) {
+                writer.write(gzip);
+            }
+        } else {
+            writer.write(output);
+        }
+    }
+
+    private static PageEncoder createEncoder(final EntryExportFormat format) {
+        if (format == null) {
+            return new NdJsonEncoder();
+        }
+
+        switch (format) {
+            case Csv:
+                return new CsvEncoder();
+            case Columnar:
+                return new ColumnarEncoder();
+            default:
+                return new NdJsonEncoder();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BlockWriter {
+        void write(OutputStream output) throws IOException;
+    }
+
+    /**
+     * An {@link OutputStream} whose {@link #close()} just flushes the underlying stream, allowing to stack and dispose
+     * per-block encoders without closing the exported file.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        public NonClosingOutputStream(@NonNull final OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    // region Encoders
+
+    private interface PageEncoder {
+        void writeHeader(OutputStream output) throws IOException;
+
+        void writePage(List<ValidationEntry> entries, OutputStream output) throws IOException;
+    }
+
+    private static class CsvEncoder implements PageEncoder {
+        @Override
+        public void writeHeader(OutputStream output) throws IOException {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+
+            for (int i = 0; i < FIELD_NAMES.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+
+                writer.write(FIELD_NAMES[i]);
+            }
+
+            writer.write("\r\n");
+            writer.flush();
+        }
+
+        @Override
+        public void writePage(List<ValidationEntry> entries, OutputStream output) throws IOException {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+
+            for (ValidationEntry entry : entries) {
+                writeValue(writer, entry.getIndex(), false);
+                writeValue(writer, entry.getInputData(), true);
+                writeValue(writer, entry.getClassification(), true);
+                writeValue(writer, entry.getStatus(), true);
+                writeValue(writer, entry.getEmailAddress(), true);
+                writeValue(writer, entry.getEmailAddressLocalPart(), true);
+                writeValue(writer, entry.getEmailAddressDomainPart(), true);
+                writeValue(writer, entry.getAsciiEmailAddressDomainPart(), true);
+                writeValue(writer, entry.getHasInternationalDomainName(), true);
+                writeValue(writer, entry.getHasInternationalMailboxName(), true);
+                writeValue(writer, entry.getIsDisposableEmailAddress(), true);
+                writeValue(writer, entry.getIsRoleAccount(), true);
+                writeValue(writer, entry.getIsFreeEmailAddress(), true);
+                writeValue(writer, entry.getSyntaxFailureIndex(), true);
+                writeValue(writer, entry.getCustom(), true);
+                writeValue(writer, entry.getDuplicateOf(), true);
+                writeValue(writer, entry.getCompletedOn() == null ? null : entry.getCompletedOn().toInstant(), true);
+                writer.write("\r\n");
+            }
+
+            writer.flush();
+        }
+
+        private static void writeValue(@NonNull final Writer writer, final Object value, final boolean separator) throws IOException {
+            if (separator) {
+                writer.write(',');
+            }
+
+            if (value == null) {
+                return;
+            }
+
+            String text = value.toString();
+            boolean needsQuotes = false;
+
+            for (int i = 0; i < text.length() && !needsQuotes; i++) {
+                char c = text.charAt(i);
+                needsQuotes = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+
+            if (!needsQuotes) {
+                writer.write(text);
+                return;
+            }
+
+            writer.write('"');
+
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+
+                if (c == '"') {
+                    writer.write('"');
+                }
+
+                writer.write(c);
+            }
+
+            writer.write('"');
+        }
+    }
+
+    private static class NdJsonEncoder implements PageEncoder {
+        @Override
+        public void writeHeader(OutputStream output) {
+        }
+
+        @Override
+        public void writePage(List<ValidationEntry> entries, OutputStream output) throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createJsonGenerator(output, JsonEncoding.UTF8);
+
+            for (ValidationEntry entry : entries) {
+                generator.writeStartObject();
+                writeField(generator, "index", entry.getIndex());
+                writeField(generator, "inputData", entry.getInputData());
+                writeField(generator, "classification", entry.getClassification());
+                writeField(generator, "status", entry.getStatus());
+                writeField(generator, "emailAddress", entry.getEmailAddress());
+                writeField(generator, "emailAddressLocalPart", entry.getEmailAddressLocalPart());
+                writeField(generator, "emailAddressDomainPart", entry.getEmailAddressDomainPart());
+                writeField(generator, "asciiEmailAddressDomainPart", entry.getAsciiEmailAddressDomainPart());
+                writeField(generator, "hasInternationalDomainName", entry.getHasInternationalDomainName());
+                writeField(generator, "hasInternationalMailboxName", entry.getHasInternationalMailboxName());
+                writeField(generator, "isDisposableEmailAddress", entry.getIsDisposableEmailAddress());
+                writeField(generator, "isRoleAccount", entry.getIsRoleAccount());
+                writeField(generator, "isFreeEmailAddress", entry.getIsFreeEmailAddress());
+                writeField(generator, "syntaxFailureIndex", entry.getSyntaxFailureIndex());
+                writeField(generator, "custom", entry.getCustom());
+                writeField(generator, "duplicateOf", entry.getDuplicateOf());
+                writeField(generator, "completedOn", entry.getCompletedOn());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+
+            generator.flush();
+        }
+
+        private static void writeField(@NonNull final JsonGenerator generator, @NonNull final String name, final Object value) throws IOException {
+            // Null values are omitted, like the Verifalia API does
+
+            if (value == null) {
+                return;
+            }
+
+            if (value instanceof Integer) {
+                generator.writeNumberField(name, (Integer) value);
+            } else if (value instanceof Boolean) {
+                generator.writeBooleanField(name, (Boolean) value);
+            } else if (value instanceof Date) {
+                generator.writeStringField(name, ((Date) value).toInstant().toString());
+            } else {
+                generator.writeStringField(name, value.toString());
+            }
+        }
+    }
+
+    private static class ColumnarEncoder implements PageEncoder {
+        @Override
+        public void writeHeader(OutputStream output) throws IOException {
+            output.write(COLUMNAR_MAGIC);
+        }
+
+        @Override
+        public void writePage(List<ValidationEntry> entries, OutputStream output) throws IOException {
+            DataOutputStream data = new DataOutputStream(output);
+            int rows = entries.size();
+
+            data.writeInt(rows);
+
+            // Fixed-width columns
+
+            for (ValidationEntry entry : entries) {
+                data.writeInt(toInt(entry.getIndex()));
+            }
+            for (ValidationEntry entry : entries) {
+                data.writeInt(toInt(entry.getSyntaxFailureIndex()));
+            }
+            for (ValidationEntry entry : entries) {
+                data.writeInt(toInt(entry.getDuplicateOf()));
+            }
+            for (ValidationEntry entry : entries) {
+                data.writeLong(entry.getCompletedOn() == null ? ValidationResultTable.NULL_DATE : entry.getCompletedOn().getTime());
+            }
+
+            // Flags: two bits each (0 = null, 1 = false, 2 = true)
+
+            for (ValidationEntry entry : entries) {
+                data.writeShort(toFlag(entry.getHasInternationalDomainName())
+                        | toFlag(entry.getHasInternationalMailboxName()) << 2
+                        | toFlag(entry.getIsDisposableEmailAddress()) << 4
+                        | toFlag(entry.getIsRoleAccount()) << 6
+                        | toFlag(entry.getIsFreeEmailAddress()) << 8);
+            }
+
+            // Dictionary-encoded columns
+
+            String[] values = new String[rows];
+
+            for (int row = 0; row < rows; row++) {
+                values[row] = entries.get(row).getStatus() == null ? null : entries.get(row).getStatus().name();
+            }
+            writeDictionaryColumn(data, values);
+
+            for (int row = 0; row < rows; row++) {
+                values[row] = entries.get(row).getClassification() == null ? null : entries.get(row).getClassification().name();
+            }
+            writeDictionaryColumn(data, values);
+
+            for (int row = 0; row < rows; row++) {
+                values[row] = entries.get(row).getEmailAddressDomainPart();
+            }
+            writeDictionaryColumn(data, values);
+
+            for (int row = 0; row < rows; row++) {
+                values[row] = entries.get(row).getAsciiEmailAddressDomainPart();
+            }
+            writeDictionaryColumn(data, values);
+
+            // Plain string columns
+
+            for (ValidationEntry entry : entries) {
+                writeString(data, entry.getInputData());
+            }
+            for (ValidationEntry entry : entries) {
+                writeString(data, entry.getEmailAddress());
+            }
+            for (ValidationEntry entry : entries) {
+                writeString(data, entry.getEmailAddressLocalPart());
+            }
+            for (ValidationEntry entry : entries) {
+                writeString(data, entry.getCustom());
+            }
+
+            data.flush();
+        }
+
+        private static int toInt(final Integer value) {
+            return value == null ? ValidationResultTable.NULL_INT : value;
+        }
+
+        private static int toFlag(final Boolean value) {
+            return value == null ? 0 : (value ? 2 : 1);
+        }
+
+        private static void writeDictionaryColumn(@NonNull final DataOutputStream data, @NonNull final String[] values) throws IOException {
+            Map<String, Integer> ids = new HashMap<>();
+            List<String> dictionary = new ArrayList<>();
+            int[] rowIds = new int[values.length];
+
+            for (int row = 0; row < values.length; row++) {
+                if (values[row] == null) {
+                    rowIds[row] = ValidationResultTable.NULL_INT;
+                    continue;
+                }
+
+                Integer id = ids.get(values[row]);
+
+                if (id == null) {
+                    id = dictionary.size();
+                    ids.put(values[row], id);
+                    dictionary.add(values[row]);
+                }
+
+                rowIds[row] = id;
+            }
+
+            data.writeInt(dictionary.size());
+
+            for (String value : dictionary) {
+                writeString(data, value);
+            }
+            for (int id : rowIds) {
+                data.writeInt(id);
+            }
+        }
+
+        private static void writeString(@NonNull final DataOutputStream data, final String value) throws IOException {
+            if (value == null) {
+                data.writeInt(-1);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+    }
+
+    // endregion
+}
@@ -0,0 +1,268 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.emailvalidations.models.*;
+import com.verifalia.api.exceptions.VerifaliaException;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the email addresses submitted concurrently, one at a time, into shared validation jobs.
+ * <p>Each address waits at most {@link MicroBatchingOptions#getMaxDelay()} for other ones, or less if the batch
+ * reaches {@link MicroBatchingOptions#getMaxBatchSize()} addresses; the batch is then submitted as a single
+ * {@link ValidationRequest} and each caller receives the {@link ValidationEntry} matching the position of its address,
+ * through its {@link ValidationEntry#getIndex()}. Batches are submitted with {@link DeduplicationMode#Off}, so that
+ * repeated addresses are validated independently and each caller gets a complete entry.
+ */
+public class MicroBatchingSubmitter implements Closeable {
+    private final EmailValidationsRestClient emailValidations;
+    private final MicroBatchingOptions options;
+    private final Executor executor;
+    private final ScheduledExecutorService flushScheduler;
+    private final Lock lock = new ReentrantLock();
+    private List<PendingAddress> batch = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * Initializes a new submitter with the default options.
+     * @param emailValidations The client used to submit the batches.
+     */
+    public MicroBatchingSubmitter(@NonNull final EmailValidationsRestClient emailValidations) {
+        this(emailValidations, new MicroBatchingOptions());
+    }
+
+    /**
+     * Initializes a new submitter with the specified options.
+     * @param emailValidations The client used to submit the batches.
+     * @param options A {@link MicroBatchingOptions} representing the options for the submitter.
+     */
+    public MicroBatchingSubmitter(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final MicroBatchingOptions options) {
+        if (options.getMaxBatchSize() < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than zero.");
+        }
+
+        this.emailValidations = emailValidations;
+        this.options = options;
+        this.executor = emailValidations.getRestClient().getExecutor();
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-micro-batching");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits the specified email address with the next batch.
+     * @param emailAddress The email address to validate.
+     * @return A {@link CompletableFuture} which completes with the {@link ValidationEntry} of the email address once
+     * its batch has been completed, or exceptionally with a {@link VerifaliaException}.
+     */
+    public CompletableFuture<ValidationEntry> submit(@NonNull final String emailAddress) {
+        PendingAddress pendingAddress = new PendingAddress(emailAddress);
+        List<PendingAddress> fullBatch = null;
+
+        lock.lock();
+
+        try {
+            if (closed) {
+                throw new IllegalStateException("The submitter has been closed.");
+            }
+
+            batch.add(pendingAddress);
+
+            if (batch.size() >= options.getMaxBatchSize()) {
+                fullBatch = takeBatch();
+            } else if (batch.size() == 1) {
+                scheduledFlush = flushScheduler.schedule(this::flush, options.getMaxDelay().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+
+        return pendingAddress.future;
+    }
+
+    /**
+     * Submits the pending batch, if any, without waiting for its delay to elapse.
+     */
+    public void flush() {
+        List<PendingAddress> pendingBatch;
+
+        lock.lock();
+
+        try {
+            pendingBatch = takeBatch();
+        } finally {
+            lock.unlock();
+        }
+
+        dispatch(pendingBatch);
+    }
+
+    /**
+     * Submits the pending batch, if any, and stops accepting new email addresses.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        flush();
+        flushScheduler.shutdown();
+    }
+
+    /**
+     * Detaches the current batch; must be invoked while holding the lock.
+     */
+    private List<PendingAddress> takeBatch() {
+        List<PendingAddress> currentBatch = batch;
+        batch = new ArrayList<>();
+
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        return currentBatch;
+    }
+
+    private void dispatch(@NonNull final List<PendingAddress> pendingBatch) {
+        if (pendingBatch.isEmpty()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> submitBatch(pendingBatch));
+        } catch (RejectedExecutionException e) {
+            failAll(pendingBatch, e);
+        }
+    }
+
+    private void submitBatch(@NonNull final List<PendingAddress> pendingBatch) {
+        try {
+            List<String> emailAddresses = new ArrayList<>(pendingBatch.size());
+
+            for (PendingAddress pendingAddress : pendingBatch) {
+                emailAddresses.add(pendingAddress.emailAddress);
+            }
+
+            ValidationRequest request = new ValidationRequest(emailAddresses, options.getQuality(), DeduplicationMode.Off);
+            Validation validation = emailValidations.submit(request, options.getWaitingStrategy());
+
+            if (validation == null) {
+                throw new VerifaliaException("The batch has been deleted before its completion.");
+            }
+
+            String id = validation.getOverview().getId();
+            int resolved = complete(pendingBatch, validation.getEntries());
+
+            // Large batches may have been returned truncated
+
+            if (resolved < pendingBatch.size() && validation.getOverview().getStatus() == ValidationStatus.Completed) {
+                List<ValidationEntry> entries = new ArrayList<>();
+
+                for (ValidationEntry entry : emailValidations.listEntries(id)) {
+                    entries.add(entry);
+                }
+
+                complete(pendingBatch, entries);
+            }
+
+            for (PendingAddress pendingAddress : pendingBatch) {
+                if (!pendingAddress.future.isDone()) {
+                    pendingAddress.future.completeExceptionally(new VerifaliaException("No result has been returned for " + pendingAddress.emailAddress
+                            + " in the batch " + id + " (status: " + validation.getOverview().getStatus() + ")."));
+                }
+            }
+        } catch (Exception e) {
+            failAll(pendingBatch, e);
+        }
+    }
+
+    /**
+     * Completes the futures matching the specified entries, by index.
+     * @return The number of completed futures.
+     */
+    private static int complete(@NonNull final List<PendingAddress> pendingBatch, final List<ValidationEntry> entries) {
+        int resolved = 0;
+
+        if (entries != null) {
+            for (ValidationEntry entry : entries) {
+                Integer index = entry.getIndex();
+
+                if (index != null && index >= 0 && index < pendingBatch.size() && pendingBatch.get(index).future.complete(entry)) {
+                    resolved++;
+                }
+            }
+        }
+
+        return resolved;
+    }
+
+    private static void failAll(@NonNull final List<PendingAddress> pendingBatch, @NonNull final Throwable exception) {
+        for (PendingAddress pendingAddress : pendingBatch) {
+            pendingAddress.future.completeExceptionally(exception);
+        }
+    }
+
+    private static class PendingAddress {
+        final String emailAddress;
+        final CompletableFuture<ValidationEntry> future = new CompletableFuture<>();
+
+        PendingAddress(@NonNull final String emailAddress) {
+            this.emailAddress = emailAddress;
+        }
+    }
+}
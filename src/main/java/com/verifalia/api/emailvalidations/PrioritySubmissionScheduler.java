@@ -0,0 +1,284 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.common.AsyncHelper;
+import com.verifalia.api.emailvalidations.models.*;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of concurrent submissions of an application, serving the queued requests by their
+ * {@link ValidationPriority}.
+ * <p>Requests wait in one FIFO queue per priority value and are served from the highest priority down, with aging: the
+ * longer a request waits, the higher its effective priority, so that bulk requests are not starved. Submissions run in
+ * two lanes: the real-time lane is reserved to requests whose priority is at least
+ * {@link PrioritySchedulerOptions#getRealtimePriority()}, while the bulk lane serves any request; real-time requests
+ * thus keep a low latency even when bulk imports saturate the bulk lane.
+ * <p>The priority of each request is also sent to Verifalia, as usual.
+ */
+public class PrioritySubmissionScheduler {
+    private static final int PRIORITY_LEVELS = 256;
+
+    private final EmailValidationsRestClient emailValidations;
+    private final PrioritySchedulerOptions options;
+    private final Executor executor;
+    private final int realtimeThreshold;
+    private final long agingNanos;
+    private final Lock lock = new ReentrantLock();
+    private final List<ArrayDeque<QueuedSubmission>> queues = new ArrayList<>(PRIORITY_LEVELS);
+    private final BitSet nonEmptyQueues = new BitSet(PRIORITY_LEVELS);
+    private int queuedSubmissions;
+    private int runningRealtime;
+    private int runningBulk;
+
+    /**
+     * Initializes a new scheduler with the default options.
+     * @param emailValidations The client used to submit the requests.
+     */
+    public PrioritySubmissionScheduler(@NonNull final EmailValidationsRestClient emailValidations) {
+        this(emailValidations, new PrioritySchedulerOptions());
+    }
+
+    /**
+     * Initializes a new scheduler with the specified options.
+     * @param emailValidations The client used to submit the requests.
+     * @param options A {@link PrioritySchedulerOptions} representing the options for the scheduler.
+     */
+    public PrioritySubmissionScheduler(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final PrioritySchedulerOptions options) {
+        if (options.getRealtimeConcurrency() < 0 || options.getBulkConcurrency() < 0
+                || options.getRealtimeConcurrency() + options.getBulkConcurrency() == 0) {
+            throw new IllegalArgumentException("At least one submission slot is required.");
+        }
+
+        this.emailValidations = emailValidations;
+        this.options = options;
+        this.executor = emailValidations.getRestClient().getExecutor();
+        this.realtimeThreshold = toLevel(options.getRealtimePriority());
+        this.agingNanos = options.getAgingInterval() == null ? 0 : options.getAgingInterval().toNanos();
+
+        for (int i = 0; i < PRIORITY_LEVELS; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queues the specified request for submission, according to its {@link AbstractValidationRequest#getPriority()};
+     * requests without a priority are queued as {@link ValidationPriority#Normal}.
+     * @param validationRequest The email validation request to submit.
+     * @param waitingStrategy The strategy which rules out how to wait for the completion of the email validation; the
+     *                        submission slot is held while waiting.
+     * @return A {@link CompletableFuture} which completes with the submitted {@link Validation}, or exceptionally with
+     * a {@link com.verifalia.api.exceptions.VerifaliaException}.
+     */
+    public CompletableFuture<Validation> submit(@NonNull final AbstractValidationRequest validationRequest, final WaitingStrategy waitingStrategy) {
+        QueuedSubmission submission = new QueuedSubmission(validationRequest, waitingStrategy, toLevel(validationRequest.getPriority()));
+
+        lock.lock();
+
+        try {
+            queues.get(submission.level).addLast(submission);
+            nonEmptyQueues.set(submission.level);
+            queuedSubmissions++;
+        } finally {
+            lock.unlock();
+        }
+
+        dispatch();
+
+        return submission.future;
+    }
+
+    /**
+     * Gets the number of requests waiting for a submission slot.
+     */
+    public int getQueuedCount() {
+        lock.lock();
+
+        try {
+            return queuedSubmissions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of submissions currently running, in both lanes.
+     */
+    public int getRunningCount() {
+        lock.lock();
+
+        try {
+            return runningRealtime + runningBulk;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            QueuedSubmission submission = null;
+            boolean realtimeLane = false;
+
+            lock.lock();
+
+            try {
+                // Real-time requests take their reserved slots first, so that the bulk slots stay available to bulk
+                // requests
+
+                if (runningRealtime < options.getRealtimeConcurrency()) {
+                    submission = poll(realtimeThreshold);
+                    realtimeLane = submission != null;
+                }
+
+                if (submission == null && runningBulk < options.getBulkConcurrency()) {
+                    submission = poll(0);
+                }
+
+                if (submission == null) {
+                    return;
+                }
+
+                if (realtimeLane) {
+                    runningRealtime++;
+                } else {
+                    runningBulk++;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            run(submission, realtimeLane);
+        }
+    }
+
+    private void run(@NonNull final QueuedSubmission submission, final boolean realtimeLane) {
+        CompletableFuture<Validation> result;
+
+        try {
+            result = AsyncHelper.supplyAsync(() -> emailValidations.submit(submission.request, submission.waitingStrategy), executor);
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+
+        result.whenComplete((validation, exception) -> {
+            lock.lock();
+
+            try {
+                if (realtimeLane) {
+                    runningRealtime--;
+                } else {
+                    runningBulk--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (exception != null) {
+                submission.future.completeExceptionally(exception);
+            } else {
+                submission.future.complete(validation);
+            }
+
+            dispatch();
+        });
+    }
+
+    /**
+     * Removes the queued submission with the highest effective priority, among the queues whose level is at least the
+     * specified one; must be invoked while holding the lock.
+     */
+    private QueuedSubmission poll(final int minLevel) {
+        long now = System.nanoTime();
+        int bestLevel = -1;
+        long bestPriority = Long.MIN_VALUE;
+
+        // The head of each queue is its oldest submission, hence the one with the highest effective priority
+
+        for (int level = nonEmptyQueues.previousSetBit(PRIORITY_LEVELS - 1); level >= minLevel; level = nonEmptyQueues.previousSetBit(level - 1)) {
+            long effectivePriority = level;
+
+            if (agingNanos > 0) {
+                effectivePriority += (now - queues.get(level).peekFirst().enqueuedAt) / agingNanos;
+            }
+
+            if (effectivePriority > bestPriority) {
+                bestPriority = effectivePriority;
+                bestLevel = level;
+            }
+
+            if (agingNanos == 0) {
+                break;
+            }
+        }
+
+        if (bestLevel < 0) {
+            return null;
+        }
+
+        QueuedSubmission submission = queues.get(bestLevel).pollFirst();
+
+        if (queues.get(bestLevel).isEmpty()) {
+            nonEmptyQueues.clear(bestLevel);
+        }
+
+        queuedSubmissions--;
+        return submission;
+    }
+
+    private static int toLevel(final ValidationPriority priority) {
+        return (priority == null ? ValidationPriority.Normal : priority).getValue() & 0xFF;
+    }
+
+    private static class QueuedSubmission {
+        final AbstractValidationRequest request;
+        final WaitingStrategy waitingStrategy;
+        final int level;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Validation> future = new CompletableFuture<>();
+
+        QueuedSubmission(@NonNull final AbstractValidationRequest request, final WaitingStrategy waitingStrategy, final int level) {
+            this.request = request;
+            this.waitingStrategy = waitingStrategy;
+            this.level = level;
+        }
+    }
+}
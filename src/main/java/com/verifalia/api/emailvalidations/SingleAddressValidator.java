@@ -0,0 +1,272 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.emailvalidations.models.*;
+import com.verifalia.api.exceptions.InsufficientCreditException;
+import com.verifalia.api.exceptions.ServiceUnreachableException;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.exceptions.WaitingInterruptedException;
+import com.verifalia.api.rest.HttpRequestMethod;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.RestRequest;
+import com.verifalia.api.rest.RestResponse;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.StringEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates one email address at a time with the lowest possible latency, for interactive scenarios like sign-up
+ * forms.
+ * <p>Unlike {@link EmailValidationsRestClient#submit(String)}, the validator fills a prebuilt JSON template instead of
+ * serializing a request object, reuses the pooled connections of the client and parses only the single entry out of
+ * the response. Each validation is bound by a deadline: should the job not be completed in time, the validator returns
+ * a fallback result with the {@link ValidationEntryClassification#Unknown} classification, which carries the ID of the
+ * job (if it has been accepted) to retrieve its actual outcome later.
+ */
+public class SingleAddressValidator {
+    private static final String TEMPLATE_PREFIX = "{\"entries\":[{\"inputData\":\"";
+    private static final long INITIAL_POLLING_DELAY_MILLIS = 100;
+    private static final long MAX_POLLING_DELAY_MILLIS = 1000;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final RestClient restClient;
+    private final SingleAddressValidationOptions options;
+    private final String templateSuffix;
+
+    /**
+     * Initializes a new validator with the default options.
+     * @param emailValidations The client used to submit the validations.
+     */
+    public SingleAddressValidator(@NonNull final EmailValidationsRestClient emailValidations) {
+        this(emailValidations, new SingleAddressValidationOptions());
+    }
+
+    /**
+     * Initializes a new validator with the specified options.
+     * @param emailValidations The client used to submit the validations.
+     * @param options A {@link SingleAddressValidationOptions} representing the options for the validator.
+     */
+    public SingleAddressValidator(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final SingleAddressValidationOptions options) {
+        if (options.getDeadline() == null || options.getDeadline().isNegative() || options.getDeadline().isZero()) {
+            throw new IllegalArgumentException("deadline must be a positive duration.");
+        }
+
+        this.restClient = emailValidations.getRestClient();
+        this.options = options;
+
+        // The settings are serialized once, through the same serializers of the regular requests, and appended to
+        // the single entry of each request
+
+        String settings = restClient.serializeToJson(new AbstractValidationRequest(null, options.getQuality(), null, null, options.getRetention()));
+        String settingsFields = settings.substring(1, settings.length() - 1);
+
+        this.templateSuffix = settingsFields.isEmpty()
+                ? "\"}]}"
+                : "\"}]," + settingsFields + "}";
+    }
+
+    /**
+     * Validates the specified email address, waiting at most for the configured deadline.
+     * @param emailAddress The email address to validate.
+     * @return A {@link SingleAddressValidationResult} with the validated entry, or a fallback one if the deadline has
+     * elapsed.
+     * @throws VerifaliaException If Verifalia rejects the request, for example because of insufficient credit, or is
+     * unreachable before the deadline.
+     */
+    public SingleAddressValidationResult validate(@NonNull final String emailAddress) throws VerifaliaException {
+        long startedOn = System.nanoTime();
+        long deadline = startedOn + options.getDeadline().toNanos();
+        String validationId = null;
+
+        try {
+            RestRequest request = new RestRequest(HttpRequestMethod.POST,
+                    "email-validations",
+                    new StringEntity(buildPayload(emailAddress), "UTF-8"));
+            request.setTimeout(Duration.ofNanos(deadline - System.nanoTime()));
+
+            RestResponse response = restClient.execute(request);
+            long pollingDelayMillis = INITIAL_POLLING_DELAY_MILLIS;
+
+            while (true) {
+                switch (response.getStatusCode()) {
+                    case HttpStatus.SC_OK: {
+                        ParsedJob job = parse(response);
+                        return new SingleAddressValidationResult(firstEntryOf(job), idOf(job), false, Duration.ofNanos(System.nanoTime() - startedOn));
+                    }
+
+                    case HttpStatus.SC_ACCEPTED: {
+                        if (validationId == null) {
+                            validationId = idOf(parse(response));
+
+                            if (validationId == null) {
+                                throw new VerifaliaException("The accepted job has no ID.");
+                            }
+                        }
+
+                        break;
+                    }
+
+                    case HttpStatus.SC_PAYMENT_REQUIRED: {
+                        throw new InsufficientCreditException(response);
+                    }
+
+                    default: {
+                        throw new VerifaliaException(response);
+                    }
+                }
+
+                // Poll the job with short, increasing delays, as long as the deadline allows another attempt
+
+                if (TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) <= pollingDelayMillis) {
+                    break;
+                }
+
+                Thread.sleep(pollingDelayMillis);
+                pollingDelayMillis = Math.min(pollingDelayMillis * 2, MAX_POLLING_DELAY_MILLIS);
+
+                request = new RestRequest(HttpRequestMethod.GET, "email-validations/" + validationId);
+                request.setTimeout(Duration.ofNanos(deadline - System.nanoTime()));
+                response = restClient.execute(request);
+            }
+        } catch (ServiceUnreachableException e) {
+            // Timeouts caused by the deadline produce a fallback result, other failures are reported to the caller
+
+            if (deadline - System.nanoTime() > TimeUnit.MILLISECONDS.toNanos(1)) {
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WaitingInterruptedException("Interrupted while waiting for the validation of " + emailAddress + ".", e);
+        }
+
+        ValidationEntry entry = new ValidationEntry();
+        entry.setInputData(emailAddress);
+        entry.setClassification(ValidationEntryClassification.Unknown);
+
+        return new SingleAddressValidationResult(entry, validationId, true, Duration.ofNanos(System.nanoTime() - startedOn));
+    }
+
+    private String buildPayload(@NonNull final String emailAddress) {
+        StringBuilder payload = new StringBuilder(TEMPLATE_PREFIX.length() + emailAddress.length() + templateSuffix.length() + 8);
+        payload.append(TEMPLATE_PREFIX);
+        appendEscaped(payload, emailAddress);
+        payload.append(templateSuffix);
+
+        return payload.toString();
+    }
+
+    /**
+     * Appends the specified value as the content of a JSON string, escaping quotes, backslashes and control characters.
+     */
+    static void appendEscaped(@NonNull final StringBuilder target, @NonNull final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"':
+                    target.append("\\\"");
+                    break;
+                case '\\':
+                    target.append("\\\\");
+                    break;
+                case '\n':
+                    target.append("\\n");
+                    break;
+                case '\r':
+                    target.append("\\r");
+                    break;
+                case '\t':
+                    target.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        target.append("\\u00")
+                                .append(HEX_DIGITS[c >> 4])
+                                .append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        target.append(c);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Reads the ID of the job and its first entry: the other fields of the response are skipped by the codec.
+     */
+    private static ParsedJob parse(@NonNull final RestResponse response) throws VerifaliaException {
+        ParsedJob job = response.deserialize(ParsedJob.class);
+
+        if (job == null) {
+            throw new VerifaliaException("Unexpected response: a JSON object was expected.");
+        }
+
+        return job;
+    }
+
+    private static String idOf(@NonNull final ParsedJob job) {
+        return job.getOverview() == null ? null : job.getOverview().getId();
+    }
+
+    private static ValidationEntry firstEntryOf(@NonNull final ParsedJob job) {
+        if (job.getEntries() == null || job.getEntries().getData() == null || job.getEntries().getData().isEmpty()) {
+            return null;
+        }
+
+        return job.getEntries().getData().get(0);
+    }
+
+    @Getter
+    @Setter
+    private static class ParsedJob {
+        private ParsedOverview overview;
+        private ParsedEntries entries;
+    }
+
+    @Getter
+    @Setter
+    private static class ParsedOverview {
+        private String id;
+    }
+
+    @Getter
+    @Setter
+    private static class ParsedEntries {
+        private List<ValidationEntry> data;
+    }
+}
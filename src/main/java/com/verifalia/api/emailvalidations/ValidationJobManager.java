@@ -0,0 +1,540 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.common.ProgressProvider;
+import com.verifalia.api.emailvalidations.jobs.ValidationJobCompletionHandler;
+import com.verifalia.api.emailvalidations.jobs.ValidationJobStore;
+import com.verifalia.api.emailvalidations.models.*;
+import com.verifalia.api.exceptions.VerifaliaException;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Submits email validation jobs and tracks them until their completion, persisting their state to a
+ * {@link ValidationJobStore} so that they survive a restart of the hosting process.
+ * <p>Requests are saved to the store as soon as they are enqueued, then submitted by a bounded pool of worker threads,
+ * which never block while waiting: each job is polled through {@link EmailValidationsRestClient#getOverview(String)}
+ * according to {@link WaitingStrategy#computePollingDelay(ValidationOverview)} or, if a batch polling interval is
+ * configured, all together through a {@link ValidationOverviewWatcher}. Once a job completes, its outcome is
+ * dispatched to the {@link ValidationJobCompletionHandler} and the job is removed from the store.
+ * <p>After a restart, {@link #start()} resumes all the stored jobs: pending requests are submitted, submitted jobs are
+ * polled again and completions which were not acknowledged by the handler are dispatched again. Within a process each
+ * job is dispatched once; across restarts a completion may be dispatched again if the process stopped while its
+ * handler was running, and a request may be submitted again if the process stopped after Verifalia accepted it but
+ * before its identifier was saved.
+ */
+public class ValidationJobManager implements Closeable {
+    private static final int MAX_RETRY_BACKOFF_EXPONENT = 6;
+
+    private final EmailValidationsRestClient client;
+    private final ValidationJobStore store;
+    private final ValidationJobCompletionHandler handler;
+    private final ValidationJobManagerOptions options;
+    private final ScheduledThreadPoolExecutor workers;
+    private final ConcurrentMap<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> pendingKeys = new ConcurrentLinkedQueue<>();
+    private final Lock admissionLock = new ReentrantLock();
+    private final ValidationOverviewWatcher watcher;
+    private final ConcurrentMap<String, ValidationJob> watchedJobs = new ConcurrentHashMap<>();
+    private int inFlightJobs;
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new job manager with the default options.
+     * @param verifaliaRestClient The client used to submit and poll the jobs.
+     * @param store The store which persists the state of the jobs.
+     * @param handler The handler which receives the outcome of the jobs.
+     */
+    public ValidationJobManager(@NonNull final VerifaliaRestClient verifaliaRestClient, @NonNull final ValidationJobStore store,
+                                @NonNull final ValidationJobCompletionHandler handler) {
+        this(verifaliaRestClient, store, handler, new ValidationJobManagerOptions());
+    }
+
+    /**
+     * Initializes a new job manager with the specified options.
+     * @param verifaliaRestClient The client used to submit and poll the jobs.
+     * @param store The store which persists the state of the jobs.
+     * @param handler The handler which receives the outcome of the jobs.
+     * @param options A {@link ValidationJobManagerOptions} representing the options for the manager.
+     */
+    public ValidationJobManager(@NonNull final VerifaliaRestClient verifaliaRestClient, @NonNull final ValidationJobStore store,
+                                @NonNull final ValidationJobCompletionHandler handler, @NonNull final ValidationJobManagerOptions options) {
+        if (options.getConcurrency() < 1) {
+            throw new IllegalArgumentException("concurrency must be greater than zero.");
+        }
+        if (options.getMaxInFlightJobs() < 1) {
+            throw new IllegalArgumentException("maxInFlightJobs must be greater than zero.");
+        }
+
+        this.client = verifaliaRestClient.getEmailValidations();
+        this.store = store;
+        this.handler = handler;
+        this.options = options;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        this.workers = new ScheduledThreadPoolExecutor(options.getConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-job-manager-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        if (options.getBatchPollingInterval() != null) {
+            long intervalMillis = options.getBatchPollingInterval().toMillis();
+
+            this.watcher = new ValidationOverviewWatcher(client);
+            this.workers.scheduleWithFixedDelay(this::refreshWatchedJobs, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.watcher = null;
+        }
+    }
+
+    /**
+     * Loads the jobs from the store and resumes their processing; this method must be invoked once, before enqueuing
+     * any request.
+     * @throws IOException If the jobs can't be loaded from the store.
+     */
+    public void start() throws IOException {
+        admissionLock.lock();
+
+        try {
+            if (closed) {
+                throw new IllegalStateException("The job manager has been closed.");
+            }
+            if (started) {
+                throw new IllegalStateException("The job manager has already been started.");
+            }
+
+            List<ValidationJob> storedJobs = new ArrayList<>(store.loadAll());
+
+            // Resume the jobs in the same order they have been enqueued
+
+            storedJobs.sort((a, b) -> compareDates(a.getCreatedOn(), b.getCreatedOn()));
+
+            for (ValidationJob job : storedJobs) {
+                jobs.put(job.getKey(), job);
+
+                switch (job.getState()) {
+                    case Pending:
+                        pendingKeys.add(job.getKey());
+                        break;
+
+                    case Submitted:
+                        inFlightJobs++;
+                        awaitCompletion(job, null);
+                        break;
+
+                    default:
+                        schedule(job, this::dispatch, 0);
+                        break;
+                }
+            }
+
+            started = true;
+        } finally {
+            admissionLock.unlock();
+        }
+
+        admitPendingJobs();
+    }
+
+    /**
+     * Enqueues the specified request: the request is saved to the store before this method returns and submitted to
+     * Verifalia as soon as the limit of in-flight jobs allows it.
+     * @param validationRequest The email validation request to submit.
+     * @return The {@link ValidationJob#getKey()} of the new job.
+     * @throws IOException If the job can't be saved to the store.
+     */
+    public String enqueue(@NonNull final ValidationRequest validationRequest) throws IOException {
+        if (!started || closed) {
+            throw new IllegalStateException("The job manager must be started, and not closed, before enqueuing requests.");
+        }
+        if (validationRequest.getEntries() == null || validationRequest.getEntries().isEmpty()) {
+            throw new IllegalArgumentException("Can't validate an empty batch (emailAddresses)");
+        }
+
+        Date now = new Date();
+        ValidationJob job = new ValidationJob();
+        job.setKey(UUID.randomUUID().toString());
+        job.setState(ValidationJobState.Pending);
+        job.setSerializedRequest(client.getRestClient().serializeToJson(validationRequest));
+        job.setCreatedOn(now);
+        job.setUpdatedOn(now);
+
+        store.save(job);
+
+        jobs.put(job.getKey(), job);
+        pendingKeys.add(job.getKey());
+        admitPendingJobs();
+
+        return job.getKey();
+    }
+
+    /**
+     * Returns a snapshot of the specified job, if it is still tracked by the manager.
+     * @param key The {@link ValidationJob#getKey()} of the job.
+     * @return A copy of the job, or <tt>null</tt> if the job is unknown or its outcome has already been dispatched.
+     */
+    public ValidationJob getJob(@NonNull final String key) {
+        ValidationJob job = jobs.get(key);
+        return job == null ? null : copy(job);
+    }
+
+    /**
+     * Returns snapshots of all the jobs tracked by the manager.
+     */
+    public List<ValidationJob> getJobs() {
+        List<ValidationJob> result = new ArrayList<>();
+
+        for (ValidationJob job : jobs.values()) {
+            result.add(copy(job));
+        }
+
+        return result;
+    }
+
+    /**
+     * Stops processing the jobs; the jobs which are not completed yet stay in the store and are resumed by the next
+     * manager started against it. Tasks already running are allowed to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.shutdown();
+    }
+
+    // region Job steps
+
+    private void submit(@NonNull final ValidationJob job) throws IOException {
+        if (job.getValidationId() != null) {
+            // Accepted by Verifalia during a previous attempt whose state could not be saved: never submit it again
+
+            job.setState(ValidationJobState.Submitted);
+            save(job);
+            awaitCompletion(job, null);
+            return;
+        }
+
+        // The attempt is recorded before the submission, so that a failing request can't be retried forever across
+        // restarts
+
+        job.setSubmissionAttempts(job.getSubmissionAttempts() + 1);
+        save(job);
+
+        Validation validation;
+
+        try {
+            validation = client.submitSerialized(job.getSerializedRequest());
+        } catch (VerifaliaException e) {
+            job.setLastError(describe(e));
+
+            if (job.getSubmissionAttempts() >= options.getMaxSubmissionAttempts()) {
+                terminate(job, ValidationJobState.Failed);
+                return;
+            }
+
+            save(job);
+
+            int exponent = Math.min(job.getSubmissionAttempts() - 1, MAX_RETRY_BACKOFF_EXPONENT);
+            schedule(job, this::submit, options.getRetryDelay().toMillis() << exponent);
+            return;
+        }
+
+        ValidationOverview overview = validation.getOverview();
+
+        job.setValidationId(overview.getId());
+        job.setSerializedRequest(null);
+        job.setLastError(null);
+
+        if (overview.getStatus() == ValidationStatus.InProgress) {
+            job.setState(ValidationJobState.Submitted);
+            save(job);
+            awaitCompletion(job, overview);
+        } else {
+            terminate(job, ValidationJobState.Completed);
+        }
+    }
+
+    /**
+     * Polls the specified submitted job, either on its own or through the watcher.
+     */
+    private void awaitCompletion(@NonNull final ValidationJob job, final ValidationOverview lastOverview) {
+        if (watcher != null) {
+            watchedJobs.put(job.getValidationId(), job);
+            watcher.track(job.getValidationId(), job.getCreatedOn());
+            return;
+        }
+
+        long delayMillis = lastOverview == null ? 0 : options.getWaitingStrategy().computePollingDelay(lastOverview).toMillis();
+        schedule(job, this::poll, delayMillis);
+    }
+
+    private void refreshWatchedJobs() {
+        if (closed || watcher.size() == 0) {
+            return;
+        }
+
+        Map<String, ValidationOverview> finishedJobs;
+
+        try {
+            finishedJobs = watcher.refresh();
+        } catch (Exception e) {
+            // Retried on the next tick
+
+            return;
+        }
+
+        for (Map.Entry<String, ValidationOverview> entry : finishedJobs.entrySet()) {
+            ValidationJob job = watchedJobs.remove(entry.getKey());
+
+            if (job == null) {
+                continue;
+            }
+
+            if (entry.getValue() == null) {
+                job.setLastError("The email validation job " + job.getValidationId() + " has been deleted before its completion.");
+                schedule(job, j -> terminate(j, ValidationJobState.Failed), 0);
+            } else {
+                schedule(job, j -> terminate(j, ValidationJobState.Completed), 0);
+            }
+        }
+
+        ProgressProvider<ValidationOverview> progressProvider = options.getWaitingStrategy().getProgressProvider();
+
+        if (progressProvider != null) {
+            for (String id : watchedJobs.keySet()) {
+                ValidationOverview overview = watcher.getOverview(id);
+
+                if (overview != null) {
+                    try {
+                        progressProvider.report(overview);
+                    } catch (RuntimeException e) {
+                        // A failing subscriber must not stop the periodic refresh
+                    }
+                }
+            }
+        }
+    }
+
+    private void poll(@NonNull final ValidationJob job) throws VerifaliaException, IOException {
+        ValidationOverview overview = client.getOverview(job.getValidationId());
+
+        if (overview == null) {
+            job.setLastError("The email validation job " + job.getValidationId() + " has been deleted before its completion.");
+            terminate(job, ValidationJobState.Failed);
+            return;
+        }
+
+        if (overview.getStatus() != ValidationStatus.InProgress) {
+            terminate(job, ValidationJobState.Completed);
+            return;
+        }
+
+        WaitingStrategy waitingStrategy = options.getWaitingStrategy();
+
+        if (waitingStrategy.getProgressProvider() != null) {
+            waitingStrategy.getProgressProvider().report(overview);
+        }
+
+        schedule(job, this::poll, waitingStrategy.computePollingDelay(overview).toMillis());
+    }
+
+    private void dispatch(@NonNull final ValidationJob job) throws Exception {
+        if (job.getState() == ValidationJobState.Completed) {
+            Validation validation = client.get(job.getValidationId());
+
+            if (validation == null) {
+                job.setState(ValidationJobState.Failed);
+                job.setLastError("The email validation job " + job.getValidationId() + " has been deleted before its results could be dispatched.");
+                save(job);
+                handler.onFailed(copy(job));
+            } else {
+                handler.onCompleted(copy(job), validation);
+            }
+        } else {
+            handler.onFailed(copy(job));
+        }
+
+        // The outcome has been acknowledged by the handler
+
+        store.delete(job.getKey());
+        jobs.remove(job.getKey());
+    }
+
+    /**
+     * Moves the job to a terminal state, frees its in-flight slot and schedules the dispatch of its outcome.
+     */
+    private void terminate(@NonNull final ValidationJob job, @NonNull final ValidationJobState state) throws IOException {
+        ValidationJobState previousState = job.getState();
+        boolean wasInFlight = previousState == ValidationJobState.Pending || previousState == ValidationJobState.Submitted;
+
+        job.setState(state);
+
+        try {
+            save(job);
+        } catch (IOException e) {
+            // The step will be retried: keep the job in flight until the new state is durable
+
+            job.setState(previousState);
+            throw e;
+        }
+
+        if (wasInFlight) {
+            admissionLock.lock();
+
+            try {
+                inFlightJobs--;
+            } finally {
+                admissionLock.unlock();
+            }
+
+            admitPendingJobs();
+        }
+
+        schedule(job, this::dispatch, 0);
+    }
+
+    // endregion
+
+    private void admitPendingJobs() {
+        while (true) {
+            String key;
+
+            admissionLock.lock();
+
+            try {
+                if (closed || inFlightJobs >= options.getMaxInFlightJobs()) {
+                    return;
+                }
+
+                key = pendingKeys.poll();
+
+                if (key == null) {
+                    return;
+                }
+
+                inFlightJobs++;
+            } finally {
+                admissionLock.unlock();
+            }
+
+            ValidationJob job = jobs.get(key);
+
+            if (job != null) {
+                schedule(job, this::submit, 0);
+            }
+        }
+    }
+
+    private void schedule(@NonNull final ValidationJob job, @NonNull final JobStep step, final long delayMillis) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            workers.schedule(() -> run(job, step), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The manager has been closed in the meantime: the job will be resumed from the store
+        }
+    }
+
+    private void run(@NonNull final ValidationJob job, @NonNull final JobStep step) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            step.run(job);
+        } catch (Exception e) {
+            // Transient failures (network errors, store errors, failing handlers) are retried with the same step
+
+            job.setLastError(describe(e));
+            schedule(job, step, options.getRetryDelay().toMillis());
+        }
+    }
+
+    private void save(@NonNull final ValidationJob job) throws IOException {
+        job.setUpdatedOn(new Date());
+        store.save(job);
+    }
+
+    private static ValidationJob copy(@NonNull final ValidationJob job) {
+        return new ValidationJob(job.getKey(),
+                job.getState(),
+                job.getSerializedRequest(),
+                job.getValidationId(),
+                job.getSubmissionAttempts(),
+                job.getLastError(),
+                job.getCreatedOn(),
+                job.getUpdatedOn());
+    }
+
+    private static String describe(@NonNull final Exception exception) {
+        return exception.getMessage() == null
+                ? exception.getClass().getName()
+                : exception.getClass().getName() + ": " + exception.getMessage();
+    }
+
+    private static int compareDates(final Date a, final Date b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+
+        return a.compareTo(b);
+    }
+
+    @FunctionalInterface
+    private interface JobStep {
+        void run(ValidationJob job) throws Exception;
+    }
+}
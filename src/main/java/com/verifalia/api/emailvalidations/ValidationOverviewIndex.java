@@ -0,0 +1,631 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.common.filters.DateBetweenPredicate;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import com.verifalia.api.emailvalidations.models.ValidationOverviewListingOptions;
+import com.verifalia.api.emailvalidations.models.ValidationStatus;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.rest.JsonCodec;
+import lombok.NonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A local mirror of the overviews of the email validation jobs, indexed by status, owner and creation date, which is
+ * kept up to date incrementally.
+ * <p>Each {@link #sync()} lists only the jobs created since the newest mirrored one, then re-checks the jobs still in
+ * progress through a {@link ValidationOverviewWatcher}; queries never hit the Verifalia API.
+ * <p>The mirror is optionally backed by a snapshot file, in the newline-delimited JSON format: each line holds an
+ * overview as returned by the API, later lines override earlier ones with the same ID, and a line with just an ID
+ * records the removal of the job. Changes are appended to the file, which is compacted once it holds more stale lines
+ * than live ones. Jobs deleted after their completion are noticed by {@link #rebuild()} only.
+ */
+public class ValidationOverviewIndex {
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final int MIN_COMPACTION_LINES = 1000;
+
+    private final EmailValidationsRestClient emailValidations;
+    private final JsonCodec jsonCodec;
+    private final Path snapshotPath;
+    private final ValidationOverviewWatcher watcher;
+    private final Lock syncLock = new ReentrantLock();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    // Guarded by indexLock
+
+    private final Map<String, ValidationOverview> overviews = new HashMap<>();
+    private final Map<ValidationStatus, Set<String>> idsByStatus = new EnumMap<>(ValidationStatus.class);
+    private final Map<String, Set<String>> idsByOwner = new HashMap<>();
+    private final TreeMap<Date, Set<String>> idsByCreatedOn = new TreeMap<>();
+
+    // Guarded by syncLock
+
+    private long snapshotLines;
+
+    /**
+     * Initializes a new, in-memory only, index.
+     * @param emailValidations The client used to list and retrieve the jobs.
+     */
+    public ValidationOverviewIndex(@NonNull final EmailValidationsRestClient emailValidations) {
+        this.emailValidations = emailValidations;
+        this.jsonCodec = emailValidations.getRestClient().getJsonCodec();
+        this.snapshotPath = null;
+        this.watcher = new ValidationOverviewWatcher(emailValidations);
+    }
+
+    /**
+     * Initializes a new index backed by the specified snapshot file, which is loaded if it exists.
+     * @param emailValidations The client used to list and retrieve the jobs.
+     * @param snapshotPath The path of the snapshot file.
+     * @throws IOException If the snapshot file can't be read.
+     */
+    public ValidationOverviewIndex(@NonNull final EmailValidationsRestClient emailValidations, @NonNull final Path snapshotPath) throws IOException {
+        this.emailValidations = emailValidations;
+        this.jsonCodec = emailValidations.getRestClient().getJsonCodec();
+        this.snapshotPath = snapshotPath;
+        this.watcher = new ValidationOverviewWatcher(emailValidations);
+
+        if (Files.exists(snapshotPath)) {
+            loadSnapshot();
+        }
+    }
+
+    /**
+     * Brings the index up to date with the Verifalia API: lists the jobs created since the newest indexed one (all of
+     * them, on the first sync) and refreshes the jobs which were in progress.
+     * @return The number of added, updated or removed jobs.
+     * @throws VerifaliaException If the jobs can't be listed or retrieved; the changes retrieved so far are kept.
+     * @throws IOException If the snapshot file can't be written.
+     */
+    public int sync() throws VerifaliaException, IOException {
+        syncLock.lock();
+
+        try {
+            Map<String, ValidationOverview> changes = new LinkedHashMap<>();
+
+            try {
+                // New jobs; the lower bound is widened by one day to absorb the differences between the local clock
+                // and time zone and those of the service
+
+                Date newestCreatedOn = getNewestCreatedOn();
+                ValidationOverviewListingOptions options = null;
+
+                if (newestCreatedOn != null) {
+                    options = ValidationOverviewListingOptions.builder()
+                            .createdOn(new DateBetweenPredicate(toLocalDate(newestCreatedOn).minusDays(1), null))
+                            .build();
+                }
+
+                for (ValidationOverview overview : emailValidations.list(options)) {
+                    if (overview.getId() != null) {
+                        changes.put(overview.getId(), overview);
+                    }
+                }
+
+                // Jobs in progress which are too old to be part of the listing above
+
+                for (ValidationOverview overview : findByStatus(ValidationStatus.InProgress)) {
+                    if (changes.containsKey(overview.getId())) {
+                        watcher.untrack(overview.getId());
+                    } else {
+                        watcher.track(overview.getId(), overview.getCreatedOn());
+                    }
+                }
+
+                for (Map.Entry<String, ValidationOverview> finishedJob : watcher.refresh().entrySet()) {
+                    changes.put(finishedJob.getKey(), finishedJob.getValue());
+                }
+
+                for (ValidationOverview overview : findByStatus(ValidationStatus.InProgress)) {
+                    ValidationOverview refreshed = watcher.getOverview(overview.getId());
+
+                    if (refreshed != null && !changes.containsKey(overview.getId())) {
+                        changes.put(overview.getId(), refreshed);
+                    }
+                }
+            } catch (Throwable e) {
+                // Keep what was retrieved before the failure, without letting a failed write mask it
+
+                try {
+                    discardUnchanged(changes);
+                    apply(changes);
+                } catch (IOException | RuntimeException applyError) {
+                    e.addSuppressed(applyError);
+                }
+
+                throw e;
+            }
+
+            discardUnchanged(changes);
+            apply(changes);
+
+            return changes.size();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Discards the index and lists all the jobs again, which also removes the jobs deleted after their completion.
+     * @return The number of indexed jobs.
+     * @throws VerifaliaException If the jobs can't be listed; the index is left untouched.
+     * @throws IOException If the snapshot file can't be written.
+     */
+    public int rebuild() throws VerifaliaException, IOException {
+        syncLock.lock();
+
+        try {
+            List<ValidationOverview> listed = new ArrayList<>();
+
+            for (ValidationOverview overview : emailValidations.list(null)) {
+                if (overview.getId() != null) {
+                    listed.add(overview);
+                }
+            }
+
+            indexLock.writeLock().lock();
+
+            try {
+                overviews.clear();
+                idsByStatus.clear();
+                idsByOwner.clear();
+                idsByCreatedOn.clear();
+
+                for (ValidationOverview overview : listed) {
+                    put(overview);
+                }
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+
+            for (ValidationOverview overview : listed) {
+                watcher.untrack(overview.getId());
+            }
+
+            if (snapshotPath != null) {
+                compactSnapshot();
+            }
+
+            return listed.size();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed jobs.
+     */
+    public int size() {
+        indexLock.readLock().lock();
+
+        try {
+            return overviews.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed overview of the specified job.
+     * @param id The {@link ValidationOverview#getId()} of the job.
+     * @return The overview of the job, or <tt>null</tt> if the job is not indexed.
+     */
+    public ValidationOverview get(@NonNull final String id) {
+        indexLock.readLock().lock();
+
+        try {
+            return overviews.get(id);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexed jobs with the specified status.
+     */
+    public List<ValidationOverview> findByStatus(@NonNull final ValidationStatus status) {
+        return find(status, null, null, null);
+    }
+
+    /**
+     * Returns the indexed jobs submitted by the specified user.
+     */
+    public List<ValidationOverview> findByOwner(@NonNull final String owner) {
+        return find(null, owner, null, null);
+    }
+
+    /**
+     * Returns the indexed jobs created within the specified interval, from the oldest to the newest.
+     * @param since The lower bound of the interval (inclusive), or <tt>null</tt> for no lower bound.
+     * @param until The upper bound of the interval (exclusive), or <tt>null</tt> for no upper bound.
+     */
+    public List<ValidationOverview> findCreatedBetween(final Date since, final Date until) {
+        return find(null, null, since, until);
+    }
+
+    /**
+     * Returns the indexed jobs which match all the specified criteria, from the oldest to the newest when a date
+     * criterion is specified; <tt>null</tt> criteria are ignored.
+     * @param status The status of the jobs.
+     * @param owner The ID of the user who submitted the jobs.
+     * @param since The lower bound of the creation date of the jobs (inclusive).
+     * @param until The upper bound of the creation date of the jobs (exclusive).
+     */
+    public List<ValidationOverview> find(final ValidationStatus status, final String owner, final Date since, final Date until) {
+        indexLock.readLock().lock();
+
+        try {
+            // The most selective index drives the lookup, the other criteria filter its results
+
+            Collection<String> candidateIds = null;
+
+            if (status != null) {
+                candidateIds = idsByStatus.getOrDefault(status, Collections.emptySet());
+            }
+            if (owner != null) {
+                Set<String> ownerIds = idsByOwner.getOrDefault(owner, Collections.emptySet());
+
+                if (candidateIds == null || ownerIds.size() < candidateIds.size()) {
+                    candidateIds = ownerIds;
+                }
+            }
+            if (since != null || until != null) {
+                List<String> dateIds = new ArrayList<>();
+
+                for (Set<String> ids : createdOnRange(since, until).values()) {
+                    dateIds.addAll(ids);
+                }
+
+                if (candidateIds == null || dateIds.size() <= candidateIds.size()) {
+                    candidateIds = dateIds;
+                } else {
+                    candidateIds = sortByCreatedOn(candidateIds);
+                }
+            }
+            if (candidateIds == null) {
+                candidateIds = overviews.keySet();
+            }
+
+            List<ValidationOverview> result = new ArrayList<>();
+
+            for (String id : candidateIds) {
+                ValidationOverview overview = overviews.get(id);
+
+                if (overview != null && matches(overview, status, owner, since, until)) {
+                    result.add(overview);
+                }
+            }
+
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(@NonNull final ValidationOverview overview, final ValidationStatus status, final String owner,
+                                   final Date since, final Date until) {
+        if (status != null && overview.getStatus() != status) {
+            return false;
+        }
+        if (owner != null && !owner.equals(overview.getOwner())) {
+            return false;
+        }
+        if (since != null || until != null) {
+            Date createdOn = overview.getCreatedOn();
+
+            if (createdOn == null || (since != null && createdOn.before(since)) || (until != null && !createdOn.before(until))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Map<Date, Set<String>> createdOnRange(final Date since, final Date until) {
+        if (since != null && until != null) {
+            return since.before(until) ? idsByCreatedOn.subMap(since, true, until, false) : Collections.emptyMap();
+        }
+        if (since != null) {
+            return idsByCreatedOn.tailMap(since, true);
+        }
+
+        return idsByCreatedOn.headMap(until, false);
+    }
+
+    private List<String> sortByCreatedOn(@NonNull final Collection<String> ids) {
+        List<String> sorted = new ArrayList<>(ids);
+
+        sorted.sort((first, second) -> {
+            Date firstCreatedOn = overviews.get(first).getCreatedOn();
+            Date secondCreatedOn = overviews.get(second).getCreatedOn();
+
+            if (firstCreatedOn == null || secondCreatedOn == null) {
+                return firstCreatedOn == null ? (secondCreatedOn == null ? 0 : -1) : 1;
+            }
+
+            return firstCreatedOn.compareTo(secondCreatedOn);
+        });
+
+        return sorted;
+    }
+
+    private Date getNewestCreatedOn() {
+        indexLock.readLock().lock();
+
+        try {
+            return idsByCreatedOn.isEmpty() ? null : idsByCreatedOn.lastKey();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes from the specified changes the jobs whose overview matches the indexed one, like the jobs of the last
+     * synced day, which are listed again on each sync.
+     */
+    private void discardUnchanged(@NonNull final Map<String, ValidationOverview> changes) throws IOException {
+        Iterator<Map.Entry<String, ValidationOverview>> iterator = changes.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, ValidationOverview> change = iterator.next();
+            ValidationOverview indexed = get(change.getKey());
+
+            if (change.getValue() == null
+                    ? indexed == null
+                    : indexed != null && jsonCodec.serialize(indexed).equals(jsonCodec.serialize(change.getValue()))) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Applies the specified changes, where a <tt>null</tt> overview stands for a removed job, and appends them to the
+     * snapshot file.
+     */
+    private void apply(@NonNull final Map<String, ValidationOverview> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        indexLock.writeLock().lock();
+
+        try {
+            for (Map.Entry<String, ValidationOverview> change : changes.entrySet()) {
+                remove(change.getKey());
+
+                if (change.getValue() != null) {
+                    put(change.getValue());
+                }
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+
+        if (snapshotPath != null) {
+            if (snapshotLines + changes.size() > Math.max(MIN_COMPACTION_LINES, 2L * size())) {
+                compactSnapshot();
+            } else {
+                appendToSnapshot(changes);
+            }
+        }
+    }
+
+    private void put(@NonNull final ValidationOverview overview) {
+        String id = overview.getId();
+
+        overviews.put(id, overview);
+
+        if (overview.getStatus() != null) {
+            idsByStatus.computeIfAbsent(overview.getStatus(), key -> new HashSet<>()).add(id);
+        }
+        if (overview.getOwner() != null) {
+            idsByOwner.computeIfAbsent(overview.getOwner(), key -> new HashSet<>()).add(id);
+        }
+        if (overview.getCreatedOn() != null) {
+            idsByCreatedOn.computeIfAbsent(overview.getCreatedOn(), key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void remove(@NonNull final String id) {
+        ValidationOverview overview = overviews.remove(id);
+
+        if (overview == null) {
+            return;
+        }
+
+        removeFromIndex(idsByStatus, overview.getStatus(), id);
+        removeFromIndex(idsByOwner, overview.getOwner(), id);
+        removeFromIndex(idsByCreatedOn, overview.getCreatedOn(), id);
+    }
+
+    private static <K> void removeFromIndex(@NonNull final Map<K, Set<String>> index, final K key, @NonNull final String id) {
+        if (key == null) {
+            return;
+        }
+
+        Set<String> ids = index.get(key);
+
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // region Snapshot
+
+    private void loadSnapshot() throws IOException {
+        boolean corrupted = false;
+
+        try (BufferedReader reader = Files.newBufferedReader(snapshotPath, StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                snapshotLines++;
+                ValidationOverview overview;
+
+                try {
+                    overview = jsonCodec.deserialize(line.getBytes(StandardCharsets.UTF_8), ValidationOverview.class);
+                } catch (IOException e) {
+                    // Most likely a line truncated by a crash during an append: the file is rewritten below
+
+                    corrupted = true;
+                    continue;
+                }
+
+                if (overview == null || overview.getId() == null) {
+                    continue;
+                }
+
+                remove(overview.getId());
+
+                if (overview.getStatus() != null || overview.getCreatedOn() != null) {
+                    put(overview);
+                }
+            }
+        }
+
+        if (corrupted) {
+            compactSnapshot();
+        }
+    }
+
+    private void appendToSnapshot(@NonNull final Map<String, ValidationOverview> changes) throws IOException {
+        StringBuilder lines = new StringBuilder();
+
+        for (Map.Entry<String, ValidationOverview> change : changes.entrySet()) {
+            appendLine(lines, change.getKey(), change.getValue());
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            write(channel, lines);
+        }
+
+        snapshotLines += changes.size();
+    }
+
+    private void compactSnapshot() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        int count;
+
+        indexLock.readLock().lock();
+
+        try {
+            for (ValidationOverview overview : overviews.values()) {
+                appendLine(lines, overview.getId(), overview);
+            }
+
+            count = overviews.size();
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        // Same as the job store: write aside, flush and atomically replace the previous version
+
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + TEMPORARY_EXTENSION);
+
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, lines);
+        }
+
+        try {
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        snapshotLines = count;
+    }
+
+    private void appendLine(@NonNull final StringBuilder lines, @NonNull final String id, final ValidationOverview overview) throws IOException {
+        if (overview == null) {
+            ValidationOverview removal = new ValidationOverview();
+            removal.setId(id);
+
+            lines.append(jsonCodec.serialize(removal));
+        } else {
+            lines.append(jsonCodec.serialize(overview));
+        }
+
+        lines.append('\n');
+    }
+
+    private static void write(@NonNull final FileChannel channel, @NonNull final CharSequence lines) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        channel.force(true);
+    }
+
+    // endregion
+
+    private static LocalDate toLocalDate(@NonNull final Date date) {
+        return date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.common.filters.DateBetweenPredicate;
+import com.verifalia.api.common.filters.SetInclusionPredicate;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import com.verifalia.api.emailvalidations.models.ValidationOverviewListingOptions;
+import com.verifalia.api.emailvalidations.models.ValidationStatus;
+import com.verifalia.api.exceptions.VerifaliaException;
+import lombok.NonNull;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the status of many email validation jobs at once.
+ * <p>Instead of retrieving the overview of each tracked job, each {@link #refresh()} lists the jobs still in progress,
+ * created since the oldest tracked one, and stops as soon as all the tracked jobs have been found: the cost of a
+ * refresh thus depends on the number of listing pages rather than on the number of jobs. The overview of a tracked job
+ * is retrieved individually only when the job is missing from the listing, to confirm its completion, or when its
+ * creation date is unknown.
+ */
+public class ValidationOverviewWatcher {
+    private final EmailValidationsRestClient emailValidations;
+    private final ConcurrentMap<String, TrackedJob> trackedJobs = new ConcurrentHashMap<>();
+    private final Lock refreshLock = new ReentrantLock();
+
+    /**
+     * Initializes a new watcher.
+     * @param emailValidations The client used to list and retrieve the tracked jobs.
+     */
+    public ValidationOverviewWatcher(@NonNull final EmailValidationsRestClient emailValidations) {
+        this.emailValidations = emailValidations;
+    }
+
+    /**
+     * Starts tracking the specified job, whose creation date is unknown: its overview is retrieved individually on the
+     * next refresh.
+     * @param id The {@link ValidationOverview#getId()} of the job to track.
+     */
+    public void track(@NonNull final String id) {
+        track(id, null);
+    }
+
+    /**
+     * Starts tracking the specified job.
+     * @param id The {@link ValidationOverview#getId()} of the job to track.
+     * @param createdOn The creation date of the job, or any earlier date; <tt>null</tt> if unknown.
+     */
+    public void track(@NonNull final String id, final Date createdOn) {
+        trackedJobs.putIfAbsent(id, new TrackedJob(createdOn == null ? null : toLocalDate(createdOn)));
+    }
+
+    /**
+     * Stops tracking the specified job.
+     * @param id The {@link ValidationOverview#getId()} of the job.
+     */
+    public void untrack(@NonNull final String id) {
+        trackedJobs.remove(id);
+    }
+
+    /**
+     * Gets the number of tracked jobs.
+     */
+    public int size() {
+        return trackedJobs.size();
+    }
+
+    /**
+     * Returns the last known overview of the specified tracked job, as of the latest refresh.
+     * @param id The {@link ValidationOverview#getId()} of the job.
+     * @return The overview of the job, or <tt>null</tt> if the job is not tracked or has not been refreshed yet.
+     */
+    public ValidationOverview getOverview(@NonNull final String id) {
+        TrackedJob trackedJob = trackedJobs.get(id);
+        return trackedJob == null ? null : trackedJob.overview;
+    }
+
+    /**
+     * Refreshes the status of all the tracked jobs; the jobs which are no longer in progress stop being tracked and
+     * are returned.
+     * @return A map between the IDs of the jobs which are no longer in progress and their overviews; the overview is
+     * <tt>null</tt> for the jobs which have not been found, for example because they have been deleted.
+     * @throws VerifaliaException If the jobs can't be listed or retrieved; the tracked jobs are left untouched.
+     */
+    public Map<String, ValidationOverview> refresh() throws VerifaliaException {
+        refreshLock.lock();
+
+        try {
+            Map<String, ValidationOverview> finishedJobs = new HashMap<>();
+
+            // Jobs with an unknown creation date are retrieved individually, once
+
+            LocalDate since = null;
+            List<String> candidateIds = new ArrayList<>();
+
+            for (Map.Entry<String, TrackedJob> entry : trackedJobs.entrySet()) {
+                TrackedJob trackedJob = entry.getValue();
+
+                if (trackedJob.createdOn == null) {
+                    ValidationOverview overview = emailValidations.getOverview(entry.getKey());
+
+                    if (overview == null || overview.getStatus() != ValidationStatus.InProgress) {
+                        finishedJobs.put(entry.getKey(), overview);
+                        continue;
+                    }
+
+                    trackedJob.overview = overview;
+                    trackedJob.createdOn = overview.getCreatedOn() == null ? LocalDate.now(ZoneOffset.UTC) : toLocalDate(overview.getCreatedOn());
+                }
+
+                candidateIds.add(entry.getKey());
+
+                if (since == null || trackedJob.createdOn.isBefore(since)) {
+                    since = trackedJob.createdOn;
+                }
+            }
+
+            if (!candidateIds.isEmpty()) {
+                // One listing of the jobs in progress covers all the tracked ones; the lower bound is widened by one
+                // day to absorb the differences between the local clock and time zone and those of the service
+
+                ValidationOverviewListingOptions options = ValidationOverviewListingOptions.builder()
+                        .statuses(new SetInclusionPredicate<>(ValidationStatus.InProgress))
+                        .createdOn(new DateBetweenPredicate(since.minusDays(1), null))
+                        .build();
+
+                Set<String> pendingIds = new HashSet<>(candidateIds);
+
+                for (ValidationOverview overview : emailValidations.list(options)) {
+                    TrackedJob trackedJob = trackedJobs.get(overview.getId());
+
+                    if (trackedJob != null && pendingIds.remove(overview.getId())) {
+                        trackedJob.overview = overview;
+
+                        if (pendingIds.isEmpty()) {
+                            break;
+                        }
+                    }
+                }
+
+                // The jobs missing from the listing are most likely completed: confirm it individually, since a job
+                // may also have been created after the listing started
+
+                for (String id : pendingIds) {
+                    ValidationOverview overview = emailValidations.getOverview(id);
+
+                    if (overview == null || overview.getStatus() != ValidationStatus.InProgress) {
+                        finishedJobs.put(id, overview);
+                    } else {
+                        TrackedJob trackedJob = trackedJobs.get(id);
+
+                        if (trackedJob != null) {
+                            trackedJob.overview = overview;
+                        }
+                    }
+                }
+            }
+
+            for (String id : finishedJobs.keySet()) {
+                trackedJobs.remove(id);
+            }
+
+            return finishedJobs;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static LocalDate toLocalDate(@NonNull final Date date) {
+        return date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static class TrackedJob {
+        volatile LocalDate createdOn;
+        volatile ValidationOverview overview;
+
+        TrackedJob(final LocalDate createdOn) {
+            this.createdOn = createdOn;
+        }
+    }
+}
@@ -81,6 +81,16 @@ public class WaitingStrategy {
      * @throws InterruptedException
      */
     public void waitForNextPoll(@NonNull final ValidationOverview validationOverview) throws InterruptedException {
+        Thread.sleep(computePollingDelay(validationOverview).toMillis());
+    }
+
+    /**
+     * Returns the delay to observe before the next poll of the specified {@link ValidationOverview}: callers which
+     * schedule their polls instead of blocking, like the {@link ValidationJobManager}, use this value directly.
+     * @param validationOverview The overview of the email validation job being polled.
+     * @return The delay before the next poll.
+     */
+    public Duration computePollingDelay(@NonNull final ValidationOverview validationOverview) {
         // Observe the ETA if we have one, otherwise a delay given the formula: max(0.5, min(30, 2^(log(noOfEntries, 10) - 1)))
 
         Duration timeToSleep = null;
@@ -96,6 +106,6 @@ public class WaitingStrategy {
             timeToSleep = Duration.ofSeconds((long) Math.max(0.5, Math.min(30, Math.pow(2, Math.log10(validationOverview.getNoOfEntries()) - 1))));
         }
 
-        Thread.sleep(timeToSleep.toMillis());
+        return timeToSleep;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.jobs;
+
+import com.verifalia.api.emailvalidations.models.ValidationJob;
+import com.verifalia.api.rest.JacksonJsonCodec;
+import com.verifalia.api.rest.JsonCodec;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ValidationJobStore} which keeps one JSON file per job in a local directory.
+ * <p>Each record is written to a temporary file, flushed to the disk and then atomically renamed over the previous
+ * version, so that a crash never leaves a partially written record behind.
+ */
+public class FileValidationJobStore implements ValidationJobStore {
+    private static final String RECORD_EXTENSION = ".json";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /**
+     * Gets the directory which contains the records of the jobs.
+     */
+    @Getter
+    private final Path directory;
+
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Initializes a new store backed by the specified directory, which is created if it does not exist.
+     * @param directory The directory which contains the records of the jobs.
+     * @throws IOException If the directory can't be created.
+     */
+    public FileValidationJobStore(@NonNull final Path directory) throws IOException {
+        this(directory, JacksonJsonCodec.INSTANCE);
+    }
+
+    /**
+     * Initializes a new store backed by the specified directory, which is created if it does not exist, whose records
+     * are written and read with the specified {@link JsonCodec}.
+     * @param directory The directory which contains the records of the jobs.
+     * @param jsonCodec The codec of the records, usually the one of the {@link com.verifalia.api.rest.RestClient}.
+     * @throws IOException If the directory can't be created.
+     */
+    public FileValidationJobStore(@NonNull final Path directory, @NonNull final JsonCodec jsonCodec) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.jsonCodec = jsonCodec;
+    }
+
+    @Override
+    public void save(@NonNull final ValidationJob job) throws IOException {
+        Path recordPath = resolveRecordPath(job.getKey());
+        Path temporaryPath = recordPath.resolveSibling(recordPath.getFileName() + TEMPORARY_EXTENSION);
+
+        try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(jsonCodec.serialize(job).getBytes(StandardCharsets.UTF_8));
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temporaryPath, recordPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, recordPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void delete(@NonNull final String key) throws IOException {
+        Files.deleteIfExists(resolveRecordPath(key));
+    }
+
+    @Override
+    public List<ValidationJob> loadAll() throws IOException {
+        List<ValidationJob> jobs = new ArrayList<>();
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+
+                if (fileName.endsWith(RECORD_EXTENSION + TEMPORARY_EXTENSION)) {
+                    // Leftover of a save interrupted before its rename: the previous version of the record, if any,
+                    // is still valid
+
+                    Files.deleteIfExists(path);
+                    continue;
+                }
+
+                if (!fileName.endsWith(RECORD_EXTENSION)) {
+                    continue;
+                }
+
+                try {
+                    jobs.add(jsonCodec.deserialize(Files.readAllBytes(path), ValidationJob.class));
+                } catch (NoSuchFileException e) {
+                    // Deleted in the meantime
+                }
+            }
+        }
+
+        return jobs;
+    }
+
+    private Path resolveRecordPath(@NonNull final String key) {
+        // Keys are generated by the job manager, yet make sure they can't escape the directory
+
+        if (key.isEmpty() || key.indexOf('/') >= 0 || key.indexOf('\\') >= 0 || key.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid job key: " + key);
+        }
+
+        return directory.resolve(key + RECORD_EXTENSION);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.jobs;
+
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.emailvalidations.models.ValidationJob;
+
+/**
+ * Receives the outcome of the jobs tracked by a {@link com.verifalia.api.emailvalidations.ValidationJobManager}.
+ * <p>A job is removed from the store only after its handler method returns normally: should the method throw, the
+ * dispatch is retried later, and should the process stop while the method is running, the dispatch is repeated on the
+ * next start. Handlers with side effects should therefore be idempotent with respect to {@link ValidationJob#getKey()}.
+ */
+public interface ValidationJobCompletionHandler {
+    /**
+     * Invoked once a job has been completed.
+     * @param job The completed job.
+     * @param validation The completed {@link Validation}, including its entries.
+     * @throws Exception To have the dispatch retried later.
+     */
+    void onCompleted(ValidationJob job, Validation validation) throws Exception;
+
+    /**
+     * Invoked once a job has failed, either because its request could not be submitted or because the job has been
+     * deleted before its completion.
+     * @param job The failed job, whose {@link ValidationJob#getLastError()} describes the failure.
+     * @throws Exception To have the dispatch retried later.
+     */
+    default void onFailed(ValidationJob job) throws Exception {
+    }
+}
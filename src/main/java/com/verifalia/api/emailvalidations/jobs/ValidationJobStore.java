@@ -0,0 +1,66 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.jobs;
+
+import com.verifalia.api.emailvalidations.models.ValidationJob;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A durable store for the jobs tracked by a {@link com.verifalia.api.emailvalidations.ValidationJobManager}.
+ * <p>Implementations must make each {@link #save(ValidationJob)} durable and atomic before returning, so that the
+ * manager can resume its jobs after a restart; they may be invoked concurrently for different jobs, but never
+ * concurrently for the same job.
+ */
+public interface ValidationJobStore {
+    /**
+     * Creates or replaces the record of the specified job.
+     * @param job The job to save.
+     * @throws IOException If the record can't be saved.
+     */
+    void save(ValidationJob job) throws IOException;
+
+    /**
+     * Deletes the record of the specified job; deleting a missing record has no effect.
+     * @param key The {@link ValidationJob#getKey()} of the job to delete.
+     * @throws IOException If the record can't be deleted.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * Loads the records of all the jobs in the store.
+     * @return The stored jobs.
+     * @throws IOException If the records can't be loaded.
+     */
+    List<ValidationJob> loadAll() throws IOException;
+}
@@ -36,6 +36,7 @@ import com.verifalia.api.emailvalidations.serialization.QualityLevelNameSerializ
 import com.verifalia.api.emailvalidations.serialization.ValidationPrioritySerializer;
 import lombok.*;
 import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jackson.annotate.JsonProperty;
 import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 import java.time.Duration;
@@ -97,4 +98,20 @@ public class AbstractValidationRequest {
      */
     @JsonSerialize(using = DurationSerializer.class, include = JsonSerialize.Inclusion.NON_NULL)
     private Duration retention;
+
+    /**
+     * The optional URL Verifalia invokes once the validation job has been completed, as an alternative to polling it;
+     * see {@link com.verifalia.api.emailvalidations.CompletionCallbackReceiver} for an embeddable receiver.
+     */
+    @JsonProperty("callback")
+    @JsonSerialize(include = JsonSerialize.Inclusion.NON_NULL)
+    private CompletionCallback completionCallback;
+
+    /**
+     * Initializes a request with the specified options and no completion callback.
+     */
+    public AbstractValidationRequest(final String name, final QualityLevelName quality, final DeduplicationMode deduplication,
+                                     final ValidationPriority priority, final Duration retention) {
+        this(name, quality, deduplication, priority, retention, null);
+    }
 }
\ No newline at end of file
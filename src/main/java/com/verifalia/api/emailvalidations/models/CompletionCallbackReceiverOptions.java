@@ -0,0 +1,91 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import com.verifalia.api.emailvalidations.WaitingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * Provides options for a {@link com.verifalia.api.emailvalidations.CompletionCallbackReceiver}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionCallbackReceiverOptions {
+    /**
+     * The address the embedded HTTP server listens on, or <tt>null</tt> not to start the embedded server and forward
+     * the notifications received by another server through
+     * {@link com.verifalia.api.emailvalidations.CompletionCallbackReceiver#handleNotification(byte[])}.
+     */
+    private InetSocketAddress bindAddress;
+
+    /**
+     * The path the embedded HTTP server receives the notifications on.
+     */
+    @Builder.Default
+    private String path = "/verifalia/callback";
+
+    /**
+     * The public URL Verifalia sends the notifications to; if <tt>null</tt>, the local URL of the embedded server is
+     * used, which is only reachable by a local simulator.
+     */
+    private String callbackUrl;
+
+    /**
+     * The time to wait for a notification before falling back to polling the job.
+     */
+    @Builder.Default
+    private Duration fallbackDelay = Duration.ofMinutes(2);
+
+    /**
+     * The {@link WaitingStrategy} used to poll the jobs whose notification did not arrive in time.
+     */
+    @Builder.Default
+    private WaitingStrategy fallbackWaitingStrategy = new WaitingStrategy(true);
+
+    /**
+     * The maximum size of a notification payload, in bytes.
+     */
+    @Builder.Default
+    private int maxPayloadSize = 64 * 1024;
+}
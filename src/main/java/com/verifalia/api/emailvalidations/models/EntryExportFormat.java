@@ -0,0 +1,55 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+/**
+ * The file formats supported while exporting the entries of an email validation job.
+ */
+public enum EntryExportFormat {
+    /**
+     * Comma-separated values (RFC 4180), with a header row and one {@link ValidationEntry} per line.
+     */
+    Csv,
+
+    /**
+     * Newline-delimited JSON, with one {@link ValidationEntry} object per line.
+     */
+    NdJson,
+
+    /**
+     * A compact columnar binary format, made of a short file header followed by one block per exported page; within
+     * each block the values of every field are stored contiguously, with domain names, statuses and classifications
+     * dictionary-encoded. Null integers and timestamps are stored as {@link ValidationResultTable#NULL_INT} and
+     * {@link ValidationResultTable#NULL_DATE}, respectively.
+     */
+    Columnar
+}
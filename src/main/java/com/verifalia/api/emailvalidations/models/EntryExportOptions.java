@@ -0,0 +1,85 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import com.verifalia.api.common.ProgressProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Provides options for an export of the entries of an email validation job.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryExportOptions {
+    /**
+     * The format of the exported file.
+     */
+    @Builder.Default
+    private EntryExportFormat format = EntryExportFormat.NdJson;
+
+    /**
+     * The compression algorithm applied to the exported file.
+     */
+    @Builder.Default
+    private EntryExportCompression compression = EntryExportCompression.None;
+
+    /**
+     * The options for the underlying listing of the validation entries.
+     */
+    private ValidationEntryListingOptions listingOptions;
+
+    /**
+     * The size, in bytes, of the buffer used while writing to the exported file.
+     */
+    @Builder.Default
+    private int bufferSize = 64 * 1024;
+
+    /**
+     * If <tt>true</tt>, the exported file is forced to the storage device before each checkpoint is reported.
+     */
+    private boolean forceOnCheckpoint;
+
+    /**
+     * A {@link ProgressProvider} instance which eventually receives an {@link EntryExportCheckpoint} after each
+     * exported page.
+     */
+    private ProgressProvider<EntryExportCheckpoint> progressProvider;
+}
@@ -0,0 +1,77 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import com.verifalia.api.emailvalidations.WaitingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Provides options for a {@link com.verifalia.api.emailvalidations.MicroBatchingSubmitter}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MicroBatchingOptions {
+    /**
+     * The maximum time an email address waits for other ones before its batch is submitted.
+     */
+    @Builder.Default
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    /**
+     * The maximum number of email addresses submitted with a single validation job; a batch is submitted as soon as it
+     * reaches this size.
+     */
+    @Builder.Default
+    private int maxBatchSize = 50;
+
+    /**
+     * The quality level to validate the email addresses with, or <tt>null</tt> to use the default one of the account.
+     */
+    private QualityLevelName quality;
+
+    /**
+     * The {@link WaitingStrategy} used to wait for the completion of each batch.
+     */
+    @Builder.Default
+    private WaitingStrategy waitingStrategy = new WaitingStrategy(true);
+}
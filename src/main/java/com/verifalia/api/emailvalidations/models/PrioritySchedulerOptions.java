@@ -0,0 +1,79 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Provides options for a {@link com.verifalia.api.emailvalidations.PrioritySubmissionScheduler}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrioritySchedulerOptions {
+    /**
+     * The number of submissions reserved to the real-time lane, that is to requests whose priority is at least
+     * {@link #realtimePriority}.
+     */
+    @Builder.Default
+    private int realtimeConcurrency = 4;
+
+    /**
+     * The number of submissions of the bulk lane, which serves requests of any priority.
+     */
+    @Builder.Default
+    private int bulkConcurrency = 4;
+
+    /**
+     * The minimum priority of the requests served by the real-time lane.
+     */
+    @Builder.Default
+    private ValidationPriority realtimePriority = new ValidationPriority((byte) 192);
+
+    /**
+     * The waiting time after which a queued request is considered one priority level higher than its own, so that
+     * low priority requests are eventually served even under a steady flow of higher priority ones; <tt>null</tt>
+     * disables aging.
+     */
+    @Builder.Default
+    private Duration agingInterval = Duration.ofSeconds(1);
+}
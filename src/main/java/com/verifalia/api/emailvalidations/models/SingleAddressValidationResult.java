@@ -0,0 +1,69 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * The outcome of the validation of a single email address through a
+ * {@link com.verifalia.api.emailvalidations.SingleAddressValidator}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SingleAddressValidationResult {
+    /**
+     * The validated entry or, for fallback results, an entry with the {@link ValidationEntryClassification#Unknown}
+     * classification and no status.
+     */
+    private final ValidationEntry entry;
+
+    /**
+     * The ID of the validation job, if Verifalia accepted it; for fallback results it allows to retrieve the actual
+     * outcome later.
+     */
+    private final String validationId;
+
+    /**
+     * A value indicating whether the deadline elapsed before the validation was completed.
+     */
+    private final boolean fallback;
+
+    /**
+     * The time spent validating the email address.
+     */
+    private final Duration elapsed;
+}
@@ -31,7 +31,8 @@
 
 package com.verifalia.api.emailvalidations.models;
 
-import com.verifalia.api.emailvalidations.serialization.QualityLevelNameDeserializer;
+import com.verifalia.api.common.serialization.DateTimeDeserializer;
+import com.verifalia.api.emailvalidations.serialization.ValidationEntryClassificationDeserializer;
 import com.verifalia.api.emailvalidations.serialization.ValidationEntryStatusDeserializer;
 import lombok.Getter;
 import lombok.Setter;
@@ -65,6 +66,7 @@ public class ValidationEntry {
     /**
      * The <tt>ValidationEntryClassification</tt> for the status of this email address.
      */
+    @JsonDeserialize(using = ValidationEntryClassificationDeserializer.class)
     private ValidationEntryClassification classification;
 
     /**
@@ -146,11 +148,12 @@ public class ValidationEntry {
     /**
      * The date this entry has been completed, if available.
      */
+    @JsonDeserialize(using = DateTimeDeserializer.class)
     private Date completedOn;
 
     /**
      * Constructs new object.
      */
-    protected ValidationEntry() {
+    public ValidationEntry() {
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+/**
+ * The fields of a {@link ValidationEntry}, used to project the entries returned by the Verifalia API onto a subset
+ * of their fields.
+ */
+public enum ValidationEntryField {
+    /**
+     * The {@link ValidationEntry#index} field.
+     */
+    Index,
+
+    /**
+     * The {@link ValidationEntry#inputData} field.
+     */
+    InputData,
+
+    /**
+     * The {@link ValidationEntry#classification} field.
+     */
+    Classification,
+
+    /**
+     * The {@link ValidationEntry#status} field.
+     */
+    Status,
+
+    /**
+     * The {@link ValidationEntry#emailAddress} field.
+     */
+    EmailAddress,
+
+    /**
+     * The {@link ValidationEntry#emailAddressLocalPart} field.
+     */
+    EmailAddressLocalPart,
+
+    /**
+     * The {@link ValidationEntry#emailAddressDomainPart} field.
+     */
+    EmailAddressDomainPart,
+
+    /**
+     * The {@link ValidationEntry#asciiEmailAddressDomainPart} field.
+     */
+    AsciiEmailAddressDomainPart,
+
+    /**
+     * The {@link ValidationEntry#hasInternationalDomainName} field.
+     */
+    HasInternationalDomainName,
+
+    /**
+     * The {@link ValidationEntry#hasInternationalMailboxName} field.
+     */
+    HasInternationalMailboxName,
+
+    /**
+     * The {@link ValidationEntry#isDisposableEmailAddress} field.
+     */
+    IsDisposableEmailAddress,
+
+    /**
+     * The {@link ValidationEntry#isRoleAccount} field.
+     */
+    IsRoleAccount,
+
+    /**
+     * The {@link ValidationEntry#isFreeEmailAddress} field.
+     */
+    IsFreeEmailAddress,
+
+    /**
+     * The {@link ValidationEntry#syntaxFailureIndex} field.
+     */
+    SyntaxFailureIndex,
+
+    /**
+     * The {@link ValidationEntry#custom} field.
+     */
+    Custom,
+
+    /**
+     * The {@link ValidationEntry#duplicateOf} field.
+     */
+    DuplicateOf,
+
+    /**
+     * The {@link ValidationEntry#completedOn} field.
+     */
+    CompletedOn
+}
@@ -32,13 +32,18 @@
 package com.verifalia.api.emailvalidations.models;
 
 import com.verifalia.api.common.ListingOptions;
+import com.verifalia.api.common.filters.BooleanFilterPredicate;
 import com.verifalia.api.common.filters.SetFilterPredicate;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Provides options for a listing of validation entries.
  */
@@ -52,4 +57,86 @@ public class ValidationEntryListingOptions extends ListingOptions {
      * A predicate which allows to filter the validation entries by their statuses.
      */
     private SetFilterPredicate<ValidationEntryStatus> statuses;
+
+    /**
+     * A predicate which allows to filter the validation entries by their classifications.
+     */
+    private SetFilterPredicate<ValidationEntryClassification> classifications;
+
+    /**
+     * A predicate which allows to filter the validation entries by their {@link ValidationEntry#isDisposableEmailAddress} flag.
+     */
+    private BooleanFilterPredicate isDisposableEmailAddress;
+
+    /**
+     * A predicate which allows to filter the validation entries by their {@link ValidationEntry#isRoleAccount} flag.
+     */
+    private BooleanFilterPredicate isRoleAccount;
+
+    /**
+     * A predicate which allows to filter the validation entries by their {@link ValidationEntry#isFreeEmailAddress} flag.
+     */
+    private BooleanFilterPredicate isFreeEmailAddress;
+
+    /**
+     * The fields to retrieve for each validation entry, or <tt>null</tt> to retrieve all of them. The fields needed to
+     * evaluate the predicates of these options are always retrieved.
+     */
+    private Set<ValidationEntryField> fields;
+
+    /**
+     * Returns the fields to retrieve for each validation entry, including the ones needed to evaluate the predicates of
+     * these options, or <tt>null</tt> if all the fields must be retrieved.
+     */
+    public Set<ValidationEntryField> resolveFields() {
+        if (fields == null) {
+            return null;
+        }
+
+        EnumSet<ValidationEntryField> resolved = EnumSet.noneOf(ValidationEntryField.class);
+        resolved.addAll(fields);
+
+        if (statuses != null) {
+            resolved.add(ValidationEntryField.Status);
+        }
+        if (classifications != null) {
+            resolved.add(ValidationEntryField.Classification);
+        }
+        if (isDisposableEmailAddress != null) {
+            resolved.add(ValidationEntryField.IsDisposableEmailAddress);
+        }
+        if (isRoleAccount != null) {
+            resolved.add(ValidationEntryField.IsRoleAccount);
+        }
+        if (isFreeEmailAddress != null) {
+            resolved.add(ValidationEntryField.IsFreeEmailAddress);
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Evaluates the predicates of these options against the specified entry; this allows to enforce, on the client side,
+     * the predicates the Verifalia API does not apply.
+     * @param entry The {@link ValidationEntry} to evaluate.
+     * @return <tt>true</tt> if the entry satisfies all the predicates, <tt>false</tt> otherwise.
+     */
+    public boolean matches(@NonNull final ValidationEntry entry) {
+        return (statuses == null || statuses.test(entry.getStatus()))
+                && (classifications == null || classifications.test(entry.getClassification()))
+                && (isDisposableEmailAddress == null || isDisposableEmailAddress.test(entry.getIsDisposableEmailAddress()))
+                && (isRoleAccount == null || isRoleAccount.test(entry.getIsRoleAccount()))
+                && (isFreeEmailAddress == null || isFreeEmailAddress.test(entry.getIsFreeEmailAddress()));
+    }
+
+    /**
+     * Returns <tt>true</tt> if these options define at least one predicate.
+     */
+    public boolean hasPredicates() {
+        return statuses != null
+                || classifications != null
+                || isDisposableEmailAddress != null
+                || isRoleAccount != null
+                || isFreeEmailAddress != null;
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * The durable record of an email validation job tracked by a
+ * {@link com.verifalia.api.emailvalidations.ValidationJobManager}, as saved to its
+ * {@link com.verifalia.api.emailvalidations.jobs.ValidationJobStore}.
+ */
+@Getter
+@Setter
+@ToString(exclude = "serializedRequest")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationJob {
+    /**
+     * The local key of the job, assigned when the request is enqueued and stable across restarts; completion handlers
+     * may use it to recognize a completion dispatched more than once.
+     */
+    private String key;
+
+    /**
+     * The current state of the job.
+     */
+    private ValidationJobState state;
+
+    /**
+     * The JSON representation of the validation request, kept until the request is accepted by Verifalia.
+     */
+    private String serializedRequest;
+
+    /**
+     * The {@link ValidationOverview#getId()} of the job, once accepted by Verifalia.
+     */
+    private String validationId;
+
+    /**
+     * The number of times the submission of the request has been attempted.
+     */
+    private int submissionAttempts;
+
+    /**
+     * A description of the last error occurred while processing the job, if any.
+     */
+    private String lastError;
+
+    /**
+     * The date and time the job has been enqueued.
+     */
+    private Date createdOn;
+
+    /**
+     * The date and time the record has last been updated.
+     */
+    private Date updatedOn;
+}
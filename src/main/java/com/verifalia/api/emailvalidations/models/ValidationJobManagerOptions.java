@@ -0,0 +1,93 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import com.verifalia.api.emailvalidations.WaitingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Provides options for a {@link com.verifalia.api.emailvalidations.ValidationJobManager}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationJobManagerOptions {
+    /**
+     * The number of worker threads which submit, poll and dispatch the jobs, that is the maximum number of concurrent
+     * calls to Verifalia and to the completion handler.
+     */
+    @Builder.Default
+    private int concurrency = 4;
+
+    /**
+     * The maximum number of jobs which can be submitted to Verifalia and not yet completed at the same time; further
+     * requests stay pending in the store until a slot frees up.
+     */
+    @Builder.Default
+    private int maxInFlightJobs = 16;
+
+    /**
+     * The maximum number of attempts to submit a request before it is considered failed.
+     */
+    @Builder.Default
+    private int maxSubmissionAttempts = 5;
+
+    /**
+     * The delay before retrying a failed submission, poll or dispatch; submissions back off exponentially from it.
+     */
+    @Builder.Default
+    private Duration retryDelay = Duration.ofSeconds(5);
+
+    /**
+     * The {@link WaitingStrategy} which determines the polling delay of the jobs and eventually receives their
+     * progress updates.
+     */
+    @Builder.Default
+    private WaitingStrategy waitingStrategy = new WaitingStrategy(true);
+
+    /**
+     * The interval between the refreshes of all the submitted jobs through a single
+     * {@link com.verifalia.api.emailvalidations.ValidationOverviewWatcher}, or <tt>null</tt> to poll each job on its
+     * own according to the {@link #waitingStrategy}. Batch polling is preferable with many concurrent jobs.
+     */
+    private Duration batchPollingInterval;
+}
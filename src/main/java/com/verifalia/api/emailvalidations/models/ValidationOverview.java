@@ -31,6 +31,7 @@
 
 package com.verifalia.api.emailvalidations.models;
 
+import com.verifalia.api.common.serialization.DateTimeDeserializer;
 import com.verifalia.api.common.serialization.DurationDeserializer;
 import com.verifalia.api.emailvalidations.serialization.QualityLevelNameDeserializer;
 import com.verifalia.api.emailvalidations.serialization.ValidationPriorityDeserializer;
@@ -120,15 +121,18 @@ public class ValidationOverview {
     /**
      * The date and time this validation job has been submitted to Verifalia.
      */
+    @JsonDeserialize(using = DateTimeDeserializer.class)
     private Date submittedOn;
 
     /**
      * The date and time the validation job was created.
      */
+    @JsonDeserialize(using = DateTimeDeserializer.class)
     private Date createdOn;
 
     /**
      * The date and time this validation job has been eventually completed.
      */
+    @JsonDeserialize(using = DateTimeDeserializer.class)
     private Date completedOn;
 }
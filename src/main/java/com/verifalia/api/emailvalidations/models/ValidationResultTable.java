@@ -0,0 +1,621 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.models;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A compact, column-oriented representation of the {@link ValidationEntry} items of an email validation job.
+ * <p>Instead of keeping one object (and its boxed fields) per entry, the table stores every field in its own column:
+ * primitive arrays for the numeric fields, a single bit set for the boolean flags, byte ordinals for the
+ * {@link ValidationEntryStatus} and {@link ValidationEntryClassification} values, epoch milliseconds for the completion
+ * dates and a dictionary for the (highly repetitive) domain parts. This allows to keep the results of jobs with millions
+ * of entries in memory at a fraction of the heap needed by a {@code List<ValidationEntry>}.</p>
+ * <p>Rows are exposed through lightweight, read-only {@link ValidationEntry} views (see {@link #get(int)}), which read
+ * their values straight from the underlying columns; primitive accessors such as {@link #statusAt(int)} are also
+ * available to scan the table without allocating any object.</p>
+ * <p>This class is not thread-safe: once populated, however, a table can be safely read by multiple threads.</p>
+ */
+public class ValidationResultTable implements Iterable<ValidationEntry> {
+    /**
+     * The value returned by the primitive integer accessors in the event the underlying field is <tt>null</tt>.
+     */
+    public static final int NULL_INT = -1;
+
+    /**
+     * The value returned by {@link #completedOnAt(int)} in the event the underlying field is <tt>null</tt>.
+     */
+    public static final long NULL_DATE = Long.MIN_VALUE;
+
+    private static final byte NULL_ORDINAL = -1;
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final ValidationEntryStatus[] STATUSES = ValidationEntryStatus.values();
+    private static final ValidationEntryClassification[] CLASSIFICATIONS = ValidationEntryClassification.values();
+
+    // Boolean flags are stored with two bits each (presence and value), so that null values can be told apart
+
+    private static final int FLAG_HAS_INTERNATIONAL_DOMAIN_NAME = 0;
+    private static final int FLAG_HAS_INTERNATIONAL_MAILBOX_NAME = 1;
+    private static final int FLAG_IS_DISPOSABLE_EMAIL_ADDRESS = 2;
+    private static final int FLAG_IS_ROLE_ACCOUNT = 3;
+    private static final int FLAG_IS_FREE_EMAIL_ADDRESS = 4;
+    private static final int FLAGS_PER_ROW = 5;
+    private static final int BITS_PER_ROW = FLAGS_PER_ROW * 2;
+
+    /**
+     * Marker stored in place of a local part which can be derived from its email address, to avoid retaining a copy of it.
+     */
+    private static final String DERIVED_LOCAL_PART = new String("<derived>");
+
+    private int size;
+
+    private int[] indexes;
+    private int[] duplicateOfs;
+    private int[] syntaxFailureIndexes;
+    private byte[] statuses;
+    private byte[] classifications;
+    private long[] completedOns;
+    private final BitSet flags = new BitSet();
+
+    private String[] inputData;
+    private String[] emailAddresses;
+    private String[] emailAddressLocalParts;
+    private String[] customs;
+
+    private int[] emailAddressDomainPartIds;
+    private int[] asciiEmailAddressDomainPartIds;
+    private String[] domainDictionary = new String[DEFAULT_CAPACITY];
+    private int domainDictionarySize;
+    private final Map<String, Integer> domainDictionaryLookup = new HashMap<>();
+
+    /**
+     * Initializes an empty {@link ValidationResultTable}.
+     */
+    public ValidationResultTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty {@link ValidationResultTable}, able to hold the specified number of rows before growing.
+     * @param initialCapacity The initial number of rows the table can hold; useful whenever the number of entries of
+     *                        the job is known in advance (see {@link ValidationOverview#getNoOfEntries()}).
+     */
+    public ValidationResultTable(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must be 0 or greater.");
+        }
+
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Builds a {@link ValidationResultTable} out of the specified entries. Since entries are copied one at a time,
+     * passing the lazy iterable returned by
+     * {@link com.verifalia.api.emailvalidations.EmailValidationsRestClient#listEntries(String)} never materializes the
+     * whole job results as objects.
+     * @param entries The entries to copy into the table.
+     * @return A new {@link ValidationResultTable} containing the specified entries.
+     */
+    public static ValidationResultTable from(@NonNull final Iterable<ValidationEntry> entries) {
+        ValidationResultTable table = new ValidationResultTable();
+
+        for (ValidationEntry entry : entries) {
+            table.add(entry);
+        }
+
+        table.trimToSize();
+        return table;
+    }
+
+    /**
+     * Appends a copy of the specified entry at the end of the table.
+     * @param entry The {@link ValidationEntry} to copy.
+     */
+    public void add(@NonNull final ValidationEntry entry) {
+        ensureCapacity(size + 1);
+
+        int row = size++;
+
+        indexes[row] = toInt(entry.getIndex());
+        duplicateOfs[row] = toInt(entry.getDuplicateOf());
+        syntaxFailureIndexes[row] = toInt(entry.getSyntaxFailureIndex());
+        statuses[row] = entry.getStatus() == null ? NULL_ORDINAL : (byte) entry.getStatus().ordinal();
+        classifications[row] = entry.getClassification() == null ? NULL_ORDINAL : (byte) entry.getClassification().ordinal();
+        completedOns[row] = entry.getCompletedOn() == null ? NULL_DATE : entry.getCompletedOn().getTime();
+
+        setFlag(row, FLAG_HAS_INTERNATIONAL_DOMAIN_NAME, entry.getHasInternationalDomainName());
+        setFlag(row, FLAG_HAS_INTERNATIONAL_MAILBOX_NAME, entry.getHasInternationalMailboxName());
+        setFlag(row, FLAG_IS_DISPOSABLE_EMAIL_ADDRESS, entry.getIsDisposableEmailAddress());
+        setFlag(row, FLAG_IS_ROLE_ACCOUNT, entry.getIsRoleAccount());
+        setFlag(row, FLAG_IS_FREE_EMAIL_ADDRESS, entry.getIsFreeEmailAddress());
+
+        // The email address very often matches the input data: share the same instance in that case
+
+        String entryInputData = entry.getInputData();
+        String entryEmailAddress = entry.getEmailAddress();
+
+        inputData[row] = entryInputData;
+        emailAddresses[row] = entryEmailAddress != null && entryEmailAddress.equals(entryInputData)
+                ? entryInputData
+                : entryEmailAddress;
+
+        String localPart = entry.getEmailAddressLocalPart();
+        emailAddressLocalParts[row] = localPart != null && localPart.equals(deriveLocalPart(entryEmailAddress))
+                ? DERIVED_LOCAL_PART
+                : localPart;
+
+        customs[row] = entry.getCustom();
+        emailAddressDomainPartIds[row] = encodeDomain(entry.getEmailAddressDomainPart());
+        asciiEmailAddressDomainPartIds[row] = encodeDomain(entry.getAsciiEmailAddressDomainPart());
+    }
+
+    /**
+     * Returns the number of rows of the table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct domain parts stored in the dictionary of the table.
+     */
+    public int getDistinctDomainCount() {
+        return domainDictionarySize;
+    }
+
+    /**
+     * Returns a lightweight, read-only {@link ValidationEntry} view of the specified row. The view does not copy any
+     * value and reads them from the table on demand; its setters throw an {@link UnsupportedOperationException}.
+     * @param row The zero-based row of the table.
+     * @return A {@link ValidationEntry} view of the row.
+     */
+    public ValidationEntry get(final int row) {
+        checkRow(row);
+        return new Row(row);
+    }
+
+    /**
+     * Returns an iterator over lightweight, read-only {@link ValidationEntry} views of the rows of the table.
+     */
+    @Override
+    public Iterator<ValidationEntry> iterator() {
+        return new Iterator<ValidationEntry>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public ValidationEntry next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                return new Row(next++);
+            }
+        };
+    }
+
+    /**
+     * Releases the spare capacity of the underlying columns.
+     */
+    public void trimToSize() {
+        if (indexes.length != size) {
+            resize(size);
+        }
+
+        domainDictionary = Arrays.copyOf(domainDictionary, domainDictionarySize);
+    }
+
+    // region Primitive accessors
+
+    /**
+     * Returns the {@link ValidationEntry#getIndex() index} of the specified row, or {@link #NULL_INT} if not available.
+     */
+    public int indexAt(final int row) {
+        checkRow(row);
+        return indexes[row];
+    }
+
+    /**
+     * Returns the {@link ValidationEntry#getDuplicateOf() duplicateOf} value of the specified row, or {@link #NULL_INT}
+     * if not available.
+     */
+    public int duplicateOfAt(final int row) {
+        checkRow(row);
+        return duplicateOfs[row];
+    }
+
+    /**
+     * Returns the {@link ValidationEntry#getSyntaxFailureIndex() syntaxFailureIndex} value of the specified row, or
+     * {@link #NULL_INT} if not available.
+     */
+    public int syntaxFailureIndexAt(final int row) {
+        checkRow(row);
+        return syntaxFailureIndexes[row];
+    }
+
+    /**
+     * Returns the {@link ValidationEntryStatus} of the specified row, or <tt>null</tt> if not available.
+     */
+    public ValidationEntryStatus statusAt(final int row) {
+        checkRow(row);
+        return statuses[row] == NULL_ORDINAL ? null : STATUSES[statuses[row]];
+    }
+
+    /**
+     * Returns the {@link ValidationEntryClassification} of the specified row, or <tt>null</tt> if not available.
+     */
+    public ValidationEntryClassification classificationAt(final int row) {
+        checkRow(row);
+        return classifications[row] == NULL_ORDINAL ? null : CLASSIFICATIONS[classifications[row]];
+    }
+
+    /**
+     * Returns the completion date of the specified row, expressed in milliseconds since the epoch, or {@link #NULL_DATE}
+     * if not available.
+     */
+    public long completedOnAt(final int row) {
+        checkRow(row);
+        return completedOns[row];
+    }
+
+    /**
+     * Returns <tt>true</tt> if the email address of the specified row comes from a disposable email address (DEA)
+     * provider; <tt>null</tt> values are reported as <tt>false</tt>.
+     */
+    public boolean isDisposableEmailAddressAt(final int row) {
+        checkRow(row);
+        return Boolean.TRUE.equals(getFlag(row, FLAG_IS_DISPOSABLE_EMAIL_ADDRESS));
+    }
+
+    /**
+     * Returns <tt>true</tt> if the local part of the email address of the specified row is a well-known role account;
+     * <tt>null</tt> values are reported as <tt>false</tt>.
+     */
+    public boolean isRoleAccountAt(final int row) {
+        checkRow(row);
+        return Boolean.TRUE.equals(getFlag(row, FLAG_IS_ROLE_ACCOUNT));
+    }
+
+    /**
+     * Returns <tt>true</tt> if the email address of the specified row comes from a free email address provider;
+     * <tt>null</tt> values are reported as <tt>false</tt>.
+     */
+    public boolean isFreeEmailAddressAt(final int row) {
+        checkRow(row);
+        return Boolean.TRUE.equals(getFlag(row, FLAG_IS_FREE_EMAIL_ADDRESS));
+    }
+
+    // endregion
+
+    private void checkRow(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+        }
+    }
+
+    private void allocate(final int capacity) {
+        indexes = new int[capacity];
+        duplicateOfs = new int[capacity];
+        syntaxFailureIndexes = new int[capacity];
+        statuses = new byte[capacity];
+        classifications = new byte[capacity];
+        completedOns = new long[capacity];
+        inputData = new String[capacity];
+        emailAddresses = new String[capacity];
+        emailAddressLocalParts = new String[capacity];
+        customs = new String[capacity];
+        emailAddressDomainPartIds = new int[capacity];
+        asciiEmailAddressDomainPartIds = new int[capacity];
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > indexes.length) {
+            resize(Math.max(minCapacity, indexes.length + (indexes.length >> 1)));
+        }
+    }
+
+    private void resize(final int capacity) {
+        indexes = Arrays.copyOf(indexes, capacity);
+        duplicateOfs = Arrays.copyOf(duplicateOfs, capacity);
+        syntaxFailureIndexes = Arrays.copyOf(syntaxFailureIndexes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        classifications = Arrays.copyOf(classifications, capacity);
+        completedOns = Arrays.copyOf(completedOns, capacity);
+        inputData = Arrays.copyOf(inputData, capacity);
+        emailAddresses = Arrays.copyOf(emailAddresses, capacity);
+        emailAddressLocalParts = Arrays.copyOf(emailAddressLocalParts, capacity);
+        customs = Arrays.copyOf(customs, capacity);
+        emailAddressDomainPartIds = Arrays.copyOf(emailAddressDomainPartIds, capacity);
+        asciiEmailAddressDomainPartIds = Arrays.copyOf(asciiEmailAddressDomainPartIds, capacity);
+    }
+
+    private static int toInt(final Integer value) {
+        return value == null ? NULL_INT : value;
+    }
+
+    private static Integer toInteger(final int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static String deriveLocalPart(final String emailAddress) {
+        if (emailAddress == null) {
+            return null;
+        }
+
+        int atSignIndex = emailAddress.lastIndexOf('@');
+        return atSignIndex < 0 ? null : emailAddress.substring(0, atSignIndex);
+    }
+
+    private void setFlag(final int row, final int flag, final Boolean value) {
+        int bit = row * BITS_PER_ROW + flag * 2;
+
+        flags.set(bit, value != null);
+        flags.set(bit + 1, value != null && value);
+    }
+
+    private Boolean getFlag(final int row, final int flag) {
+        int bit = row * BITS_PER_ROW + flag * 2;
+
+        if (!flags.get(bit)) {
+            return null;
+        }
+
+        return flags.get(bit + 1);
+    }
+
+    private int encodeDomain(final String domain) {
+        if (domain == null) {
+            return NULL_INT;
+        }
+
+        Integer id = domainDictionaryLookup.get(domain);
+
+        if (id == null) {
+            if (domainDictionarySize == domainDictionary.length) {
+                domainDictionary = Arrays.copyOf(domainDictionary, Math.max(DEFAULT_CAPACITY, domainDictionarySize * 2));
+            }
+
+            id = domainDictionarySize;
+            domainDictionary[domainDictionarySize++] = domain;
+            domainDictionaryLookup.put(domain, id);
+        }
+
+        return id;
+    }
+
+    private String decodeDomain(final int id) {
+        return id == NULL_INT ? null : domainDictionary[id];
+    }
+
+    /**
+     * A flyweight, read-only view of a single row of the table.
+     */
+    private final class Row extends ValidationEntry {
+        private final int row;
+
+        Row(final int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Integer getIndex() {
+            return toInteger(indexes[row]);
+        }
+
+        @Override
+        public String getInputData() {
+            return inputData[row];
+        }
+
+        @Override
+        public ValidationEntryClassification getClassification() {
+            return classificationAt(row);
+        }
+
+        @Override
+        public ValidationEntryStatus getStatus() {
+            return statusAt(row);
+        }
+
+        @Override
+        public String getEmailAddress() {
+            return emailAddresses[row];
+        }
+
+        @Override
+        public String getEmailAddressLocalPart() {
+            String localPart = emailAddressLocalParts[row];
+            return localPart == DERIVED_LOCAL_PART ? deriveLocalPart(emailAddresses[row]) : localPart;
+        }
+
+        @Override
+        public String getEmailAddressDomainPart() {
+            return decodeDomain(emailAddressDomainPartIds[row]);
+        }
+
+        @Override
+        public String getAsciiEmailAddressDomainPart() {
+            return decodeDomain(asciiEmailAddressDomainPartIds[row]);
+        }
+
+        @Override
+        public Boolean getHasInternationalDomainName() {
+            return getFlag(row, FLAG_HAS_INTERNATIONAL_DOMAIN_NAME);
+        }
+
+        @Override
+        public Boolean getHasInternationalMailboxName() {
+            return getFlag(row, FLAG_HAS_INTERNATIONAL_MAILBOX_NAME);
+        }
+
+        @Override
+        public Boolean getIsDisposableEmailAddress() {
+            return getFlag(row, FLAG_IS_DISPOSABLE_EMAIL_ADDRESS);
+        }
+
+        @Override
+        public Boolean getIsRoleAccount() {
+            return getFlag(row, FLAG_IS_ROLE_ACCOUNT);
+        }
+
+        @Override
+        public Boolean getIsFreeEmailAddress() {
+            return getFlag(row, FLAG_IS_FREE_EMAIL_ADDRESS);
+        }
+
+        @Override
+        public Integer getSyntaxFailureIndex() {
+            return toInteger(syntaxFailureIndexes[row]);
+        }
+
+        @Override
+        public String getCustom() {
+            return customs[row];
+        }
+
+        @Override
+        public Integer getDuplicateOf() {
+            return toInteger(duplicateOfs[row]);
+        }
+
+        @Override
+        public Date getCompletedOn() {
+            long completedOn = completedOns[row];
+            return completedOn == NULL_DATE ? null : new Date(completedOn);
+        }
+
+        // region Setters (unsupported, since views are read-only)
+
+        @Override
+        public void setIndex(Integer index) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setInputData(String inputData) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setClassification(ValidationEntryClassification classification) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setStatus(ValidationEntryStatus status) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmailAddress(String emailAddress) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmailAddressLocalPart(String emailAddressLocalPart) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEmailAddressDomainPart(String emailAddressDomainPart) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setAsciiEmailAddressDomainPart(String asciiEmailAddressDomainPart) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setHasInternationalDomainName(Boolean hasInternationalDomainName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setHasInternationalMailboxName(Boolean hasInternationalMailboxName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setIsDisposableEmailAddress(Boolean isDisposableEmailAddress) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setIsRoleAccount(Boolean isRoleAccount) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setIsFreeEmailAddress(Boolean isFreeEmailAddress) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setSyntaxFailureIndex(Integer syntaxFailureIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCustom(String custom) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setDuplicateOf(Integer duplicateOf) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCompletedOn(Date completedOn) {
+            throw readOnly();
+        }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Views of a ValidationResultTable are read-only.");
+        }
+
+        // endregion
+    }
+}
@@ -31,23 +31,33 @@
 
 package com.verifalia.api.emailvalidations.serialization;
 
+import com.verifalia.api.common.serialization.TokenLookupTable;
 import com.verifalia.api.emailvalidations.models.QualityLevelName;
-import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.JsonParser;
 import org.codehaus.jackson.JsonProcessingException;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.JsonDeserializer;
-import org.codehaus.jackson.map.JsonSerializer;
-import org.codehaus.jackson.map.SerializerProvider;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A Json deserializer for quality levels returned by the Verifalia API.
  */
 public class QualityLevelNameDeserializer extends JsonDeserializer<QualityLevelName> {
+    private static final TokenLookupTable<QualityLevelName> LOOKUP_TABLE = new TokenLookupTable<>(wellKnownQualityLevels());
+
     @Override
     public QualityLevelName deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        // Well-known quality levels are mapped to their shared instances, without allocating anything
+
+        QualityLevelName wellKnown = LOOKUP_TABLE.find(jp);
+
+        if (wellKnown != null) {
+            return wellKnown;
+        }
+
         String qualityLevelNameString = jp.getText();
 
         if (qualityLevelNameString == null) {
@@ -56,4 +66,14 @@ public class QualityLevelNameDeserializer extends JsonDeserializer<QualityLevelN
 
         return new QualityLevelName(qualityLevelNameString);
     }
+
+    private static Map<String, QualityLevelName> wellKnownQualityLevels() {
+        Map<String, QualityLevelName> qualityLevels = new LinkedHashMap<>();
+
+        qualityLevels.put(QualityLevelName.Standard.toString(), QualityLevelName.Standard);
+        qualityLevels.put(QualityLevelName.High.toString(), QualityLevelName.High);
+        qualityLevels.put(QualityLevelName.Extreme.toString(), QualityLevelName.Extreme);
+
+        return qualityLevels;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.serialization;
+
+import com.verifalia.api.common.serialization.TokenLookupTable;
+import com.verifalia.api.emailvalidations.models.ValidationEntryClassification;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * A Json deserializer for validation entry classifications returned by the Verifalia API, with special handling for
+ * unknown or unsupported values.
+ */
+public class ValidationEntryClassificationDeserializer extends JsonDeserializer<ValidationEntryClassification> {
+    private static final TokenLookupTable<ValidationEntryClassification> LOOKUP_TABLE = TokenLookupTable.forEnum(ValidationEntryClassification.class);
+
+    @Override
+    public ValidationEntryClassification deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        return parse(jp);
+    }
+
+    /**
+     * Parses the current token of the specified {@link JsonParser} into a {@link ValidationEntryClassification},
+     * without allocating any intermediate string; unknown values are mapped to {@link ValidationEntryClassification#Unknown}.
+     */
+    public static ValidationEntryClassification parse(JsonParser jp) throws IOException {
+        ValidationEntryClassification classification = LOOKUP_TABLE.find(jp);
+        return classification == null ? ValidationEntryClassification.Unknown : classification;
+    }
+}
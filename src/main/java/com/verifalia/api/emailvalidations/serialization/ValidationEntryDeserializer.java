@@ -0,0 +1,167 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.serialization;
+
+import com.verifalia.api.common.serialization.DateTimeDeserializer;
+import com.verifalia.api.common.serialization.TokenLookupTable;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import lombok.NonNull;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.Version;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+import org.codehaus.jackson.map.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A streaming Json deserializer for validation entries which only builds the requested {@link ValidationEntryField}s:
+ * the values of the other fields are skipped by the parser, without being materialized.
+ */
+public class ValidationEntryDeserializer extends JsonDeserializer<ValidationEntry> {
+    private static final TokenLookupTable<ValidationEntryField> FIELD_LOOKUP_TABLE = TokenLookupTable.forEnum(ValidationEntryField.class);
+    private static final DateTimeDeserializer DATE_TIME_DESERIALIZER = new DateTimeDeserializer();
+
+    private final boolean[] requested = new boolean[ValidationEntryField.values().length];
+
+    public ValidationEntryDeserializer(@NonNull final Set<ValidationEntryField> fields) {
+        for (ValidationEntryField field : fields) {
+            requested[field.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Builds a Jackson module which projects the deserialized validation entries onto the specified fields.
+     * @param fields The fields to deserialize, or <tt>null</tt> to deserialize all of them.
+     * @return The module to register, or <tt>null</tt> if no projection is needed.
+     */
+    public static SimpleModule buildModule(final Set<ValidationEntryField> fields) {
+        if (fields == null || fields.containsAll(EnumSet.allOf(ValidationEntryField.class))) {
+            return null;
+        }
+
+        SimpleModule module = new SimpleModule("ValidationEntryProjection", Version.unknownVersion());
+        module.addDeserializer(ValidationEntry.class, new ValidationEntryDeserializer(fields));
+        return module;
+    }
+
+    @Override
+    public ValidationEntry deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(ValidationEntry.class);
+        }
+
+        ValidationEntry entry = new ValidationEntry();
+
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            ValidationEntryField field = FIELD_LOOKUP_TABLE.find(jp);
+            JsonToken valueToken = jp.nextToken();
+
+            if (field == null || !requested[field.ordinal()]) {
+                jp.skipChildren();
+                continue;
+            }
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case Index:
+                    entry.setIndex(jp.getIntValue());
+                    break;
+                case InputData:
+                    entry.setInputData(jp.getText());
+                    break;
+                case Classification:
+                    entry.setClassification(ValidationEntryClassificationDeserializer.parse(jp));
+                    break;
+                case Status:
+                    entry.setStatus(ValidationEntryStatusDeserializer.parse(jp));
+                    break;
+                case EmailAddress:
+                    entry.setEmailAddress(jp.getText());
+                    break;
+                case EmailAddressLocalPart:
+                    entry.setEmailAddressLocalPart(jp.getText());
+                    break;
+                case EmailAddressDomainPart:
+                    entry.setEmailAddressDomainPart(jp.getText());
+                    break;
+                case AsciiEmailAddressDomainPart:
+                    entry.setAsciiEmailAddressDomainPart(jp.getText());
+                    break;
+                case HasInternationalDomainName:
+                    entry.setHasInternationalDomainName(jp.getBooleanValue());
+                    break;
+                case HasInternationalMailboxName:
+                    entry.setHasInternationalMailboxName(jp.getBooleanValue());
+                    break;
+                case IsDisposableEmailAddress:
+                    entry.setIsDisposableEmailAddress(jp.getBooleanValue());
+                    break;
+                case IsRoleAccount:
+                    entry.setIsRoleAccount(jp.getBooleanValue());
+                    break;
+                case IsFreeEmailAddress:
+                    entry.setIsFreeEmailAddress(jp.getBooleanValue());
+                    break;
+                case SyntaxFailureIndex:
+                    entry.setSyntaxFailureIndex(jp.getIntValue());
+                    break;
+                case Custom:
+                    entry.setCustom(jp.getText());
+                    break;
+                case DuplicateOf:
+                    entry.setDuplicateOf(jp.getIntValue());
+                    break;
+                case CompletedOn:
+                    entry.setCompletedOn(DATE_TIME_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return entry;
+    }
+}
@@ -31,9 +31,9 @@
 
 package com.verifalia.api.emailvalidations.serialization;
 
+import com.verifalia.api.common.serialization.TokenLookupTable;
 import com.verifalia.api.emailvalidations.models.ValidationEntryStatus;
 import org.codehaus.jackson.JsonParser;
-import org.codehaus.jackson.JsonProcessingException;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.JsonDeserializer;
 
@@ -44,18 +44,19 @@ import java.io.IOException;
  * or unsupported values.
  */
 public class ValidationEntryStatusDeserializer extends JsonDeserializer<ValidationEntryStatus> {
+    private static final TokenLookupTable<ValidationEntryStatus> LOOKUP_TABLE = TokenLookupTable.forEnum(ValidationEntryStatus.class);
+
     @Override
     public ValidationEntryStatus deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
-        String validationEntryStatusString = jp.getText();
-
-        if (validationEntryStatusString != null) {
-            for (ValidationEntryStatus candidate : ValidationEntryStatus.values()) {
-                if (candidate.name().equalsIgnoreCase(validationEntryStatusString)) {
-                    return candidate;
-                }
-            }
-        }
+        return parse(jp);
+    }
 
-        return ValidationEntryStatus.Unknown;
+    /**
+     * Parses the current token of the specified {@link JsonParser} into a {@link ValidationEntryStatus}, without
+     * allocating any intermediate string; unknown values are mapped to {@link ValidationEntryStatus#Unknown}.
+     */
+    public static ValidationEntryStatus parse(JsonParser jp) throws IOException {
+        ValidationEntryStatus status = LOOKUP_TABLE.find(jp);
+        return status == null ? ValidationEntryStatus.Unknown : status;
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.serialization;
+
+import com.verifalia.api.common.serialization.DateTimeDeserializer;
+import com.verifalia.api.common.serialization.DurationDeserializer;
+import com.verifalia.api.common.serialization.TokenLookupTable;
+import com.verifalia.api.emailvalidations.models.DeduplicationMode;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import com.verifalia.api.emailvalidations.models.ValidationProgress;
+import com.verifalia.api.emailvalidations.models.ValidationStatus;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * A streaming Json deserializer for the overviews of the email validations, which dispatches on the field names
+ * without relying on bean introspection.
+ */
+public class ValidationOverviewDeserializer extends JsonDeserializer<ValidationOverview> {
+    private static final TokenLookupTable<ValidationStatus> STATUS_LOOKUP_TABLE = TokenLookupTable.forEnum(ValidationStatus.class);
+    private static final TokenLookupTable<DeduplicationMode> DEDUPLICATION_LOOKUP_TABLE = TokenLookupTable.forEnum(DeduplicationMode.class);
+    private static final DateTimeDeserializer DATE_TIME_DESERIALIZER = new DateTimeDeserializer();
+    private static final DurationDeserializer DURATION_DESERIALIZER = new DurationDeserializer();
+    private static final QualityLevelNameDeserializer QUALITY_DESERIALIZER = new QualityLevelNameDeserializer();
+    private static final ValidationPriorityDeserializer PRIORITY_DESERIALIZER = new ValidationPriorityDeserializer();
+
+    @Override
+    public ValidationOverview deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            throw ctxt.mappingException(ValidationOverview.class);
+        }
+
+        ValidationOverview overview = new ValidationOverview();
+
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String fieldName = jp.getCurrentName();
+            JsonToken valueToken = jp.nextToken();
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "id":
+                    overview.setId(jp.getText());
+                    break;
+                case "status":
+                    overview.setStatus(parseEnum(jp, ctxt, STATUS_LOOKUP_TABLE, ValidationStatus.class));
+                    break;
+                case "name":
+                    overview.setName(jp.getText());
+                    break;
+                case "owner":
+                    overview.setOwner(jp.getText());
+                    break;
+                case "clientIP":
+                    overview.setClientIP(jp.getText());
+                    break;
+                case "priority":
+                    overview.setPriority(PRIORITY_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                case "quality":
+                    overview.setQuality(QUALITY_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                case "deduplication":
+                    overview.setDeduplication(parseEnum(jp, ctxt, DEDUPLICATION_LOOKUP_TABLE, DeduplicationMode.class));
+                    break;
+                case "noOfEntries":
+                    overview.setNoOfEntries(jp.getIntValue());
+                    break;
+                case "progress":
+                    overview.setProgress(deserializeProgress(jp, ctxt));
+                    break;
+                case "retention":
+                    overview.setRetention(DURATION_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                case "submittedOn":
+                    overview.setSubmittedOn(DATE_TIME_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                case "createdOn":
+                    overview.setCreatedOn(DATE_TIME_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                case "completedOn":
+                    overview.setCompletedOn(DATE_TIME_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return overview;
+    }
+
+    private static ValidationProgress deserializeProgress(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw ctxt.mappingException(ValidationProgress.class);
+        }
+
+        ValidationProgress progress = new ValidationProgress();
+
+        for (JsonToken token = jp.nextToken(); token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            String fieldName = jp.getCurrentName();
+            JsonToken valueToken = jp.nextToken();
+
+            if (valueToken == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (fieldName) {
+                case "percentage":
+                    progress.setPercentage(jp.getDoubleValue());
+                    break;
+                case "estimatedTimeRemaining":
+                    progress.setEstimatedTimeRemaining(DURATION_DESERIALIZER.deserialize(jp, ctxt));
+                    break;
+                default:
+                    jp.skipChildren();
+                    break;
+            }
+        }
+
+        return progress;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(final JsonParser jp, final DeserializationContext ctxt,
+                                                   final TokenLookupTable<E> lookupTable, final Class<E> enumClass) throws IOException {
+        E value = lookupTable.find(jp);
+
+        if (value == null) {
+            throw ctxt.weirdStringException(enumClass, "Value not one of declared Enum instance names");
+        }
+
+        return value;
+    }
+}
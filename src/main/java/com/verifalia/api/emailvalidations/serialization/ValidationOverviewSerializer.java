@@ -0,0 +1,124 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.serialization;
+
+import com.verifalia.api.common.serialization.DurationSerializer;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import com.verifalia.api.emailvalidations.models.ValidationProgress;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.JsonSerializer;
+import org.codehaus.jackson.map.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A streaming Json serializer for the overviews of the email validations, which writes them in the same format
+ * returned by the Verifalia API (omitting the <tt>null</tt> values), so that they can be read back by the
+ * {@link ValidationOverviewDeserializer}.
+ */
+public class ValidationOverviewSerializer extends JsonSerializer<ValidationOverview> {
+    private static final QualityLevelNameSerializer QUALITY_SERIALIZER = new QualityLevelNameSerializer();
+    private static final DurationSerializer DURATION_SERIALIZER = new DurationSerializer();
+
+    @Override
+    public void serialize(ValidationOverview value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartObject();
+
+        if (value.getId() != null) {
+            jgen.writeStringField("id", value.getId());
+        }
+        if (value.getStatus() != null) {
+            jgen.writeStringField("status", value.getStatus().name());
+        }
+        if (value.getName() != null) {
+            jgen.writeStringField("name", value.getName());
+        }
+        if (value.getOwner() != null) {
+            jgen.writeStringField("owner", value.getOwner());
+        }
+        if (value.getClientIP() != null) {
+            jgen.writeStringField("clientIP", value.getClientIP());
+        }
+        if (value.getPriority() != null) {
+            // Priorities are unsigned bytes: Highest (255) would otherwise be written as -1
+
+            jgen.writeNumberField("priority", value.getPriority().getValue() & 0xFF);
+        }
+        if (value.getQuality() != null) {
+            jgen.writeFieldName("quality");
+            QUALITY_SERIALIZER.serialize(value.getQuality(), jgen, provider);
+        }
+        if (value.getDeduplication() != null) {
+            jgen.writeStringField("deduplication", value.getDeduplication().name());
+        }
+        if (value.getNoOfEntries() != null) {
+            jgen.writeNumberField("noOfEntries", value.getNoOfEntries());
+        }
+        if (value.getProgress() != null) {
+            serializeProgress(value.getProgress(), jgen, provider);
+        }
+        if (value.getRetention() != null) {
+            jgen.writeFieldName("retention");
+            DURATION_SERIALIZER.serialize(value.getRetention(), jgen, provider);
+        }
+
+        writeDateTimeField(jgen, "submittedOn", value.getSubmittedOn());
+        writeDateTimeField(jgen, "createdOn", value.getCreatedOn());
+        writeDateTimeField(jgen, "completedOn", value.getCompletedOn());
+
+        jgen.writeEndObject();
+    }
+
+    private static void serializeProgress(final ValidationProgress progress, final JsonGenerator jgen,
+                                          final SerializerProvider provider) throws IOException {
+        jgen.writeObjectFieldStart("progress");
+
+        if (progress.getPercentage() != null) {
+            jgen.writeNumberField("percentage", progress.getPercentage());
+        }
+        if (progress.getEstimatedTimeRemaining() != null) {
+            jgen.writeFieldName("estimatedTimeRemaining");
+            DURATION_SERIALIZER.serialize(progress.getEstimatedTimeRemaining(), jgen, provider);
+        }
+
+        jgen.writeEndObject();
+    }
+
+    private static void writeDateTimeField(final JsonGenerator jgen, final String fieldName, final Date value) throws IOException {
+        if (value != null) {
+            // ISO 8601, in UTC
+
+            jgen.writeStringField(fieldName, value.toInstant().toString());
+        }
+    }
+}
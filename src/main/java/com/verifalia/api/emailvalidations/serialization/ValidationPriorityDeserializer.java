@@ -31,9 +31,9 @@
 
 package com.verifalia.api.emailvalidations.serialization;
 
-import com.verifalia.api.emailvalidations.models.QualityLevelName;
 import com.verifalia.api.emailvalidations.models.ValidationPriority;
 import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
 import org.codehaus.jackson.JsonProcessingException;
 import org.codehaus.jackson.map.DeserializationContext;
 import org.codehaus.jackson.map.JsonDeserializer;
@@ -46,12 +46,52 @@ import java.io.IOException;
 public class ValidationPriorityDeserializer extends JsonDeserializer<ValidationPriority> {
     @Override
     public ValidationPriority deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
-        String value = jp.getText();
+        int value;
 
-        if (value == null) {
-            return null;
+        if (jp.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            value = jp.getIntValue();
+        } else {
+            value = parseUnsignedByte(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength());
         }
 
-        return new ValidationPriority(Byte.parseByte(value));
+        if (value < 0 || value > 255) {
+            throw ctxt.weirdStringException(ValidationPriority.class, "Priority values must range from 0 to 255.");
+        }
+
+        // Well-known priorities are mapped to their shared instances
+
+        if (value == (ValidationPriority.Lowest.getValue() & 0xFF)) {
+            return ValidationPriority.Lowest;
+        }
+        if (value == (ValidationPriority.Normal.getValue() & 0xFF)) {
+            return ValidationPriority.Normal;
+        }
+        if (value == (ValidationPriority.Highest.getValue() & 0xFF)) {
+            return ValidationPriority.Highest;
+        }
+
+        return new ValidationPriority((byte) value);
+    }
+
+    private static int parseUnsignedByte(final char[] buffer, final int offset, final int length) {
+        // Priorities are sent as (at most) three digits long strings: anything else is reported as out of range
+
+        if (length == 0 || length > 3) {
+            return -1;
+        }
+
+        int value = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            char digit = buffer[i];
+
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+
+            value = value * 10 + (digit - '0');
+        }
+
+        return value;
     }
 }
\ No newline at end of file
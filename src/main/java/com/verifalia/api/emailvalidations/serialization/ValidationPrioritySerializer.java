@@ -31,7 +31,6 @@
 
 package com.verifalia.api.emailvalidations.serialization;
 
-import com.verifalia.api.emailvalidations.models.QualityLevelName;
 import com.verifalia.api.emailvalidations.models.ValidationPriority;
 import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.map.JsonSerializer;
@@ -45,10 +44,12 @@ import java.io.IOException;
 public class ValidationPrioritySerializer extends JsonSerializer<ValidationPriority> {
     @Override
     public void serialize(ValidationPriority value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-        if (value == null || value == ValidationPriority.Normal) {
+        if (value == null || value.equals(ValidationPriority.Normal)) {
             jgen.writeNull();
         } else {
-            jgen.writeString(new Byte(value.getValue()).toString());
+            // Priorities are unsigned bytes: Highest (255) would otherwise be written as -1
+
+            jgen.writeString(Integer.toString(value.getValue() & 0xFF));
         }
     }
 }
\ No newline at end of file
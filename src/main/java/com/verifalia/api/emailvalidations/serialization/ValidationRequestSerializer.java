@@ -0,0 +1,118 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.emailvalidations.serialization;
+
+import com.verifalia.api.common.serialization.DurationSerializer;
+import com.verifalia.api.emailvalidations.models.CompletionCallback;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+import com.verifalia.api.emailvalidations.models.ValidationRequestEntry;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.JsonSerializer;
+import org.codehaus.jackson.map.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * A streaming Json serializer for email validation requests, which writes the same payload produced by Jackson for the
+ * annotated model (omitting the <tt>null</tt> values) without relying on bean introspection.
+ */
+public class ValidationRequestSerializer extends JsonSerializer<ValidationRequest> {
+    private static final QualityLevelNameSerializer QUALITY_SERIALIZER = new QualityLevelNameSerializer();
+    private static final ValidationPrioritySerializer PRIORITY_SERIALIZER = new ValidationPrioritySerializer();
+    private static final DurationSerializer DURATION_SERIALIZER = new DurationSerializer();
+
+    @Override
+    public void serialize(ValidationRequest value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartObject();
+
+        if (value.getName() != null) {
+            jgen.writeStringField("name", value.getName());
+        }
+        if (value.getQuality() != null) {
+            jgen.writeFieldName("quality");
+            QUALITY_SERIALIZER.serialize(value.getQuality(), jgen, provider);
+        }
+        if (value.getDeduplication() != null) {
+            jgen.writeStringField("deduplication", value.getDeduplication().name());
+        }
+        if (value.getPriority() != null) {
+            jgen.writeFieldName("priority");
+            PRIORITY_SERIALIZER.serialize(value.getPriority(), jgen, provider);
+        }
+        if (value.getRetention() != null) {
+            jgen.writeFieldName("retention");
+            DURATION_SERIALIZER.serialize(value.getRetention(), jgen, provider);
+        }
+        if (value.getCompletionCallback() != null) {
+            serializeCallback(value.getCompletionCallback(), jgen);
+        }
+        if (value.getEntries() != null) {
+            jgen.writeArrayFieldStart("entries");
+
+            for (ValidationRequestEntry entry : value.getEntries()) {
+                if (entry == null) {
+                    jgen.writeNull();
+                    continue;
+                }
+
+                jgen.writeStartObject();
+                jgen.writeStringField("inputData", entry.getInputData());
+
+                if (entry.getCustom() != null) {
+                    jgen.writeStringField("custom", entry.getCustom());
+                }
+
+                jgen.writeEndObject();
+            }
+
+            jgen.writeEndArray();
+        }
+
+        jgen.writeEndObject();
+    }
+
+    private static void serializeCallback(final CompletionCallback callback, final JsonGenerator jgen) throws IOException {
+        jgen.writeObjectFieldStart("callback");
+
+        if (callback.getUrl() != null) {
+            jgen.writeStringField("url", callback.getUrl());
+        }
+        if (callback.getVersion() != null) {
+            jgen.writeStringField("version", callback.getVersion());
+        }
+        if (callback.getSkipServerCertificateValidation() != null) {
+            jgen.writeBooleanField("skipServerCertificateValidation", callback.getSkipServerCertificateValidation());
+        }
+
+        jgen.writeEndObject();
+    }
+}
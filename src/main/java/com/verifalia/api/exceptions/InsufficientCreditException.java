@@ -45,4 +45,8 @@ public class InsufficientCreditException extends VerifaliaException {
    public InsufficientCreditException(RestResponse response) {
         super(response);
     }
+
+    public InsufficientCreditException(String errorMessage) {
+        super(errorMessage);
+    }
 }
\ No newline at end of file
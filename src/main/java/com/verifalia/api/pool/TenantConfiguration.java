@@ -0,0 +1,76 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.pool;
+
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * The configuration of a tenant served by a {@link VerifaliaClientPool}.
+ */
+@Getter
+@Setter
+@ToString(exclude = "authenticationProvider")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantConfiguration {
+    /**
+     * The {@link AuthenticationProvider} which authenticates the tenant to the Verifalia API, usually with the
+     * credentials of its own Verifalia user (sub-account). The provider is owned by the pool, which closes it along with
+     * the client of the tenant if it is {@link java.io.Closeable}.
+     */
+    private AuthenticationProvider authenticationProvider;
+
+    /**
+     * The maximum number of requests per second the tenant can send to the Verifalia API, or zero for no limit.
+     */
+    private double requestsPerSecond;
+
+    /**
+     * The maximum number of requests the tenant can send at once, when the rate limit is enforced.
+     */
+    @Builder.Default
+    private int burst = 1;
+
+    /**
+     * The tags which identify the tenant in the metrics reported to the {@link TenantMetricsListener} of the pool.
+     */
+    private Map<String, String> tags;
+}
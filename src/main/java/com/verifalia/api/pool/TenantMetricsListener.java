@@ -0,0 +1,66 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.pool;
+
+import com.verifalia.api.rest.RestRequest;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Receives the metrics of the requests sent to the Verifalia API on behalf of the tenants of a
+ * {@link VerifaliaClientPool}; implementations must be thread-safe.
+ */
+public interface TenantMetricsListener {
+    /**
+     * Invoked after a response has been received.
+     * @param tenantId The identifier of the tenant.
+     * @param tags The tags of the tenant, as specified by its {@link TenantConfiguration}.
+     * @param request The sent request.
+     * @param baseURI The base URI the request has been sent to.
+     * @param statusCode The HTTP status code of the response.
+     * @param elapsedNanos The time elapsed while waiting for the response, in nanoseconds.
+     */
+    void onResponse(String tenantId, Map<String, String> tags, RestRequest request, URI baseURI, int statusCode, long elapsedNanos);
+
+    /**
+     * Invoked after a request failed because of an I/O error.
+     * @param tenantId The identifier of the tenant.
+     * @param tags The tags of the tenant, as specified by its {@link TenantConfiguration}.
+     * @param request The request which failed.
+     * @param baseURI The base URI the request has been sent to.
+     * @param exception The error.
+     * @param elapsedNanos The time elapsed before the failure, in nanoseconds.
+     */
+    default void onFailure(String tenantId, Map<String, String> tags, RestRequest request, URI baseURI, Exception exception, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A token bucket rate limiter: permits are refilled at a constant rate, up to a maximum burst size.
+ */
+public class TokenBucketRateLimiter {
+    private final double permitsPerNano;
+    private final double burst;
+    private final Lock lock = new ReentrantLock();
+    private double availablePermits;
+    private long lastRefill;
+
+    /**
+     * Initializes a rate limiter which grants the specified number of permits per second, allowing bursts of up to
+     * <tt>burst</tt> permits.
+     * @param permitsPerSecond The steady number of permits granted per second.
+     * @param burst The maximum number of permits which can be granted at once.
+     */
+    public TokenBucketRateLimiter(final double permitsPerSecond, final int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("The number of permits per second must be greater than zero.");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("The burst size must be at least one.");
+        }
+
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.availablePermits = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Acquires a permit, blocking until one is available.
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+
+            lock.lock();
+
+            try {
+                refill();
+
+                if (availablePermits >= 1) {
+                    availablePermits -= 1;
+                    return;
+                }
+
+                waitNanos = (long) Math.ceil((1 - availablePermits) / permitsPerNano);
+            } finally {
+                lock.unlock();
+            }
+
+            // Sleep outside of the lock, so that other threads can check the bucket in the meanwhile
+
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Acquires a permit only if one is immediately available.
+     * @return <tt>true</tt> if the permit has been acquired, <tt>false</tt> otherwise.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+
+        try {
+            refill();
+
+            if (availablePermits >= 1) {
+                availablePermits -= 1;
+                return true;
+            }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        availablePermits = Math.min(burst, availablePermits + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.pool;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.exceptions.WaitingInterruptedException;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.RestClientInterceptor;
+import com.verifalia.api.rest.RestClientOptions;
+import com.verifalia.api.rest.RestRequest;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import lombok.NonNull;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A pool of {@link VerifaliaRestClient} instances, one per tenant, for applications which validate email addresses on
+ * behalf of many customers, each with its own Verifalia user (sub-account).
+ * <p>All the tenants share the same connection pool, base URIs, executor and serialization state, while each of them
+ * keeps its own {@link com.verifalia.api.rest.security.AuthenticationProvider}, rate limit and metrics tags, as
+ * specified by its {@link TenantConfiguration}. Clients are created lazily, on the first request of each tenant, and
+ * evicted once they have neither been returned by {@link #getClient(String)} nor sent any request for longer than
+ * {@link VerifaliaClientPoolOptions#getIdleTimeout()}.
+ * <p>The pool owns the authentication providers returned by the tenant resolver: those which are {@link Closeable},
+ * like {@link com.verifalia.api.rest.security.ClientCertificateAuthenticationProvider}, are closed once their client
+ * has been evicted or invalidated for longer than {@link VerifaliaClientPoolOptions#getEvictionGracePeriod()}, so that
+ * the operations still running on it can complete, and when the pool itself is closed. The resolver must thus return
+ * a new provider each time it is invoked.
+ */
+public class VerifaliaClientPool implements Closeable {
+    private static final long IDLE_CONNECTION_TIMEOUT_SECONDS = 30;
+
+    private final Function<String, TenantConfiguration> tenantResolver;
+    private final VerifaliaClientPoolOptions options;
+    private final List<URI> baseURIs;
+    private final CloseableHttpClient sharedHttpClient;
+    private final Semaphore requestPermits;
+    private final ConcurrentMap<String, PooledClient> clients = new ConcurrentHashMap<>();
+    private final Queue<RetiredClient> retiredClients = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService evictionScheduler;
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new pool with the default options.
+     * @param tenantResolver A function which returns the {@link TenantConfiguration} of a tenant, given its identifier;
+     *                       it is invoked each time the client of a tenant is (re)created, possibly by several threads
+     *                       at once for the same tenant.
+     */
+    public VerifaliaClientPool(@NonNull final Function<String, TenantConfiguration> tenantResolver) {
+        this(tenantResolver, new VerifaliaClientPoolOptions());
+    }
+
+    /**
+     * Initializes a new pool with the specified options.
+     * @param tenantResolver A function which returns the {@link TenantConfiguration} of a tenant, given its identifier;
+     *                       it is invoked each time the client of a tenant is (re)created, possibly by several threads
+     *                       at once for the same tenant.
+     * @param options A {@link VerifaliaClientPoolOptions} representing the options for the pool.
+     */
+    public VerifaliaClientPool(@NonNull final Function<String, TenantConfiguration> tenantResolver, @NonNull final VerifaliaClientPoolOptions options) {
+        this.tenantResolver = tenantResolver;
+        this.options = options;
+
+        // Base URIs are shuffled once, so that the load of the tenants is spread across the endpoints anyway
+
+        List<URI> uris = new ArrayList<>(options.getBaseURIProvider().provideBaseURIs());
+        Collections.shuffle(uris);
+        this.baseURIs = Collections.unmodifiableList(uris);
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(options.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(options.getMaxConnectionsPerRoute());
+
+        this.sharedHttpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(IDLE_CONNECTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .build();
+
+        // The tenants share the connections, hence the permits which keep them from waiting for one
+
+        this.requestPermits = new Semaphore(Math.max(1, Math.min(options.getMaxConnections(), options.getMaxConnectionsPerRoute())), true);
+
+        // Idle clients are evicted in the background
+
+        long evictionPeriodMillis = Math.max(1000, options.getIdleTimeout().toMillis() / 2);
+
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-client-pool-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictionScheduler.scheduleWithFixedDelay(this::evictIdleClients, evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the client of the specified tenant, creating it if needed.
+     * @param tenantId The identifier of the tenant.
+     * @return The {@link VerifaliaRestClient} of the tenant.
+     */
+    public VerifaliaRestClient getClient(@NonNull final String tenantId) {
+        if (closed) {
+            throw new IllegalStateException("The client pool has been closed.");
+        }
+
+        PooledClient pooledClient = clients.get(tenantId);
+
+        if (pooledClient == null) {
+            // The resolver runs outside of the locks of the map, as it may be slow (for example, when it queries a
+            // database): should another thread win the race for the same tenant, the client built here is discarded
+
+            PooledClient createdClient = createClient(tenantId);
+            pooledClient = clients.putIfAbsent(tenantId, createdClient);
+
+            if (pooledClient == null) {
+                pooledClient = createdClient;
+            } else {
+                createdClient.release();
+            }
+
+            if (closed) {
+                invalidate(tenantId);
+                throw new IllegalStateException("The client pool has been closed.");
+            }
+        }
+
+        pooledClient.interceptor.touch();
+
+        return pooledClient.client;
+    }
+
+    /**
+     * Removes the client of the specified tenant from the pool, for example after its credentials have changed; the
+     * client will be created again on its next use, while its authentication provider is closed after the configured
+     * grace period.
+     * @param tenantId The identifier of the tenant.
+     */
+    public void invalidate(@NonNull final String tenantId) {
+        PooledClient pooledClient = clients.remove(tenantId);
+
+        if (pooledClient != null) {
+            retire(pooledClient);
+        }
+    }
+
+    /**
+     * Gets the number of clients currently in the pool.
+     */
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * Evicts the clients which have been idle for longer than the configured timeout, and closes the authentication
+     * providers of the clients evicted or invalidated before the grace period; this method is invoked periodically by
+     * the pool itself.
+     * @return The number of evicted clients.
+     */
+    public int evictIdleClients() {
+        long idleTimeoutNanos = options.getIdleTimeout().toNanos();
+        long now = System.nanoTime();
+        int evicted = 0;
+
+        for (Map.Entry<String, PooledClient> entry : clients.entrySet()) {
+            if (now - entry.getValue().interceptor.lastAccess > idleTimeoutNanos && clients.remove(entry.getKey(), entry.getValue())) {
+                retire(entry.getValue());
+                evicted++;
+            }
+        }
+
+        closeRetiredClients(false);
+
+        return evicted;
+    }
+
+    /**
+     * Closes the pool, evicting all of its clients and releasing the shared connections.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        evictionScheduler.shutdownNow();
+
+        for (String tenantId : clients.keySet()) {
+            invalidate(tenantId);
+        }
+
+        closeRetiredClients(true);
+        sharedHttpClient.close();
+    }
+
+    private void retire(@NonNull final PooledClient pooledClient) {
+        if (closed) {
+            pooledClient.release();
+            return;
+        }
+
+        // Operations may still be running on the client: its provider is only closed after a grace period
+
+        retiredClients.add(new RetiredClient(pooledClient, System.nanoTime() + options.getEvictionGracePeriod().toNanos()));
+    }
+
+    private void closeRetiredClients(final boolean all) {
+        long now = System.nanoTime();
+
+        for (Iterator<RetiredClient> iterator = retiredClients.iterator(); iterator.hasNext(); ) {
+            RetiredClient retiredClient = iterator.next();
+
+            if (all || now - retiredClient.closeAfter >= 0) {
+                iterator.remove();
+                retiredClient.pooledClient.release();
+            }
+        }
+    }
+
+    private PooledClient createClient(@NonNull final String tenantId) {
+        TenantConfiguration configuration = tenantResolver.apply(tenantId);
+
+        if (configuration == null || configuration.getAuthenticationProvider() == null) {
+            throw new IllegalArgumentException("No authentication provider configured for the tenant " + tenantId + ".");
+        }
+
+        TokenBucketRateLimiter rateLimiter = configuration.getRequestsPerSecond() > 0
+                ? new TokenBucketRateLimiter(configuration.getRequestsPerSecond(), Math.max(1, configuration.getBurst()))
+                : null;
+        Map<String, String> tags = configuration.getTags() == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(configuration.getTags());
+
+        TenantInterceptor interceptor = new TenantInterceptor(tenantId, tags, rateLimiter, options.getMetricsListener());
+        RestClient restClient = new RestClient(configuration.getAuthenticationProvider(),
+                baseURIs,
+                options.getApiVersion(),
+                RestClientOptions.builder()
+                        .executor(options.getExecutor())
+                        .sharedHttpClient(sharedHttpClient)
+                        .requestPermits(requestPermits)
+                        .interceptor(interceptor)
+                        .transport(options.getTransport())
+                        .jsonCodec(options.getJsonCodec())
+                        .build());
+
+        VerifaliaRestClient client = new VerifaliaRestClient(restClient);
+
+        if (options.isWarmUp()) {
+            // Best effort: failures surface again on the actual requests
+
+            client.warmUpAsync();
+        }
+
+        return new PooledClient(client, configuration.getAuthenticationProvider(), interceptor);
+    }
+
+    private static class PooledClient {
+        final VerifaliaRestClient client;
+        final AuthenticationProvider authenticationProvider;
+        final TenantInterceptor interceptor;
+
+        PooledClient(@NonNull final VerifaliaRestClient client, @NonNull final AuthenticationProvider authenticationProvider,
+                     @NonNull final TenantInterceptor interceptor) {
+            this.client = client;
+            this.authenticationProvider = authenticationProvider;
+            this.interceptor = interceptor;
+        }
+
+        void release() {
+            if (!(authenticationProvider instanceof Closeable)) {
+                return;
+            }
+
+            try {
+                ((Closeable) authenticationProvider).close();
+            } catch (IOException e) {
+                // Best effort: the client is no longer reachable through the pool anyway
+            }
+        }
+    }
+
+    private static class RetiredClient {
+        final PooledClient pooledClient;
+        final long closeAfter;
+
+        RetiredClient(final PooledClient pooledClient, final long closeAfter) {
+            this.pooledClient = pooledClient;
+            this.closeAfter = closeAfter;
+        }
+    }
+
+    /**
+     * Enforces the rate limit of a tenant, reports its metrics and keeps track of its last activity.
+     */
+    private static class TenantInterceptor implements RestClientInterceptor {
+        private final String tenantId;
+        private final Map<String, String> tags;
+        private final TokenBucketRateLimiter rateLimiter;
+        private final TenantMetricsListener metricsListener;
+        volatile long lastAccess = System.nanoTime();
+
+        TenantInterceptor(@NonNull final String tenantId, @NonNull final Map<String, String> tags, final TokenBucketRateLimiter rateLimiter,
+                          final TenantMetricsListener metricsListener) {
+            this.tenantId = tenantId;
+            this.tags = tags;
+            this.rateLimiter = rateLimiter;
+            this.metricsListener = metricsListener;
+        }
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        @Override
+        public void beforeRequest(RestRequest request) throws VerifaliaException {
+            // Requests keep the client alive, even when its operation obtained it from the pool long ago
+
+            touch();
+
+            if (rateLimiter == null) {
+                return;
+            }
+
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WaitingInterruptedException("Interrupted while waiting for the rate limit of the tenant " + tenantId + ".", e);
+            }
+        }
+
+        @Override
+        public void afterResponse(RestRequest request, URI baseURI, int statusCode, long elapsedNanos) {
+            touch();
+
+            if (metricsListener != null) {
+                metricsListener.onResponse(tenantId, tags, request, baseURI, statusCode, elapsedNanos);
+            }
+        }
+
+        @Override
+        public void onFailure(RestRequest request, URI baseURI, Exception exception, long elapsedNanos) {
+            touch();
+
+            if (metricsListener != null) {
+                metricsListener.onFailure(tenantId, tags, request, baseURI, exception, elapsedNanos);
+            }
+        }
+    }
+}
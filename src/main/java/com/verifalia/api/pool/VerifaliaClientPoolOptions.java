@@ -0,0 +1,124 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.pool;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.baseURIProviders.BaseURIProvider;
+import com.verifalia.api.baseURIProviders.DefaultBaseURIProvider;
+import com.verifalia.api.rest.HttpTransport;
+import com.verifalia.api.rest.JsonCodec;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Provides options for a {@link VerifaliaClientPool}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifaliaClientPoolOptions {
+    /**
+     * The {@link BaseURIProvider} which provides the base URIs shared by all the tenants.
+     */
+    @Builder.Default
+    private BaseURIProvider baseURIProvider = new DefaultBaseURIProvider();
+
+    /**
+     * The version of the Verifalia API to use.
+     */
+    @Builder.Default
+    private String apiVersion = VerifaliaRestClient.DEFAULT_API_VERSION;
+
+    /**
+     * The executor which runs the asynchronous operations of all the tenants, or <tt>null</tt> to use the default one.
+     */
+    private Executor executor;
+
+    /**
+     * The time after which the client of an idle tenant is evicted from the pool.
+     */
+    @Builder.Default
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * The time the authentication provider of an evicted or invalidated client is kept open, so that the operations
+     * still running on the client can complete.
+     */
+    @Builder.Default
+    private Duration evictionGracePeriod = Duration.ofMinutes(5);
+
+    /**
+     * The maximum number of connections shared by all the tenants.
+     */
+    @Builder.Default
+    private int maxConnections = 256;
+
+    /**
+     * The maximum number of connections shared by all the tenants, for each base URI.
+     */
+    @Builder.Default
+    private int maxConnectionsPerRoute = 64;
+
+    /**
+     * The {@link TenantMetricsListener} which receives the metrics of the requests, if any.
+     */
+    private TenantMetricsListener metricsListener;
+
+    /**
+     * The {@link HttpTransport} shared by all the tenants, or <tt>null</tt> to send the requests over HTTP/1.1 through
+     * the shared connection pool; pass an {@link com.verifalia.api.rest.Http2Transport} to multiplex the requests of
+     * all the tenants over a single connection per base URI. The transport is not closed along with the pool.
+     */
+    private HttpTransport transport;
+
+    /**
+     * The {@link JsonCodec} shared by all the tenants, or <tt>null</tt> to use the default {@link com.verifalia.api.rest.JacksonJsonCodec}.
+     */
+    private JsonCodec jsonCodec;
+
+    /**
+     * Whether the client of each tenant is warmed up in the background as soon as it is created, so that its first
+     * requests run at steady-state latency; see {@link VerifaliaRestClient#warmUpAsync()}.
+     */
+    @Builder.Default
+    private boolean warmUp = false;
+}
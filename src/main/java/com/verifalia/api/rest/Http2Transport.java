@@ -0,0 +1,349 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import lombok.NonNull;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.H2AsyncClientBuilder;
+import org.apache.hc.core5.http.RequestNotExecutedException;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.http2.impl.nio.ProtocolNegotiationException;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.entity.GzipDecompressingEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link HttpTransport} which multiplexes the requests over a single HTTP/2 connection per base URI, so that
+ * hundreds of concurrent requests - for example, polls of many email validations - share a handful of sockets instead
+ * of needing one each. The number of requests in flight over each connection is bounded by
+ * {@link Http2TransportOptions#getMaxConcurrentStreams()}, and each stream is subject to HTTP/2 flow control.
+ * <p>Base URIs which do not support HTTP/2 are served over HTTP/1.1 through the HTTP client of the {@link RestClient},
+ * as well as requests with large or streamed bodies, such as file uploads. HTTPS connections negotiate HTTP/2 via
+ * ALPN, which requires Java 8u252 or later, while plain HTTP connections use HTTP/2 with prior knowledge. A request
+ * whose HTTP/2 attempt fails before the base URI ever completed an HTTP/2 exchange is sent again over HTTP/1.1 only if
+ * the server can't have processed it: that is, if the connection or the protocol negotiation failed, or if the request
+ * is idempotent. Other requests fail, while the following ones are sent over HTTP/1.1 straight away.
+ * <p>This transport requires the optional <tt>org.apache.httpcomponents.client5:httpclient5</tt> dependency.
+ */
+public class Http2Transport implements HttpTransport {
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+
+    private final Http2TransportOptions options;
+    private final CloseableHttpAsyncClient asyncClient;
+    private final org.apache.hc.client5.http.config.RequestConfig defaultRequestConfig;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new HTTP/2 transport with the default options, starting its I/O threads; the transport should be
+     * closed once no longer needed.
+     */
+    public Http2Transport() {
+        this(new Http2TransportOptions());
+    }
+
+    /**
+     * Initializes a new HTTP/2 transport with the specified options, starting its I/O threads; the transport should be
+     * closed once no longer needed.
+     * @param options A {@link Http2TransportOptions} representing the options for the transport.
+     */
+    public Http2Transport(@NonNull final Http2TransportOptions options) {
+        this.options = options;
+        this.defaultRequestConfig = org.apache.hc.client5.http.config.RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(options.getConnectTimeout().toMillis()))
+                .setResponseTimeout(Timeout.ofMilliseconds(options.getResponseTimeout().toMillis()))
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.asyncClient = H2AsyncClientBuilder.create()
+                .setH2Config(H2Config.custom()
+                        .setPushEnabled(false)
+                        .setInitialWindowSize(options.getInitialWindowSize())
+                        .build())
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(options.getIoThreadCount())
+                        .build())
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .setThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable, "verifalia-h2-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                .evictIdleConnections(TimeValue.ofMilliseconds(options.getIdleTimeout().toMillis()))
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .build();
+
+        this.asyncClient.start();
+    }
+
+    @Override
+    public CloseableHttpResponse execute(@NonNull final CloseableHttpClient client, @NonNull final HttpRequestBase request, final long timeoutNanos) throws IOException {
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+
+        if (entity != null && (entity.getContentLength() < 0 || entity.getContentLength() > options.getMaxBufferedRequestSize())) {
+            return HttpClientTransport.INSTANCE.execute(client, request, timeoutNanos);
+        }
+
+        URI uri = request.getURI();
+        Route route = routes.computeIfAbsent(uri.getScheme() + "://" + uri.getRawAuthority(), key -> new Route(options.getMaxConcurrentStreams()));
+
+        if (route.isHttp1Only()) {
+            return HttpClientTransport.INSTANCE.execute(client, request, timeoutNanos);
+        }
+
+        long deadline = timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : 0;
+
+        try {
+            SimpleHttpResponse response = sendOverHttp2(route, request, entity, deadline);
+            route.http2Confirmed = true;
+
+            return toHttpResponse(response);
+        } catch (InterruptedIOException e) {
+            // Timeouts are never retried, as the server may have processed the request anyway
+            throw e;
+        } catch (IOException e) {
+            if (route.http2Confirmed) {
+                throw e;
+            }
+
+            // The base URI never completed an exchange over HTTP/2: assume it does not support it and fall back to
+            // HTTP/1.1 for a while
+
+            route.http1OnlyUntil = System.nanoTime() + options.getFallbackRetryInterval().toNanos();
+
+            // Sending the request again could submit it twice, unless it never reached the server or is idempotent
+
+            if (!failedBeforeSending(e) && !isIdempotent(request.getMethod())) {
+                throw e;
+            }
+
+            long remainingNanos = deadline == 0 ? 0 : deadline - System.nanoTime();
+
+            if (deadline != 0 && remainingNanos <= 0) {
+                throw e;
+            }
+
+            return HttpClientTransport.INSTANCE.execute(client, request, remainingNanos);
+        }
+    }
+
+    /**
+     * Closes the HTTP/2 connections and stops the I/O threads of the transport.
+     */
+    @Override
+    public void close() {
+        asyncClient.close(CloseMode.GRACEFUL);
+    }
+
+    private SimpleHttpResponse sendOverHttp2(@NonNull final Route route, @NonNull final HttpRequestBase request, final HttpEntity entity, final long deadline)
+            throws IOException {
+        // Wait for a free stream on the connection
+
+        try {
+            if (deadline == 0) {
+                route.streams.acquire();
+            } else if (!route.streams.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new SocketTimeoutException("Timed out while waiting for an HTTP/2 stream.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an HTTP/2 stream.");
+        }
+
+        try {
+            SimpleHttpRequest h2Request = SimpleHttpRequest.create(request.getMethod(), request.getURI());
+
+            for (Header header : request.getAllHeaders()) {
+                if (!isConnectionSpecific(header.getName()) && !header.getName().equalsIgnoreCase(HttpHeaders.CONTENT_TYPE)) {
+                    h2Request.addHeader(header.getName(), header.getValue());
+                }
+            }
+
+            if (entity != null) {
+                Header contentType = request.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+
+                if (contentType == null) {
+                    contentType = entity.getContentType();
+                }
+
+                h2Request.setBody(EntityUtils.toByteArray(entity),
+                        contentType == null ? null : org.apache.hc.core5.http.ContentType.parse(contentType.getValue()));
+            }
+
+            if (deadline != 0) {
+                h2Request.setConfig(org.apache.hc.client5.http.config.RequestConfig.copy(defaultRequestConfig)
+                        .setResponseTimeout(Timeout.ofMilliseconds(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))))
+                        .build());
+            }
+
+            Future<SimpleHttpResponse> future = asyncClient.execute(h2Request, null);
+
+            try {
+                return deadline == 0
+                        ? future.get()
+                        : future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw new SocketTimeoutException("Timed out while waiting for the HTTP/2 response.");
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the HTTP/2 response.");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+
+                throw new IOException(e.getCause());
+            }
+        } finally {
+            route.streams.release();
+        }
+    }
+
+    private static CloseableHttpResponse toHttpResponse(@NonNull final SimpleHttpResponse h2Response) {
+        BufferedHttpResponse response = new BufferedHttpResponse(h2Response.getCode(), h2Response.getReasonPhrase());
+
+        for (org.apache.hc.core5.http.Header header : h2Response.getHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+
+        byte[] body = h2Response.getBodyBytes();
+        ByteArrayEntity entity = new ByteArrayEntity(body == null ? new byte[0] : body);
+        Header contentType = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+
+        if (contentType != null) {
+            entity.setContentType(contentType);
+        }
+
+        Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+
+        if (contentEncoding != null && contentEncoding.getValue().equalsIgnoreCase("gzip")) {
+            response.setEntity(new GzipDecompressingEntity(entity));
+        } else {
+            response.setEntity(entity);
+        }
+
+        return response;
+    }
+
+    /**
+     * Returns whether the specified failure happened before the request could be sent: while connecting, during the
+     * TLS handshake (where ALPN negotiates the protocol) or before the connection accepted the request.
+     */
+    private static boolean failedBeforeSending(@NonNull final IOException exception) {
+        return exception instanceof ConnectException
+                || exception instanceof NoRouteToHostException
+                || exception instanceof UnknownHostException
+                || exception instanceof SSLException
+                || exception instanceof ProtocolNegotiationException
+                || exception instanceof RequestNotExecutedException;
+    }
+
+    private static boolean isIdempotent(@NonNull final String method) {
+        return method.equals("GET")
+                || method.equals("HEAD")
+                || method.equals("OPTIONS")
+                || method.equals("PUT")
+                || method.equals("DELETE");
+    }
+
+    private static boolean isConnectionSpecific(@NonNull final String headerName) {
+        return headerName.equalsIgnoreCase(HttpHeaders.HOST)
+                || headerName.equalsIgnoreCase(HttpHeaders.CONNECTION)
+                || headerName.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+                || headerName.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)
+                || headerName.equalsIgnoreCase("Keep-Alive")
+                || headerName.equalsIgnoreCase(HttpHeaders.UPGRADE);
+    }
+
+    private static class Route {
+        final Semaphore streams;
+        volatile boolean http2Confirmed;
+        volatile long http1OnlyUntil;
+
+        Route(final int maxConcurrentStreams) {
+            this.streams = new Semaphore(maxConcurrentStreams);
+        }
+
+        boolean isHttp1Only() {
+            long until = http1OnlyUntil;
+            return until != 0 && until - System.nanoTime() > 0;
+        }
+    }
+
+    /**
+     * A response whose body has been fully received over HTTP/2, so that closing it releases nothing.
+     */
+    private static class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        BufferedHttpResponse(final int statusCode, final String reasonPhrase) {
+            super(HTTP_2, statusCode, reasonPhrase);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Provides options for an {@link Http2Transport}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Http2TransportOptions {
+    /**
+     * The maximum number of requests in flight over the connection to each base URI; further requests wait for a
+     * stream to become available. Most servers allow at least 100 concurrent streams per connection.
+     */
+    @Builder.Default
+    private int maxConcurrentStreams = 100;
+
+    /**
+     * The initial flow-control window of each stream, in bytes, which bounds the response data the server can send
+     * before the client acknowledges it.
+     */
+    @Builder.Default
+    private int initialWindowSize = 1024 * 1024;
+
+    /**
+     * The number of I/O threads which serve the connections.
+     */
+    @Builder.Default
+    private int ioThreadCount = 2;
+
+    /**
+     * The maximum time allowed to establish a connection.
+     */
+    @Builder.Default
+    private Duration connectTimeout = Duration.ofSeconds(30);
+
+    /**
+     * The maximum time allowed to receive a response, unless the request sets a shorter timeout.
+     */
+    @Builder.Default
+    private Duration responseTimeout = Duration.ofMinutes(2);
+
+    /**
+     * The time after which idle connections are closed.
+     */
+    @Builder.Default
+    private Duration idleTimeout = Duration.ofMinutes(1);
+
+    /**
+     * The maximum size of the request bodies which are sent over HTTP/2, in bytes; larger bodies and bodies of unknown
+     * size (such as file uploads) are streamed over HTTP/1.1 instead.
+     */
+    @Builder.Default
+    private long maxBufferedRequestSize = 1024 * 1024;
+
+    /**
+     * The time after which a base URI which did not support HTTP/2 is probed again.
+     */
+    @Builder.Default
+    private Duration fallbackRetryInterval = Duration.ofMinutes(10);
+}
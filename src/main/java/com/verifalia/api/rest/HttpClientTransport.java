@@ -0,0 +1,72 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import lombok.NonNull;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The default {@link HttpTransport}, which sends each request over HTTP/1.1 through the HTTP client built by the
+ * {@link com.verifalia.api.rest.security.AuthenticationProvider} for it.
+ */
+public class HttpClientTransport implements HttpTransport {
+    /**
+     * The shared instance of the transport, which is stateless.
+     */
+    public static final HttpClientTransport INSTANCE = new HttpClientTransport();
+
+    @Override
+    public CloseableHttpResponse execute(@NonNull final CloseableHttpClient client, @NonNull final HttpRequestBase request, final long timeoutNanos) throws IOException {
+        if (timeoutNanos > 0) {
+            // Bound the connection lease, the connection and each read by the remaining time, on top of the settings
+            // of the client
+
+            RequestConfig baseConfig = client instanceof Configurable ? ((Configurable) client).getConfig() : null;
+            int timeoutMillis = (int) Math.min(Integer.MAX_VALUE, (timeoutNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1));
+
+            request.setConfig((baseConfig == null ? RequestConfig.custom() : RequestConfig.copy(baseConfig))
+                    .setConnectionRequestTimeout(timeoutMillis)
+                    .setConnectTimeout(timeoutMillis)
+                    .setSocketTimeout(timeoutMillis)
+                    .build());
+        }
+
+        return client.execute(request);
+    }
+}
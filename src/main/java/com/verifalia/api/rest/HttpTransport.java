@@ -0,0 +1,66 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import lombok.NonNull;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sends the HTTP requests built by a {@link RestClient} over the wire. The default transport,
+ * {@link HttpClientTransport}, sends them over HTTP/1.1 through the HTTP client of the {@link RestClient}, while
+ * {@link Http2Transport} multiplexes them over HTTP/2 connections.
+ */
+public interface HttpTransport extends Closeable {
+    /**
+     * Sends the specified request.
+     * @param client The HTTP client built by the {@link com.verifalia.api.rest.security.AuthenticationProvider} for
+     *               the request, which transports may use as a fallback.
+     * @param request The request to send, already decorated with the authentication headers.
+     * @param timeoutNanos The maximum time allowed for the request, in nanoseconds, or zero to rely on the timeouts of
+     *                     the transport.
+     * @return The response, which the caller must close.
+     * @throws IOException If the request can't be sent or the response can't be received.
+     */
+    CloseableHttpResponse execute(@NonNull CloseableHttpClient client, @NonNull HttpRequestBase request, long timeoutNanos) throws IOException;
+
+    /**
+     * Releases the resources held by the transport; the default implementation does nothing.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
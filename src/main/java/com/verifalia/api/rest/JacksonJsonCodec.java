@@ -0,0 +1,123 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import com.verifalia.api.common.serialization.ModelCodecs;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import com.verifalia.api.emailvalidations.serialization.ValidationEntryDeserializer;
+import lombok.NonNull;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The default {@link JsonCodec}, based on Jackson and on the streaming codecs registered in {@link ModelCodecs}.
+ */
+public class JacksonJsonCodec implements JsonCodec {
+    /**
+     * The shared instance of the codec, which is thread-safe.
+     */
+    public static final JacksonJsonCodec INSTANCE = new JacksonJsonCodec();
+
+    private final ObjectMapper serializationMapper;
+    private final ObjectMapper deserializationMapper;
+    private final ConcurrentMap<Set<ValidationEntryField>, ObjectMapper> projectionMappers = new ConcurrentHashMap<>();
+
+    public JacksonJsonCodec() {
+        this.serializationMapper = new ObjectMapper()
+                .setSerializationInclusion(JsonSerialize.Inclusion.NON_NULL);
+        this.serializationMapper.registerModule(ModelCodecs.buildModule());
+        this.deserializationMapper = buildDeserializationMapper();
+    }
+
+    @Override
+    public String serialize(@NonNull final Object value) throws IOException {
+        return serializationMapper.writeValueAsString(value);
+    }
+
+    @Override
+    public <T> T deserialize(@NonNull final byte[] data, @NonNull final Class<T> type) throws IOException {
+        return deserializationMapper.readValue(data, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The mapper of each distinct set of fields is built once and then shared, as its deserializers are cached.
+     */
+    @Override
+    public <T> T deserialize(@NonNull final byte[] data, @NonNull final Class<T> type, final Set<ValidationEntryField> entryFields) throws IOException {
+        return projectionMapperFor(entryFields).readValue(data, type);
+    }
+
+    private ObjectMapper projectionMapperFor(final Set<ValidationEntryField> entryFields) {
+        if (entryFields == null || entryFields.containsAll(EnumSet.allOf(ValidationEntryField.class))) {
+            return deserializationMapper;
+        }
+
+        // Sets with the same elements are equal regardless of their implementation, so the lookup does not need a copy
+        ObjectMapper mapper = projectionMappers.get(entryFields);
+
+        if (mapper == null) {
+            // EnumSet.copyOf() rejects empty collections which are not EnumSets themselves
+
+            EnumSet<ValidationEntryField> key = EnumSet.noneOf(ValidationEntryField.class);
+            key.addAll(entryFields);
+
+            mapper = projectionMappers.computeIfAbsent(key, fields -> {
+                ObjectMapper projectionMapper = buildDeserializationMapper();
+                projectionMapper.registerModule(ValidationEntryDeserializer.buildModule(fields));
+                return projectionMapper;
+            });
+        }
+
+        return mapper;
+    }
+
+    private static ObjectMapper buildDeserializationMapper() {
+        JsonFactory factory = new JsonFactory();
+        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.registerModule(ModelCodecs.buildModule());
+
+        return mapper;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Converts the payloads exchanged with the Verifalia API to and from JSON; a {@link RestClient} is configured with the
+ * codec of choice, which defaults to {@link JacksonJsonCodec}.
+ * <p>Implementations must be thread-safe and handle the SDK models as the default codec does: <tt>null</tt> values are
+ * omitted, unknown properties are ignored, durations use the <tt>[d.]hh:mm:ss</tt> format, timestamps the ISO 8601
+ * format, and enumerations, quality levels and priorities are written as strings. The test-jar of the SDK contains
+ * <tt>JsonCodecConformance</tt>, a JUnit base class which checks a codec against the default one.
+ */
+public interface JsonCodec {
+    /**
+     * Serializes the specified value.
+     * @param value The value to serialize.
+     * @return The JSON representation of the value.
+     * @throws IOException If the value can't be serialized.
+     */
+    String serialize(@NonNull Object value) throws IOException;
+
+    /**
+     * Deserializes a value of the specified type.
+     * @param data The UTF-8 encoded JSON representation of the value.
+     * @param type The type of the value.
+     * @return The deserialized value.
+     * @throws IOException If the data can't be deserialized.
+     */
+    <T> T deserialize(@NonNull byte[] data, @NonNull Class<T> type) throws IOException;
+
+    /**
+     * Deserializes a value of the specified type, projecting the validation entries it contains onto the specified
+     * fields: the codec may skip the values of the other fields while parsing, to save time and memory. Callers must
+     * not rely on the other fields being either set or missing; the default implementation deserializes all of them.
+     * @param data The UTF-8 encoded JSON representation of the value.
+     * @param type The type of the value.
+     * @param entryFields The fields to deserialize for each validation entry, or <tt>null</tt> to deserialize all of them.
+     * @return The deserialized value.
+     * @throws IOException If the data can't be deserialized.
+     */
+    default <T> T deserialize(@NonNull byte[] data, @NonNull Class<T> type, Set<ValidationEntryField> entryFields) throws IOException {
+        return deserialize(data, type);
+    }
+}
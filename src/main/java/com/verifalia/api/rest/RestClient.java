@@ -31,9 +31,12 @@
 
 package com.verifalia.api.rest;
 
+import com.verifalia.api.common.AsyncHelper;
+import com.verifalia.api.common.VerifaliaExecutors;
 import com.verifalia.api.exceptions.EndpointServerErrorException;
 import com.verifalia.api.exceptions.ServiceUnreachableException;
 import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.exceptions.WaitingInterruptedException;
 import com.verifalia.api.rest.security.AuthenticationProvider;
 import lombok.Getter;
 import lombok.NonNull;
@@ -42,12 +45,23 @@ import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.*;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Objects.nonNull;
 
@@ -55,17 +69,98 @@ import static java.util.Objects.nonNull;
  * Represents the internal REST client used by the SDK.
  */
 public class RestClient {
+    private static final int MAX_CONNECTIONS = 256;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 64;
+
     private final List<URI> baseURIs;
     private final String apiVersion;
     private final String userAgent;
     private final AuthenticationProvider defaultAuthenticationProvider;
-    private int currentBaseURIIndex;
+    private final AtomicInteger currentBaseURIIndex = new AtomicInteger();
+    private final Lock sharedHttpClientLock = new ReentrantLock();
+    private final RestClientInterceptor interceptor;
+    private final HttpTransport transport;
+    private final Semaphore requestPermits;
+    private volatile CloseableHttpClient sharedHttpClient;
+
+    /**
+     * The codec which converts the payloads of this client to and from JSON.
+     */
+    @Getter
+    private final JsonCodec jsonCodec;
+
+    /**
+     * The executor which runs the asynchronous operations of this client.
+     */
+    @Getter
+    private final Executor executor;
 
     public RestClient(@NonNull final AuthenticationProvider defaultAuthenticationProvider, @NonNull final List<URI> baseURIs, @NonNull final String apiVersion) {
+        this(defaultAuthenticationProvider, baseURIs, apiVersion, new RestClientOptions());
+    }
+
+    /**
+     * Initializes a REST client with the specified options.
+     * @param options A {@link RestClientOptions} with the executor, the HTTP client, the interceptor, the transport and
+     *                the JSON codec of the client.
+     */
+    public RestClient(@NonNull final AuthenticationProvider defaultAuthenticationProvider, @NonNull final List<URI> baseURIs, @NonNull final String apiVersion,
+                      @NonNull final RestClientOptions options) {
         this.baseURIs = baseURIs;
         this.apiVersion = apiVersion;
         this.userAgent = getUserAgent();
         this.defaultAuthenticationProvider = defaultAuthenticationProvider;
+        this.executor = options.getExecutor() == null ? VerifaliaExecutors.defaultExecutor() : options.getExecutor();
+        this.sharedHttpClient = options.getSharedHttpClient();
+        this.interceptor = options.getInterceptor();
+        this.transport = options.getTransport() == null ? HttpClientTransport.INSTANCE : options.getTransport();
+        this.requestPermits = options.getRequestPermits() == null ? new Semaphore(MAX_CONNECTIONS_PER_ROUTE, true) : options.getRequestPermits();
+        this.jsonCodec = options.getJsonCodec() == null ? JacksonJsonCodec.INSTANCE : options.getJsonCodec();
+    }
+
+    /**
+     * Serializes the specified payload with the {@link JsonCodec} of this client.
+     * @param data The payload to serialize.
+     * @return The JSON representation of the payload.
+     */
+    public String serializeToJson(@NonNull final Object data) {
+        try {
+            return jsonCodec.serialize(data);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Cannot convert the payload into a JSON string.", exception);
+        }
+    }
+
+    /**
+     * Gets the HTTP client shared by all the requests of this REST client, backed by a pool of persistent connections;
+     * the client is built on first use and is safe for concurrent use from any number of (platform or virtual) threads.
+     */
+    public CloseableHttpClient getSharedHttpClient() {
+        CloseableHttpClient client = sharedHttpClient;
+
+        if (client == null) {
+            sharedHttpClientLock.lock();
+
+            try {
+                client = sharedHttpClient;
+
+                if (client == null) {
+                    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+                    connectionManager.setMaxTotal(MAX_CONNECTIONS);
+                    connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+
+                    client = HttpClients.custom()
+                            .setConnectionManager(connectionManager)
+                            .build();
+
+                    sharedHttpClient = client;
+                }
+            } finally {
+                sharedHttpClientLock.unlock();
+            }
+        }
+
+        return client;
     }
 
     public RestResponse execute(@NonNull final RestRequest request) throws VerifaliaException {
@@ -87,32 +182,67 @@ public class RestClient {
         }
 
         ArrayList<EndpointServerError> errors = new ArrayList<>();
+        long deadline = request.getTimeout() == null ? 0 : System.nanoTime() + request.getTimeout().toNanos();
+
+        // Each attempt targets a different base URI, even if concurrent requests (such as the acquisition of a bearer
+        // token) advance the shared round-robin index meanwhile
+
+        int firstBaseURIIndex = currentBaseURIIndex.getAndIncrement();
 
         if (nonNull(this.baseURIs)) {
             for (int idxAttempt = 0; idxAttempt < this.baseURIs.size(); idxAttempt++) {
                 CloseableHttpResponse response;
-                URI baseURI = this.baseURIs.get(currentBaseURIIndex++ % this.baseURIs.size());
+                long remainingNanos = deadline == 0 ? 0 : deadline - System.nanoTime();
+
+                if (deadline != 0 && remainingNanos <= 0) {
+                    throw new ServiceUnreachableException("The request timed out after " + request.getTimeout().toMillis() + " ms.");
+                }
+                URI baseURI = this.baseURIs.get(Math.floorMod(firstBaseURIIndex + idxAttempt, this.baseURIs.size()));
+
+                if (interceptor != null) {
+                    interceptor.beforeRequest(request);
+                }
+
+                long startedOn = System.nanoTime();
 
                 try {
-                    response = sendRequest(baseURI, request, authenticationProvider);
+                    response = sendRequest(baseURI, request, authenticationProvider, remainingNanos);
                 } catch (IOException e) {
+                    if (interceptor != null) {
+                        interceptor.onFailure(request, baseURI, e, System.nanoTime() - startedOn);
+                    }
+
                     // Continue with the next attempt on IO exceptions, if needed
                     errors.add(new EndpointServerError(baseURI, e));
                     continue;
                 }
 
                 if (nonNull(response)) {
-                    int statusCode = response.getStatusLine().getStatusCode();
+                    // Always release the connection, so that it can be reused by the pool, and then its permit
 
-                    // Automatically retry with another host on HTTP 5xx status codes
+                    try {
+                        int statusCode = response.getStatusLine().getStatusCode();
 
-                    if (statusCode >= 500 && statusCode <= 599) {
-                        errors.add(new EndpointServerError(baseURI, new EndpointServerErrorException(String.format("The API endpoint %s returned a server error HTTP status code %d.", baseURI, statusCode))));
-                        continue;
-                    }
+                        if (interceptor != null) {
+                            interceptor.afterResponse(request, baseURI, statusCode, System.nanoTime() - startedOn);
+                        }
+
+                        // Automatically retry with another host on HTTP 5xx status codes
+
+                        if (statusCode >= 500 && statusCode <= 599) {
+                            EntityUtils.consumeQuietly(response.getEntity());
+                            errors.add(new EndpointServerError(baseURI, new EndpointServerErrorException(String.format("The API endpoint %s returned a server error HTTP status code %d.", baseURI, statusCode))));
+                            continue;
+                        }
 
-                    return new RestResponse(statusCode, response.getEntity());
+                        return new RestResponse(statusCode, response.getEntity(), jsonCodec);
+                    } finally {
+                        closeQuietly(response);
+                        requestPermits.release();
+                    }
                 }
+
+                requestPermits.release();
             }
         }
 
@@ -124,7 +254,128 @@ public class RestClient {
         throw new ServiceUnreachableException(sbAggregateError.toString());
     }
 
-    private CloseableHttpResponse sendRequest(@NonNull final URI baseURI, @NonNull final RestRequest restRequest, @NonNull final AuthenticationProvider authenticationProviderOverride)
+    /**
+     * Prepares this client for its first requests, connecting to every base URI in parallel so that each of them has a
+     * ready connection (DNS resolution, TCP and TLS handshakes included) and letting the default authentication
+     * provider acquire its credentials ahead of time; see {@link #warmUpAsync(int)}.
+     * @throws ServiceUnreachableException If none of the base URIs can be reached.
+     * @throws VerifaliaException If the authentication provider can't acquire its credentials.
+     */
+    public void warmUp() throws VerifaliaException {
+        warmUp(1);
+    }
+
+    /**
+     * Prepares this client for its first requests, opening the specified number of connections to every base URI in
+     * parallel and letting the default authentication provider acquire its credentials ahead of time; see
+     * {@link #warmUpAsync(int)}.
+     * @param connectionsPerBaseURI The number of connections to open to each base URI.
+     * @throws ServiceUnreachableException If none of the base URIs can be reached.
+     * @throws VerifaliaException If the authentication provider can't acquire its credentials.
+     */
+    public void warmUp(final int connectionsPerBaseURI) throws VerifaliaException {
+        try {
+            warmUpAsync(connectionsPerBaseURI).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof VerifaliaException) {
+                throw (VerifaliaException) e.getCause();
+            }
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Prepares this client for its first requests without blocking the calling thread: each base URI is sent an
+     * unauthenticated request, whose connection is then kept by the pool (or by the configured {@link HttpTransport}),
+     * while the default authentication provider acquires its credentials (for example, a bearer token) in parallel.
+     * Base URIs which can't be reached are ignored, unless none of them can.
+     * @param connectionsPerBaseURI The number of connections to open to each base URI.
+     * @return A {@link CompletableFuture} which completes once the client is ready.
+     */
+    public CompletableFuture<Void> warmUpAsync(final int connectionsPerBaseURI) {
+        if (connectionsPerBaseURI < 1) {
+            throw new IllegalArgumentException("The number of connections per base URI must be at least 1.");
+        }
+
+        // Connect through the same HTTP client of the actual requests, without authenticating them
+
+        AuthenticationProvider connectionProvider = new AuthenticationProvider() {
+            @Override
+            public CloseableHttpClient buildClient(RestClient client) throws IOException {
+                return defaultAuthenticationProvider.buildClient(client);
+            }
+        };
+
+        List<URI> targets = this.baseURIs == null ? new ArrayList<>() : this.baseURIs;
+        List<CompletableFuture<String>> connections = new ArrayList<>();
+
+        for (URI baseURI : targets) {
+            for (int idxConnection = 0; idxConnection < connectionsPerBaseURI; idxConnection++) {
+                connections.add(AsyncHelper.supplyAsync(() -> warmUpConnection(baseURI, connectionProvider), executor));
+            }
+        }
+
+        CompletableFuture<Void> credentials = AsyncHelper.supplyAsync(() -> {
+            defaultAuthenticationProvider.warmUp(this);
+            return null;
+        }, executor);
+
+        return CompletableFuture.allOf(connections.toArray(new CompletableFuture<?>[0]))
+                .thenCombine(credentials, (ignored, ignoredToo) -> connections)
+                .thenCompose(attempts -> {
+                    CompletableFuture<Void> result = new CompletableFuture<>();
+                    StringBuilder sbErrors = new StringBuilder("All the base URIs are unreachable: ");
+                    boolean connected = false;
+
+                    for (int idxAttempt = 0; idxAttempt < attempts.size(); idxAttempt++) {
+                        String error = attempts.get(idxAttempt).join();
+
+                        if (error == null) {
+                            connected = true;
+                        } else {
+                            sbErrors.append(targets.get(idxAttempt / connectionsPerBaseURI)).append(" => ").append(error).append(" ");
+                        }
+                    }
+
+                    if (connected) {
+                        result.complete(null);
+                    } else {
+                        result.completeExceptionally(new ServiceUnreachableException(sbErrors.toString()));
+                    }
+
+                    return result;
+                });
+    }
+
+    /**
+     * Sends an unauthenticated request to the specified base URI, leaving its connection in the pool.
+     * @return The error message, or <tt>null</tt> if the base URI has been reached.
+     */
+    private String warmUpConnection(@NonNull final URI baseURI, @NonNull final AuthenticationProvider connectionProvider) {
+        CloseableHttpResponse response;
+
+        try {
+            response = sendRequest(baseURI, new RestRequest(HttpRequestMethod.GET, ""), connectionProvider, 0);
+        } catch (IOException | VerifaliaException e) {
+            return e.getMessage();
+        }
+
+        try {
+            EntityUtils.consumeQuietly(response.getEntity());
+            return null;
+        } finally {
+            closeQuietly(response);
+            requestPermits.release();
+        }
+    }
+
+    private CloseableHttpResponse sendRequest(@NonNull final URI baseURI, @NonNull final RestRequest restRequest, @NonNull final AuthenticationProvider authenticationProviderOverride,
+                                              final long timeoutNanos)
             throws VerifaliaException, IOException {
 
         // Determine the intermediate URI, including the API version, for this invocation
@@ -150,7 +401,47 @@ public class RestClient {
         request.setHeader(HttpHeaders.USER_AGENT, this.userAgent);
         authenticationProviderOverride.decorateRequest(this, request);
 
-        return client.execute(request);
+        // Requests sent through a custom HTTP client (for example, with a client certificate) can't be multiplexed on the
+        // connections of the configured transport
+
+        HttpTransport effectiveTransport = client == getSharedHttpClient() ? transport : HttpClientTransport.INSTANCE;
+
+        // The permit is acquired once the request is authenticated, as that may send a request of its own, and is
+        // released by the caller along with the response
+
+        acquireRequestPermit(restRequest, timeoutNanos);
+
+        try {
+            return effectiveTransport.execute(client, request, timeoutNanos);
+        } catch (IOException | RuntimeException e) {
+            requestPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a free request permit, so that the HTTP client always finds a free connection in its pool instead of
+     * waiting for one in a way which would pin a virtual thread to its carrier.
+     */
+    private void acquireRequestPermit(@NonNull final RestRequest restRequest, final long timeoutNanos) throws VerifaliaException {
+        try {
+            if (timeoutNanos <= 0) {
+                requestPermits.acquire();
+            } else if (!requestPermits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceUnreachableException("The request timed out after " + restRequest.getTimeout().toMillis() + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WaitingInterruptedException("Interrupted while waiting to send the request.", e);
+        }
+    }
+
+    private static void closeQuietly(@NonNull final CloseableHttpResponse response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
     }
 
     private String getUserAgent() {
@@ -0,0 +1,90 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Provides options for a {@link RestClient}.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestClientOptions {
+    /**
+     * The executor which runs the asynchronous operations of the client, or <tt>null</tt> to use the default one.
+     */
+    private Executor executor;
+
+    /**
+     * The HTTP client to share with other REST clients (and thus its connection pool), or <tt>null</tt> to let the
+     * client build its own one. A shared HTTP client is never closed by the REST client.
+     */
+    private CloseableHttpClient sharedHttpClient;
+
+    /**
+     * The permits which bound the requests in flight, one per request, or <tt>null</tt> to let the client bound them to
+     * the connections per route of its own HTTP client. REST clients sharing an HTTP client should share the permits
+     * too, sized after the connections per route of its pool: requests waiting for a pooled connection would otherwise
+     * pin their virtual threads to the carrier threads, as the pool waits within a <tt>synchronized</tt> block. With an
+     * {@link Http2Transport}, which multiplexes the requests, the permits may match its concurrent streams instead.
+     */
+    private Semaphore requestPermits;
+
+    /**
+     * A {@link RestClientInterceptor} which observes the requests sent by the client, if any.
+     */
+    private RestClientInterceptor interceptor;
+
+    /**
+     * The {@link HttpTransport} which sends the requests, or <tt>null</tt> to send them over HTTP/1.1 through the HTTP
+     * client; the transport is never closed by the REST client.
+     */
+    private HttpTransport transport;
+
+    /**
+     * The {@link JsonCodec} for the payloads, or <tt>null</tt> to use the default {@link JacksonJsonCodec}.
+     */
+    private JsonCodec jsonCodec;
+}
@@ -42,12 +42,11 @@ import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.AbstractHttpEntity;
 import org.apache.http.entity.StringEntity;
-import org.codehaus.jackson.map.ObjectMapper;
-import org.codehaus.jackson.map.annotate.JsonSerialize;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 
 /**
  * Represents a REST request.
@@ -72,11 +71,19 @@ public class RestRequest {
     @NonNull
     private String resource;
 
+    /**
+     * The maximum time allowed for the request, including the eventual attempts against other base URIs, or
+     * <tt>null</tt> to rely on the timeouts of the underlying HTTP client.
+     */
+    private Duration timeout;
+
+    /**
+     * Serializes the specified payload with the default {@link JacksonJsonCodec}; prefer
+     * {@link RestClient#serializeToJson(Object)}, which honors the codec configured for the client.
+     */
     public static String serializeToJson(Object data) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setSerializationInclusion(JsonSerialize.Inclusion.NON_NULL);
-            return mapper.writeValueAsString(data);
+            return JacksonJsonCodec.INSTANCE.serialize(data);
         } catch (IOException exception) {
             throw new IllegalArgumentException("Cannot convert the payload into a JSON string.", exception);
         }
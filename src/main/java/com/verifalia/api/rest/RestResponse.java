@@ -31,6 +31,7 @@
 
 package com.verifalia.api.rest;
 
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
 import com.verifalia.api.exceptions.VerifaliaException;
 import lombok.Getter;
 import lombok.NonNull;
@@ -38,21 +39,19 @@ import org.apache.http.HttpEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.util.EntityUtils;
-import org.codehaus.jackson.JsonFactory;
 import org.codehaus.jackson.JsonParseException;
-import org.codehaus.jackson.JsonParser;
-import org.codehaus.jackson.map.DeserializationConfig;
 import org.codehaus.jackson.map.JsonMappingException;
-import org.codehaus.jackson.map.ObjectMapper;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Set;
 
 /**
  * Represents REST service response.
  */
 public class RestResponse {
     private final ContentType contentType;
+    private final JsonCodec jsonCodec;
     /**
      * HTTP response code
      */
@@ -76,8 +75,17 @@ public class RestResponse {
      */
     public RestResponse(final int statusCode, final HttpEntity entity)
             throws VerifaliaException {
+        this(statusCode, entity, JacksonJsonCodec.INSTANCE);
+    }
+
+    /**
+     * Creates new object, which deserializes its data with the specified {@link JsonCodec}.
+     */
+    public RestResponse(final int statusCode, final HttpEntity entity, @NonNull final JsonCodec jsonCodec)
+            throws VerifaliaException {
 
         this.statusCode = statusCode;
+        this.jsonCodec = jsonCodec;
 
         if (entity == null) {
             this.contentType = null;
@@ -96,18 +104,20 @@ public class RestResponse {
     }
 
     public <T> T deserialize(@NonNull final Class<T> dataClass) throws VerifaliaException {
+        return deserialize(dataClass, null);
+    }
+
+    /**
+     * Deserializes the response data, projecting the validation entries it contains onto the specified fields (if any);
+     * see {@link JsonCodec#deserialize(byte[], Class, Set)}.
+     */
+    public <T> T deserialize(@NonNull final Class<T> dataClass, final Set<ValidationEntryField> entryFields) throws VerifaliaException {
         if (data == null) {
             return null;
         }
 
-        JsonFactory factory = new JsonFactory();
-        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
-        factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
-        ObjectMapper mapper = new ObjectMapper(factory);
-        mapper.configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
         try {
-            return mapper.readValue(this.data, dataClass);
+            return jsonCodec.deserialize(this.data, dataClass, entryFields);
         } catch (IOException exception) {
             throw new VerifaliaException("Cannot read the input JSON response.", exception);
         }
@@ -37,7 +37,6 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 
 import java.io.IOException;
 
@@ -50,7 +49,18 @@ public abstract class AuthenticationProvider {
     public void decorateRequest(RestClient client, HttpRequestBase request) throws VerifaliaException {
     }
 
+    /**
+     * Returns the HTTP client used to send a request to the Verifalia API; by default, this is the pooled client shared
+     * by all the requests of the specified {@link RestClient}.
+     */
     public CloseableHttpClient buildClient(RestClient client) throws IOException {
-        return HttpClients.createDefault();
+        return client.getSharedHttpClient();
+    }
+
+    /**
+     * Acquires ahead of time whatever the provider needs to authenticate the requests of the specified
+     * {@link RestClient}, so that the first request does not pay for it; by default, this does nothing.
+     */
+    public void warmUp(RestClient client) throws VerifaliaException {
     }
 }
@@ -36,15 +36,18 @@ import com.verifalia.api.rest.HttpRequestMethod;
 import com.verifalia.api.rest.RestClient;
 import com.verifalia.api.rest.RestRequest;
 import com.verifalia.api.rest.RestResponse;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
-import net.sf.json.JSONObject;
 import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Allows to authenticate a REST client against the Verifalia API using bearer authentication.
  */
@@ -53,7 +56,11 @@ import org.apache.http.entity.StringEntity;
 public class BearerAuthenticationProvider extends AuthenticationProvider {
     private String username;
     private String password;
-    private String accessToken;
+    private volatile String accessToken;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Lock accessTokenLock = new ReentrantLock();
 
     /**
      * Initializes a new bearer authentication provider for the Verifalia API, with the specified username and password.
@@ -77,19 +84,48 @@ public class BearerAuthenticationProvider extends AuthenticationProvider {
 
         RestRequest request = new RestRequest(HttpRequestMethod.POST,
                 "auth/tokens",
-                new StringEntity(RestRequest.serializeToJson(credentials), "UTF-8"));
+                new StringEntity(client.serializeToJson(credentials), "UTF-8"));
 
         // Sends the request to the Verifalia servers
         RestResponse response = client.execute(request, new AuthenticationProvider() { });
-        return response.deserialize(JSONObject.class).getString("accessToken");
+        AccessToken accessToken = response.deserialize(AccessToken.class);
+
+        if (accessToken == null || accessToken.getAccessToken() == null) {
+            throw new VerifaliaException("The authentication response does not include an access token.");
+        }
+
+        return accessToken.getAccessToken();
     }
 
     private String getAuthString(RestClient client) throws VerifaliaException {
-        if (accessToken == null) {
-            accessToken = getBearerToken(client, username, password);
+        String token = accessToken;
+
+        if (token == null) {
+            // Concurrent requests wait for a single token acquisition
+
+            accessTokenLock.lock();
+
+            try {
+                token = accessToken;
+
+                if (token == null) {
+                    token = getBearerToken(client, username, password);
+                    accessToken = token;
+                }
+            } finally {
+                accessTokenLock.unlock();
+            }
         }
 
-        return "Bearer " + accessToken;
+        return "Bearer " + token;
+    }
+
+    /**
+     * Acquires the bearer token, unless already available.
+     */
+    @Override
+    public void warmUp(RestClient client) throws VerifaliaException {
+        getAuthString(client);
     }
 
     @Override
@@ -103,4 +139,10 @@ public class BearerAuthenticationProvider extends AuthenticationProvider {
         private String username;
         private String password;
     }
+
+    @Getter
+    @Setter
+    private static class AccessToken {
+        private String accessToken;
+    }
 }
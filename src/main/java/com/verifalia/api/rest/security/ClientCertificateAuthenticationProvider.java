@@ -31,29 +31,58 @@
 
 package com.verifalia.api.rest.security;
 
+import com.verifalia.api.exceptions.VerifaliaException;
 import com.verifalia.api.rest.RestClient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContexts;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static java.util.Objects.nonNull;
 
 /**
  * Allows to authenticate a REST client against the Verifalia API using an X509 client certificate.
+ * <p>The provider keeps a single pooled HTTP client for its certificate, so that connections - and their mutual TLS
+ * handshakes - are reused across requests, and TLS sessions are cached for resumption when new connections are needed.
+ * The key stores are reloaded, along with the client, only when their files change.
  */
 @Getter
 @Setter
-public class ClientCertificateAuthenticationProvider extends AuthenticationProvider {
+public class ClientCertificateAuthenticationProvider extends AuthenticationProvider implements Closeable {
     private static final String TLS_AUTHENTICATION_JKS = "jks";
+    private static final List<String> PREFERRED_TLS_PROTOCOLS = Arrays.asList("TLSv1.3", "TLSv1.2", "TLSv1.1");
+    private static final int MAX_CONNECTIONS = 256;
+    private static final int MAX_CONNECTIONS_PER_ROUTE = 64;
+    private static final int TLS_SESSION_CACHE_SIZE = 1024;
+    private static final int TLS_SESSION_TIMEOUT_SECONDS = 24 * 60 * 60;
+    private static final long RETIRED_CLIENT_GRACE_NANOS = Duration.ofMinutes(5).toNanos();
+    private static final Logger LOGGER = Logger.getLogger(ClientCertificateAuthenticationProvider.class.getName());
 
     /**
      * Certificate alias.
@@ -78,7 +107,32 @@ public class ClientCertificateAuthenticationProvider extends AuthenticationProvi
     /**
      * SSL Connection socket factory.
      */
-    private SSLConnectionSocketFactory sslConnectionSocketFactory;
+    private volatile SSLConnectionSocketFactory sslConnectionSocketFactory;
+
+    /**
+     * The minimum time between two checks of the key store files for changes.
+     */
+    private Duration keyStoreCheckInterval = Duration.ofMinutes(1);
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Lock clientLock = new ReentrantLock();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CloseableHttpClient pooledClient;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile long nextKeyStoreCheck;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String keyStoreFingerprint;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Deque<RetiredClient> retiredClients = new ArrayDeque<>();
 
     /**
      * Constructs an object for TLS client certificate authentication.
@@ -117,14 +171,10 @@ public class ClientCertificateAuthenticationProvider extends AuthenticationProvi
     private SSLConnectionSocketFactory getSSlConnectionSocketFactory(final String certAlias, final String certPassword,
                                                                      File identityStoreJksFile, File trustKeyStoreJksFile) throws Exception {
         // Load identity key store
-        KeyStore identityKeyStore = KeyStore.getInstance(TLS_AUTHENTICATION_JKS);
-        FileInputStream identityKeyStoreFile = new FileInputStream(identityStoreJksFile);
-        identityKeyStore.load(identityKeyStoreFile, certPassword.toCharArray());
+        KeyStore identityKeyStore = loadKeyStore(identityStoreJksFile, certPassword);
 
         // Load trust key store
-        KeyStore trustKeyStore = KeyStore.getInstance(TLS_AUTHENTICATION_JKS);
-        FileInputStream trustKeyStoreFile = new FileInputStream(trustKeyStoreJksFile);
-        trustKeyStore.load(trustKeyStoreFile, certPassword.toCharArray());
+        KeyStore trustKeyStore = loadKeyStore(trustKeyStoreJksFile, certPassword);
 
         // Load SSL context
         SSLContext sslContext = SSLContexts
@@ -135,18 +185,177 @@ public class ClientCertificateAuthenticationProvider extends AuthenticationProvi
                 .loadTrustMaterial(trustKeyStore, null)
                 .build();
 
-        // Initialize socket factory
+        // Cache the TLS sessions, so that new connections to the same endpoints can resume them instead of performing a
+        // full handshake
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+
+        if (sessionContext != null) {
+            sessionContext.setSessionCacheSize(TLS_SESSION_CACHE_SIZE);
+            sessionContext.setSessionTimeout(TLS_SESSION_TIMEOUT_SECONDS);
+        }
+
+        // Initialize socket factory, with the most recent TLS versions supported by the runtime
+        List<String> supportedProtocols = Arrays.asList(sslContext.getSupportedSSLParameters().getProtocols());
+        List<String> protocols = new ArrayList<>();
+
+        for (String protocol : PREFERRED_TLS_PROTOCOLS) {
+            if (supportedProtocols.contains(protocol)) {
+                protocols.add(protocol);
+            }
+        }
+
         return new SSLConnectionSocketFactory(sslContext,
-                new String[]{
-                        "TLSv1.1",
-                        "TLSv1.2"
-                },
+                protocols.toArray(new String[0]),
                 null,
                 SSLConnectionSocketFactory.getDefaultHostnameVerifier());
     }
 
+    private static KeyStore loadKeyStore(final File file, final String password) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(TLS_AUTHENTICATION_JKS);
+
+        try (InputStream stream = new FileInputStream(file)) {
+            keyStore.load(stream, password.toCharArray());
+        }
+
+        return keyStore;
+    }
+
+    /**
+     * Returns the pooled HTTP client of this provider, rebuilding it if the key store files have changed since it has
+     * been built; the files are checked at most once per {@link #getKeyStoreCheckInterval() check interval}. Should the
+     * changed files fail to load, the current client keeps being returned until the next check.
+     */
     @Override
     public CloseableHttpClient buildClient(RestClient client) throws IOException {
-        return HttpClients.custom().setSSLSocketFactory(this.getSSlConnectionSocketFactory()).build();
+        CloseableHttpClient httpClient = this.pooledClient;
+
+        if (httpClient != null && System.nanoTime() - nextKeyStoreCheck < 0) {
+            return httpClient;
+        }
+
+        clientLock.lock();
+
+        try {
+            httpClient = this.pooledClient;
+
+            if (httpClient != null && System.nanoTime() - nextKeyStoreCheck < 0) {
+                return httpClient;
+            }
+
+            String fingerprint = computeKeyStoreFingerprint();
+
+            if (httpClient == null || !fingerprint.equals(keyStoreFingerprint)) {
+                SSLConnectionSocketFactory socketFactory;
+
+                if (httpClient == null) {
+                    socketFactory = getSSlConnectionSocketFactory();
+                } else {
+                    try {
+                        socketFactory = getSSlConnectionSocketFactory(this.certAlias, this.certPassword,
+                                this.identityStoreJksFile, this.trustKeyStoreJksFile);
+                    } catch (Exception e) {
+                        // The key stores may be in the middle of being replaced: keep serving the requests with the
+                        // current client and try again at the next check
+
+                        LOGGER.log(Level.WARNING, "Cannot reload the client certificate, the current one is still in use.", e);
+                        nextKeyStoreCheck = System.nanoTime() + keyStoreCheckInterval.toNanos();
+
+                        return httpClient;
+                    }
+
+                    // Requests may still be using the previous client: close it only after a grace period
+
+                    retiredClients.addLast(new RetiredClient(httpClient, System.nanoTime() + RETIRED_CLIENT_GRACE_NANOS));
+                }
+
+                httpClient = buildPooledClient(socketFactory);
+                this.sslConnectionSocketFactory = socketFactory;
+                this.pooledClient = httpClient;
+                this.keyStoreFingerprint = fingerprint;
+            }
+
+            closeRetiredClients(false);
+            nextKeyStoreCheck = System.nanoTime() + keyStoreCheckInterval.toNanos();
+
+            return httpClient;
+        } finally {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the key stores and builds the pooled HTTP client ahead of the first request.
+     */
+    @Override
+    public void warmUp(RestClient client) throws VerifaliaException {
+        try {
+            buildClient(client);
+        } catch (IOException e) {
+            throw new VerifaliaException("Cannot load the client certificate.", e);
+        }
+    }
+
+    /**
+     * Closes the pooled HTTP client of this provider, which is rebuilt should the provider be used again.
+     */
+    @Override
+    public void close() {
+        clientLock.lock();
+
+        try {
+            if (this.pooledClient != null) {
+                retiredClients.addLast(new RetiredClient(this.pooledClient, System.nanoTime()));
+                this.pooledClient = null;
+            }
+
+            closeRetiredClients(true);
+        } finally {
+            clientLock.unlock();
+        }
+    }
+
+    private static CloseableHttpClient buildPooledClient(final SSLConnectionSocketFactory sslConnectionSocketFactory) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslConnectionSocketFactory)
+                .build());
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+
+        // All the connections authenticate with the same certificate: don't bind them to the TLS principal, otherwise
+        // the pool would never hand them out again to the (stateless) requests
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableConnectionState()
+                .build();
+    }
+
+    private String computeKeyStoreFingerprint() {
+        return fingerprintOf(identityStoreJksFile) + "|" + fingerprintOf(trustKeyStoreJksFile);
+    }
+
+    private static String fingerprintOf(final File file) {
+        return file == null ? "" : file.getAbsolutePath() + ":" + file.lastModified() + ":" + file.length();
+    }
+
+    private void closeRetiredClients(final boolean all) {
+        while (!retiredClients.isEmpty() && (all || System.nanoTime() - retiredClients.peekFirst().closeAfter >= 0)) {
+            try {
+                retiredClients.pollFirst().client.close();
+            } catch (IOException e) {
+                // Nothing to do
+            }
+        }
+    }
+
+    private static class RetiredClient {
+        final CloseableHttpClient client;
+        final long closeAfter;
+
+        RetiredClient(final CloseableHttpClient client, final long closeAfter) {
+            this.client = client;
+            this.closeAfter = closeAfter;
+        }
     }
 }
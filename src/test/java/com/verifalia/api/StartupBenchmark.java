@@ -0,0 +1,117 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api;
+
+import com.verifalia.api.rest.CodecFixtures;
+import com.verifalia.api.rest.LatencyStubServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the startup of the SDK, by launching a {@link StartupProbe} process several times against a
+ * {@link LatencyStubServer} and measuring each run, from the launch of the process to its exit. By default the probe
+ * runs on the same JVM as the benchmark; to compare it with a native image of the probe, pass the path of the
+ * executable after the number of runs:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.verifalia.api.StartupBenchmark 20
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.verifalia.api.StartupBenchmark 20 ./verifalia-startup-probe
+ * </pre>
+ * where the test classpath is the one printed by <tt>mvn dependency:build-classpath</tt>.
+ */
+public class StartupBenchmark {
+    private static final int DEFAULT_RUNS = 20;
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+        List<String> command = new ArrayList<>();
+
+        if (args.length > 1) {
+            command.addAll(Arrays.asList(args).subList(1, args.length));
+        } else {
+            command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(StartupProbe.class.getName());
+        }
+
+        try (LatencyStubServer server = new LatencyStubServer(CodecFixtures.utf8(CodecFixtures.COMPLETED_VALIDATION), 0)) {
+            command.add(server.getBaseURI().toString());
+
+            // The first run only warms up the caches of the operating system
+
+            run(command);
+
+            List<Long> elapsedMillis = new ArrayList<>();
+
+            for (int i = 0; i < runs; i++) {
+                elapsedMillis.add(run(command));
+            }
+
+            Collections.sort(elapsedMillis);
+
+            System.out.printf("%s: %d runs, min %d ms, p50 %d ms, p90 %d ms, max %d ms%n",
+                    String.join(" ", command.subList(0, 1)),
+                    runs,
+                    elapsedMillis.get(0),
+                    percentile(elapsedMillis, 0.5),
+                    percentile(elapsedMillis, 0.9),
+                    elapsedMillis.get(elapsedMillis.size() - 1));
+        }
+    }
+
+    private static long run(final List<String> command) throws IOException, InterruptedException {
+        long startedOn = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        int exitCode = process.waitFor();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedOn);
+
+        if (exitCode != 0) {
+            throw new IllegalStateException("The probe exited with code " + exitCode + ".");
+        }
+
+        return elapsedMillis;
+    }
+
+    private static long percentile(final List<Long> sortedValues, final double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, index));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api;
+
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+
+import java.net.URI;
+import java.util.Collections;
+
+/**
+ * Submits one email address to the Verifalia API at the specified base URI and exits, so that {@link StartupBenchmark}
+ * can time a whole process, from its launch to its first completed validation. The probe runs on the JVM as well as
+ * compiled ahead of time by GraalVM, which picks up the reachability metadata of the SDK:
+ * <pre>
+ * native-image -cp target/test-classes:target/classes:&lt;test classpath&gt; com.verifalia.api.StartupProbe verifalia-startup-probe
+ * </pre>
+ */
+public class StartupProbe {
+    public static void main(final String[] args) throws VerifaliaException {
+        if (args.length != 1) {
+            System.err.println("Usage: StartupProbe <base URI>");
+            System.exit(2);
+        }
+
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        VerifaliaRestClient client = new VerifaliaRestClient(new RestClient(anonymous, Collections.singletonList(URI.create(args[0])),
+                VerifaliaRestClient.DEFAULT_API_VERSION));
+        Validation validation = client.getEmailValidations().submit("alice@example.com");
+
+        System.out.println(validation.getEntries().get(0).getClassification());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.rest.LatencyStubServer;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.RestClientOptions;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the asynchronous operations of the SDK running on the platform threads of
+ * {@link VerifaliaExecutors#newPlatformThreadExecutor()} with the ones running on the virtual threads of
+ * {@link VerifaliaExecutors#newVirtualThreadPerTaskExecutor()}. Each operation issues a burst of concurrent balance
+ * requests to a {@link LatencyStubServer}, and waits for all of them.
+ * <p>Virtual threads require Java 21 or later: on older runtimes the <tt>virtual</tt> runs fail in their setup. Once the
+ * test sources are compiled with <tt>mvn test-compile</tt>, run the benchmark on Java 21 with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main ExecutorBenchmark -prof gc
+ * </pre>
+ * where the test classpath is the one printed by <tt>mvn dependency:build-classpath</tt>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+    private static final byte[] BALANCE = "{\"creditPacks\":1000,\"freeCredits\":100}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private LatencyStubServer server;
+    private ExecutorService executor;
+    private VerifaliaRestClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("virtual".equals(threads) && !VerifaliaExecutors.isVirtualThreadSupported()) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later.");
+        }
+
+        server = new LatencyStubServer(BALANCE, latencyMillis);
+
+        executor = "virtual".equals(threads)
+                ? VerifaliaExecutors.newVirtualThreadPerTaskExecutor()
+                : VerifaliaExecutors.newPlatformThreadExecutor();
+
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        client = new VerifaliaRestClient(new RestClient(anonymous, Collections.singletonList(server.getBaseURI()), "v2.1",
+                RestClientOptions.builder().executor(executor).build()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        server.close();
+    }
+
+    @Benchmark
+    public int getBalanceBurst() {
+        List<CompletableFuture<Balance>> balances = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            balances.add(client.getCredits().getBalanceAsync());
+        }
+
+        CompletableFuture.allOf(balances.toArray(new CompletableFuture[0])).join();
+        return balances.size();
+    }
+}
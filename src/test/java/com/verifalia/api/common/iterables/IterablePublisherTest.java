@@ -0,0 +1,183 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.iterables;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that an {@link IterablePublisher} retrieves the segments of a listing only as the subscriber signals demand.
+ */
+public class IterablePublisherTest {
+    @Test
+    public void retrievesSegmentsOnlyOnDemand() {
+        PagedIterable source = new PagedIterable(Arrays.asList("a", "b"), Arrays.asList("c", "d"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new IterablePublisher<>(() -> source, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        assertEquals(1, source.retrievedPages);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(2);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), subscriber.items);
+        assertEquals(2, source.retrievedPages);
+        assertFalse(subscriber.completed);
+
+        // The listing is exhausted: a further request completes the subscription without retrieving other items
+
+        subscriber.subscription.request(1);
+
+        assertEquals(4, subscriber.items.size());
+        assertEquals(2, source.retrievedPages);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void completesUnboundedSubscriptions() {
+        PagedIterable source = new PagedIterable(Arrays.asList("a", "b"), Arrays.asList("c"));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new IterablePublisher<>(() -> source, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(Arrays.asList("a", "b", "c"), subscriber.items);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void signalsRejectedDrains() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new IterablePublisher<>(() -> Arrays.asList("a"), command -> {
+            throw new RejectedExecutionException();
+        }).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    public void signalsInvalidRequests() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        new IterablePublisher<>(() -> Arrays.asList("a"), Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    /**
+     * An iterable which, like the listings of the Verifalia API, retrieves a page whenever the previous one is
+     * exhausted and its iterator is asked for more items.
+     */
+    private static class PagedIterable implements Iterable<String> {
+        private final List<List<String>> pages;
+        private int retrievedPages;
+
+        @SafeVarargs
+        PagedIterable(final List<String>... pages) {
+            this.pages = Arrays.asList(pages);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private Iterator<String> page = new ArrayList<String>().iterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!page.hasNext() && retrievedPages < pages.size()) {
+                        page = pages.get(retrievedPages++).iterator();
+                    }
+
+                    return page.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return page.next();
+                }
+            };
+        }
+    }
+
+    private static class RecordingSubscriber implements Subscriber<String> {
+        private final List<String> items = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final String item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
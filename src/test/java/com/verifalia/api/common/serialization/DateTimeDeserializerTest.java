@@ -0,0 +1,112 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.serialization;
+
+import org.codehaus.jackson.Version;
+import org.codehaus.jackson.map.JsonMappingException;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.module.SimpleModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DateTimeDeserializerTest {
+    private ObjectMapper mapper;
+
+    @Before
+    public void setUp() {
+        SimpleModule module = new SimpleModule("DateTimeDeserializerTest", Version.unknownVersion());
+        module.addDeserializer(Date.class, new DateTimeDeserializer());
+
+        mapper = new ObjectMapper();
+        mapper.registerModule(module);
+    }
+
+    @Test
+    public void deserializesUtcTimestamps() throws IOException {
+        assertEquals(date("2020-06-01T10:15:30.123Z"), deserialize("\"2020-06-01T10:15:30.123Z\""));
+    }
+
+    @Test
+    public void deserializesTimestampsWithOffsets() throws IOException {
+        assertEquals(date("2020-06-01T08:15:30Z"), deserialize("\"2020-06-01T10:15:30+02:00\""));
+    }
+
+    @Test
+    public void deserializesTimestampsWithoutOffsetsAsUtc() throws IOException {
+        TimeZone defaultTimeZone = TimeZone.getDefault();
+
+        // The result must not depend on the time zone of the JVM
+
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertEquals(date("2020-06-01T10:15:30Z"), deserialize("\"2020-06-01T10:15:30\""));
+        } finally {
+            TimeZone.setDefault(defaultTimeZone);
+        }
+    }
+
+    @Test
+    public void deserializesEpochMilliseconds() throws IOException {
+        assertEquals(new Date(1591006530123L), deserialize("1591006530123"));
+    }
+
+    @Test
+    public void deserializesNullsAndBlanksToNull() throws IOException {
+        assertNull(deserialize("null"));
+        assertNull(deserialize("\" \""));
+    }
+
+    @Test
+    public void fallsBackToTheDateParsingOfTheContext() throws IOException {
+        assertEquals(date("2020-06-01T10:15:30Z"), deserialize("\"Mon, 01 Jun 2020 10:15:30 GMT\""));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void rejectsInvalidTimestamps() throws IOException {
+        deserialize("\"yesterday\"");
+    }
+
+    private Date deserialize(final String json) throws IOException {
+        return mapper.readValue(json, Date.class);
+    }
+
+    private static Date date(final String value) {
+        return Date.from(Instant.parse(value));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.serialization;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time spans and dates parsed and formatted by {@link TimeSpanFormat} and {@link IsoDateFormat} against
+ * the string based parsing they replace; run it with the JMH GC profiler to check that the buffer based methods do
+ * not allocate beyond their results. The benchmark is not run by the build; once the test sources are compiled with
+ * <tt>mvn test-compile</tt>, run it with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main DateTimeFormatBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeFormatBenchmark {
+    private static final String TIME_SPAN = "1.02:03:04";
+    private static final String TIMESTAMP = "2020-06-01T10:15:30.1234567Z";
+    private static final String LOCAL_DATE = "2020-06-01";
+    private static final DateTimeFormatter LOCAL_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final char[] timeSpan = TIME_SPAN.toCharArray();
+    private final char[] timestamp = TIMESTAMP.toCharArray();
+    private final char[] localDate = LOCAL_DATE.toCharArray();
+    private final char[] output = new char[TimeSpanFormat.MAX_LENGTH];
+    private final Duration duration = Duration.ofDays(1).plusHours(2).plusMinutes(3).plusSeconds(4);
+    private final LocalDate date = LocalDate.of(2020, 6, 1);
+
+    @Benchmark
+    public Duration parseTimeSpan() {
+        return TimeSpanFormat.parse(timeSpan, 0, timeSpan.length);
+    }
+
+    @Benchmark
+    public Duration parseTimeSpanBySplitting() {
+        String[] dayFields = TIME_SPAN.split("\\.");
+        String[] timeFields = dayFields[1].split(":");
+
+        return Duration.ofSeconds(Integer.parseInt(dayFields[0]) * 86_400L +
+                Integer.parseInt(timeFields[0]) * 3_600L +
+                Integer.parseInt(timeFields[1]) * 60L +
+                Integer.parseInt(timeFields[2]));
+    }
+
+    @Benchmark
+    public int formatTimeSpan() {
+        return TimeSpanFormat.format(duration, output, 0);
+    }
+
+    @Benchmark
+    public long parseTimestamp() {
+        return IsoDateFormat.parseDateTime(timestamp, 0, timestamp.length);
+    }
+
+    @Benchmark
+    public long parseTimestampWithJavaTime() {
+        return OffsetDateTime.parse(TIMESTAMP).toInstant().toEpochMilli();
+    }
+
+    @Benchmark
+    public LocalDate parseLocalDate() {
+        return IsoDateFormat.parseLocalDate(localDate, 0, localDate.length);
+    }
+
+    @Benchmark
+    public LocalDate parseLocalDateWithJavaTime() {
+        return LocalDate.parse(LOCAL_DATE, LOCAL_DATE_FORMATTER);
+    }
+
+    @Benchmark
+    public int formatLocalDate() {
+        return IsoDateFormat.formatLocalDate(date, output, 0);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.serialization;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+
+public class IsoDateFormatTest {
+    @Test
+    public void parsesLocalDates() {
+        assertEquals(LocalDate.of(2020, 2, 29), parseLocalDate("2020-02-29"));
+        assertEquals(LocalDate.of(1999, 12, 31), parseLocalDate("1999-12-31"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonexistentLocalDates() {
+        parseLocalDate("2021-02-29");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLocalDatesWithTimes() {
+        parseLocalDate("2020-02-29T00:00");
+    }
+
+    @Test
+    public void formatsLocalDates() {
+        assertEquals("2020-02-09", IsoDateFormat.formatLocalDate(LocalDate.of(2020, 2, 9)));
+        assertEquals("0001-01-01", IsoDateFormat.formatLocalDate(LocalDate.of(1, 1, 1)));
+    }
+
+    @Test
+    public void roundTripsLocalDates() {
+        for (LocalDate value = LocalDate.of(2019, 12, 25); value.getYear() < 2021; value = value.plusDays(17)) {
+            assertEquals(value, parseLocalDate(IsoDateFormat.formatLocalDate(value)));
+        }
+    }
+
+    @Test
+    public void parsesUtcTimestamps() {
+        assertEquals(epochMillis("2020-06-01T10:15:30Z"), parseDateTime("2020-06-01T10:15:30Z"));
+        assertEquals(epochMillis("2020-06-01T10:15:30Z"), parseDateTime("2020-06-01t10:15:30z"));
+        assertEquals(epochMillis("1969-07-20T20:17:00Z"), parseDateTime("1969-07-20T20:17Z"));
+    }
+
+    @Test
+    public void parsesTimestampsWithoutOffsetsAsUtc() {
+        assertEquals(epochMillis("2020-06-01T10:15:30Z"), parseDateTime("2020-06-01T10:15:30"));
+        assertEquals(epochMillis("2020-06-01T10:15:30Z"), parseDateTime("2020-06-01 10:15:30"));
+        assertEquals(epochMillis("2020-06-01T00:00:00Z"), parseDateTime("2020-06-01"));
+    }
+
+    @Test
+    public void parsesTimestampsWithOffsets() {
+        assertEquals(epochMillis("2020-06-01T10:15:30+02:00"), parseDateTime("2020-06-01T10:15:30+02:00"));
+        assertEquals(epochMillis("2020-06-01T10:15:30+02:00"), parseDateTime("2020-06-01T10:15:30+0200"));
+        assertEquals(epochMillis("2020-06-01T10:15:30-05:30"), parseDateTime("2020-06-01T10:15:30-05:30"));
+        assertEquals(epochMillis("2020-06-01T10:15:30+02:00"), parseDateTime("2020-06-01T10:15:30+02"));
+    }
+
+    @Test
+    public void parsesFractionalSeconds() {
+        assertEquals(epochMillis("2020-06-01T10:15:30Z") + 500, parseDateTime("2020-06-01T10:15:30.5Z"));
+        assertEquals(epochMillis("2020-06-01T10:15:30Z") + 123, parseDateTime("2020-06-01T10:15:30.123Z"));
+        assertEquals(epochMillis("2020-06-01T10:15:30Z") + 123, parseDateTime("2020-06-01T10:15:30,1239999+00:00"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyFractions() {
+        parseDateTime("2020-06-01T10:15:30.Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOutOfRangeTimes() {
+        parseDateTime("2020-06-01T24:00:00Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOutOfRangeOffsets() {
+        parseDateTime("2020-06-01T10:15:30+19:00");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTrailingGarbage() {
+        parseDateTime("2020-06-01T10:15:30Zulu");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonIsoTimestamps() {
+        parseDateTime("Mon, 01 Jun 2020 10:15:30 GMT");
+    }
+
+    @Test
+    public void parsesPortionsOfBuffers() {
+        char[] buffer = "[\"2020-06-01T10:15:30Z\"]".toCharArray();
+
+        assertEquals(epochMillis("2020-06-01T10:15:30Z"), IsoDateFormat.parseDateTime(buffer, 2, buffer.length - 4));
+    }
+
+    private static LocalDate parseLocalDate(final String value) {
+        return IsoDateFormat.parseLocalDate(value.toCharArray(), 0, value.length());
+    }
+
+    private static long parseDateTime(final String value) {
+        return IsoDateFormat.parseDateTime(value.toCharArray(), 0, value.length());
+    }
+
+    private static long epochMillis(final String value) {
+        return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.serialization;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+public class TimeSpanFormatTest {
+    @Test
+    public void parsesHoursMinutesAndSeconds() {
+        assertEquals(Duration.ofHours(1).plusMinutes(2).plusSeconds(3), TimeSpanFormat.parse("01:02:03"));
+        assertEquals(Duration.ofMinutes(90), TimeSpanFormat.parse("01:30"));
+        assertEquals(Duration.ZERO, TimeSpanFormat.parse("00:00:00"));
+    }
+
+    @Test
+    public void parsesDayPrefixedSpans() {
+        assertEquals(Duration.ofDays(1).plusMinutes(30), TimeSpanFormat.parse("1.00:30:00"));
+        assertEquals(Duration.ofDays(365).plusHours(23), TimeSpanFormat.parse("365.23:00"));
+        assertEquals(Duration.ofDays(2), TimeSpanFormat.parse("2"));
+    }
+
+    @Test
+    public void parsesFractionalSeconds() {
+        assertEquals(Duration.ofSeconds(5, 500_000_000), TimeSpanFormat.parse("00:00:05.5"));
+        assertEquals(Duration.ofSeconds(5, 123_456_700), TimeSpanFormat.parse("00:00:05.1234567"));
+        assertEquals(Duration.ofSeconds(5, 123_456_789), TimeSpanFormat.parse("00:00:05.123456789"));
+    }
+
+    @Test
+    public void parsesNegativeSpans() {
+        assertEquals(Duration.ofMinutes(-90), TimeSpanFormat.parse("-01:30:00"));
+        assertEquals(Duration.ofDays(-1).minusMillis(250), TimeSpanFormat.parse("-1.00:00:00.25"));
+    }
+
+    @Test
+    public void parsesPortionsOfBuffers() {
+        char[] buffer = "\"  00:10:00 \"".toCharArray();
+
+        assertEquals(Duration.ofMinutes(10), TimeSpanFormat.parse(buffer, 1, buffer.length - 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptySpans() {
+        TimeSpanFormat.parse("");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOutOfRangeComponents() {
+        TimeSpanFormat.parse("00:60:00");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTrailingGarbage() {
+        TimeSpanFormat.parse("00:10:00x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyFractions() {
+        TimeSpanFormat.parse("00:10:00.");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMissingMinutes() {
+        TimeSpanFormat.parse("1.10");
+    }
+
+    @Test
+    public void formatsSpans() {
+        assertEquals("00:00:00", TimeSpanFormat.format(Duration.ZERO));
+        assertEquals("01:02:03", TimeSpanFormat.format(Duration.ofSeconds(3723)));
+        assertEquals("1.00:30:00", TimeSpanFormat.format(Duration.ofDays(1).plusMinutes(30)));
+        assertEquals("00:00:05.1234567", TimeSpanFormat.format(Duration.ofSeconds(5, 123_456_789)));
+        assertEquals("-00:00:00.5000000", TimeSpanFormat.format(Duration.ofMillis(-500)));
+        assertEquals("-1.01:00:00", TimeSpanFormat.format(Duration.ofHours(-25)));
+    }
+
+    @Test
+    public void formatsIntoPortionsOfBuffers() {
+        char[] buffer = new char[TimeSpanFormat.MAX_LENGTH + 2];
+        int length = TimeSpanFormat.format(Duration.ofMinutes(10), buffer, 2);
+
+        assertEquals("00:10:00", new String(buffer, 2, length));
+    }
+
+    @Test
+    public void roundTrips() {
+        Duration[] values = {
+                Duration.ZERO,
+                Duration.ofMillis(1),
+                Duration.ofSeconds(59, 999_999_900),
+                Duration.ofDays(10_000).plusHours(23).plusMinutes(59),
+                Duration.ofMillis(-1),
+                Duration.ofDays(-3).minusSeconds(1)
+        };
+
+        for (Duration value : values) {
+            assertEquals(value, TimeSpanFormat.parse(TimeSpanFormat.format(value)));
+        }
+    }
+}
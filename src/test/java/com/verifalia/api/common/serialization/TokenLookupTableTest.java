@@ -0,0 +1,169 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.common.serialization;
+
+import com.verifalia.api.emailvalidations.models.ValidationEntryStatus;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TokenLookupTableTest {
+    @Test
+    public void findsTokensIgnoringTheirCase() {
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(tokens("Alpha", "Beta", "Gamma"));
+
+        assertEquals(Integer.valueOf(0), table.find("Alpha"));
+        assertEquals(Integer.valueOf(1), table.find("beta"));
+        assertEquals(Integer.valueOf(2), table.find("GAMMA"));
+    }
+
+    @Test
+    public void returnsNullForUnknownTokens() {
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(tokens("Alpha", "Beta", "Gamma"));
+
+        assertNull(table.find(""));
+        assertNull(table.find("Alph"));
+        assertNull(table.find("Alphas"));
+        assertNull(table.find("Delta"));
+    }
+
+    @Test
+    public void findsTokensInPortionsOfBuffers() {
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(tokens("Alpha", "Beta"));
+        char[] buffer = "[\"beta\",\"alpha\"]".toCharArray();
+
+        assertEquals(Integer.valueOf(1), table.find(buffer, 2, 4));
+        assertEquals(Integer.valueOf(0), table.find(buffer, 9, 5));
+        assertNull(table.find(buffer, 2, 3));
+    }
+
+    @Test
+    public void findsEveryTokenOfLargeTables() {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            entries.put("Token" + i, i);
+        }
+
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(entries);
+
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            assertEquals(entry.getValue(), table.find(entry.getKey().toLowerCase()));
+        }
+
+        assertNull(table.find("Token1000"));
+    }
+
+    @Test
+    public void acceptsEmptyTables() {
+        assertNull(new TokenLookupTable<>(new HashMap<String, Integer>()).find("Alpha"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTokensWhichDifferOnlyByCase() {
+        new TokenLookupTable<>(tokens("Alpha", "ALPHA"));
+    }
+
+    @Test
+    public void sharesTheTablesOfEnums() {
+        TokenLookupTable<ValidationEntryStatus> table = TokenLookupTable.forEnum(ValidationEntryStatus.class);
+
+        assertSame(table, TokenLookupTable.forEnum(ValidationEntryStatus.class));
+
+        for (ValidationEntryStatus status : ValidationEntryStatus.values()) {
+            assertSame(status, table.find(status.name()));
+        }
+    }
+
+    @Test
+    public void findsTheCurrentTokenOfParsers() throws IOException {
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(tokens("Alpha", "Beta"));
+        JsonParser parser = new JsonFactory().createJsonParser("{\"beta\":\"ALPHA\",\"gamma\":null}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(Integer.valueOf(1), table.find(parser));
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals(Integer.valueOf(0), table.find(parser));
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertNull(table.find(parser));
+    }
+
+    @Test
+    public void findsFieldNamesOnceTheirCacheIsFull() throws IOException {
+        TokenLookupTable<Integer> table = new TokenLookupTable<>(tokens("Alpha", "Beta"));
+        StringBuilder json = new StringBuilder("{\"alpha\":1");
+
+        for (int i = 0; i < 300; i++) {
+            json.append(",\"unknown").append(i).append("\":1");
+        }
+
+        json.append(",\"BETA\":1,\"alpha\":1,\"unknown0\":1}");
+        JsonParser parser = new JsonFactory().createJsonParser(json.toString());
+        List<Integer> values = new ArrayList<>();
+
+        for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+            if (token == JsonToken.FIELD_NAME) {
+                values.add(table.find(parser));
+            }
+        }
+
+        assertEquals(304, values.size());
+        assertEquals(Integer.valueOf(0), values.get(0));
+        assertEquals(Integer.valueOf(1), values.get(301));
+        assertEquals(Integer.valueOf(0), values.get(302));
+        assertNull(values.get(303));
+        assertEquals(301, Collections.frequency(values, null));
+    }
+
+    private static Map<String, Integer> tokens(final String... tokens) {
+        Map<String, Integer> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < tokens.length; i++) {
+            entries.put(tokens[i], i);
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.credits;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.credits.models.CreditAdmissionOptions;
+import com.verifalia.api.emailvalidations.models.QualityLevelName;
+import com.verifalia.api.exceptions.InsufficientCreditException;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks the reservations of a {@link CreditAdmissionController} and their reconciliation with the refreshed balance,
+ * against a stub of the Verifalia API.
+ */
+public class CreditAdmissionControllerTest {
+    private static final double DELTA = 1e-9;
+
+    private HttpServer server;
+    private volatile double creditPacks = 10;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void reservesOnlyTheAvailableCredits() throws Exception {
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient())) {
+            CreditReservation reservation = controller.reserve(6);
+
+            assertEquals(4, controller.getAvailableCredits(), DELTA);
+            assertNull(controller.tryReserve(5));
+
+            try {
+                controller.reserve(5);
+                throw new AssertionError("The reservation exceeding the available credits was granted.");
+            } catch (InsufficientCreditException e) {
+                // Expected
+            }
+
+            reservation.release();
+            reservation.release();
+
+            assertEquals(10, controller.getAvailableCredits(), DELTA);
+        }
+    }
+
+    @Test
+    public void keepsTheSafetyMarginUnreserved() throws Exception {
+        CreditAdmissionOptions options = CreditAdmissionOptions.builder()
+                .safetyMargin(3)
+                .build();
+
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient(), options)) {
+            assertEquals(7, controller.getAvailableCredits(), DELTA);
+            assertNull(controller.tryReserve(8));
+        }
+    }
+
+    @Test
+    public void deductsCommittedDebitsUntilTheNextRefresh() throws Exception {
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient())) {
+            CreditReservation reservation = controller.reserve(4);
+            reservation.commit();
+
+            // Releasing a committed reservation has no effect
+
+            reservation.release();
+            assertEquals(6, controller.getAvailableCredits(), DELTA);
+
+            // Verifalia has deducted the credits on submission
+
+            creditPacks = 6;
+            controller.refresh();
+
+            assertEquals(6, controller.getAvailableCredits(), DELTA);
+        }
+    }
+
+    @Test
+    public void deductsCommittedDebitsForTheReconciliationWindow() throws Exception {
+        CreditAdmissionOptions options = CreditAdmissionOptions.builder()
+                .reconciliationWindow(Duration.ofHours(1))
+                .build();
+
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient(), options)) {
+            controller.reserve(4).commit();
+
+            // Verifalia has not deducted the credits yet, as the job is still running
+
+            controller.refresh();
+
+            assertEquals(6, controller.getAvailableCredits(), DELTA);
+        }
+    }
+
+    @Test
+    public void grantsWaitingReservationsOnceReleased() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient())) {
+            CreditReservation reservation = controller.reserve(8);
+            Future<CreditReservation> waiting = executor.submit(() -> controller.reserve(5, Duration.ofSeconds(10)));
+
+            Thread.sleep(100);
+            assertFalse(waiting.isDone());
+
+            reservation.close();
+
+            assertEquals(5, waiting.get(10, TimeUnit.SECONDS).getCredits(), DELTA);
+            assertEquals(5, controller.getAvailableCredits(), DELTA);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void estimatesCostsByQualityLevel() {
+        try (CreditAdmissionController controller = new CreditAdmissionController(verifaliaRestClient())) {
+            assertEquals(10, controller.estimateCost(10, null), DELTA);
+            assertEquals(20, controller.estimateCost(10, QualityLevelName.High), DELTA);
+            assertEquals(40, controller.estimateCost(10, QualityLevelName.Extreme), DELTA);
+            assertEquals(10, controller.estimateCost(10, new QualityLevelName("Custom")), DELTA);
+        }
+    }
+
+    private VerifaliaRestClient verifaliaRestClient() {
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        return new VerifaliaRestClient(new RestClient(anonymous,
+                Collections.singletonList(URI.create("http://127.0.0.1:" + server.getAddress().getPort())), "v2.1"));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        byte[] body = String.format("{\"creditPacks\":%s,\"freeCredits\":0}", creditPacks).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.emailvalidations.models.MicroBatchingOptions;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks how a {@link MicroBatchingSubmitter} maps the entries of its batches back to their callers, against a stub of
+ * the Verifalia API which returns the entries in reverse order.
+ */
+public class MicroBatchingSubmitterTest {
+    private static final Pattern INPUT_DATA = Pattern.compile("\"inputData\":\"([^\"]*)\"");
+
+    private HttpServer server;
+    private volatile int returnedEntries = Integer.MAX_VALUE;
+    private volatile int statusCode = 200;
+    private volatile List<String> submittedAddresses = Collections.emptyList();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void fansOutTheEntriesByIndex() throws Exception {
+        List<CompletableFuture<ValidationEntry>> futures = new ArrayList<>();
+
+        try (MicroBatchingSubmitter submitter = newSubmitter(3)) {
+            futures.add(submitter.submit("alice@example.com"));
+            futures.add(submitter.submit("bob@example.com"));
+            futures.add(submitter.submit("alice@example.com"));
+        }
+
+        assertEntries(futures, "alice@example.com", "bob@example.com", "alice@example.com");
+    }
+
+    @Test
+    public void listsTheEntriesOfTruncatedBatches() throws Exception {
+        List<CompletableFuture<ValidationEntry>> futures = new ArrayList<>();
+
+        returnedEntries = 1;
+
+        try (MicroBatchingSubmitter submitter = newSubmitter(50)) {
+            futures.add(submitter.submit("alice@example.com"));
+            futures.add(submitter.submit("bob@example.com"));
+            futures.add(submitter.submit("carol@example.com"));
+        }
+
+        assertEntries(futures, "alice@example.com", "bob@example.com", "carol@example.com");
+    }
+
+    @Test
+    public void failsEveryAddressOfAFailedBatch() throws Exception {
+        List<CompletableFuture<ValidationEntry>> futures = new ArrayList<>();
+
+        statusCode = 500;
+
+        try (MicroBatchingSubmitter submitter = newSubmitter(50)) {
+            futures.add(submitter.submit("alice@example.com"));
+            futures.add(submitter.submit("bob@example.com"));
+        }
+
+        for (CompletableFuture<ValidationEntry> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                fail("The batch should have failed.");
+            } catch (ExecutionException e) {
+                // Expected
+            }
+        }
+    }
+
+    private MicroBatchingSubmitter newSubmitter(final int maxBatchSize) {
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        RestClient restClient = new RestClient(anonymous, Collections.singletonList(URI.create("http://127.0.0.1:" + server.getAddress().getPort())), "v2.1");
+
+        return new MicroBatchingSubmitter(new EmailValidationsRestClient(restClient), MicroBatchingOptions.builder()
+                .maxBatchSize(maxBatchSize)
+                .maxDelay(Duration.ofHours(1))
+                .build());
+    }
+
+    private static void assertEntries(final List<CompletableFuture<ValidationEntry>> futures, final String... emailAddresses) throws Exception {
+        for (int i = 0; i < emailAddresses.length; i++) {
+            ValidationEntry entry = futures.get(i).get(10, TimeUnit.SECONDS);
+
+            assertEquals(Integer.valueOf(i), entry.getIndex());
+            assertEquals(emailAddresses[i], entry.getInputData());
+        }
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        String body;
+
+        if (exchange.getRequestMethod().equals("POST")) {
+            List<String> addresses = new ArrayList<>();
+            Matcher matcher = INPUT_DATA.matcher(readBody(exchange.getRequestBody()));
+
+            while (matcher.find()) {
+                addresses.add(matcher.group(1));
+            }
+
+            submittedAddresses = addresses;
+            body = "{\"overview\":{\"id\":\"batch-id\",\"status\":\"Completed\",\"noOfEntries\":" + addresses.size() + "}," +
+                    "\"entries\":{\"data\":" + entries(Math.min(returnedEntries, addresses.size())) + "}}";
+        } else {
+            assertTrue(exchange.getRequestURI().getPath().endsWith("/batch-id/entries"));
+            body = "{\"data\":" + entries(submittedAddresses.size()) + ",\"meta\":{\"isTruncated\":false}}";
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Returns the entries of the first submitted addresses, from the last to the first.
+     */
+    private String entries(final int count) {
+        StringBuilder entries = new StringBuilder("[");
+
+        for (int index = count - 1; index >= 0; index--) {
+            if (entries.length() > 1) {
+                entries.append(',');
+            }
+
+            entries.append("{\"index\":").append(index)
+                    .append(",\"inputData\":\"").append(submittedAddresses.get(index))
+                    .append("\",\"classification\":\"Deliverable\",\"status\":\"Success\"}");
+        }
+
+        return entries.append(']').toString();
+    }
+
+    private static String readBody(final InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+
+        for (int read; (read = input.read(buffer)) > 0; ) {
+            output.write(buffer, 0, read);
+        }
+
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
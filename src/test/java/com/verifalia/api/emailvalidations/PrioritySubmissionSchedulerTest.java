@@ -0,0 +1,221 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations;
+
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.emailvalidations.models.PrioritySchedulerOptions;
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.emailvalidations.models.ValidationPriority;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.RestClientOptions;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the order in which a {@link PrioritySubmissionScheduler} serves its queued requests. The submissions run on a
+ * manual executor, so that each test decides when they complete, and are sent to a stub of the Verifalia API.
+ */
+public class PrioritySubmissionSchedulerTest {
+    private HttpServer server;
+    private final ManualExecutor executor = new ManualExecutor();
+
+    @Before
+    public void setUp() throws IOException {
+        byte[] body = "{\"overview\":{\"id\":\"job-id\",\"status\":\"Completed\"},\"entries\":{\"data\":[]}}".getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void reservesTheRealtimeLaneToHighPriorities() {
+        PrioritySubmissionScheduler scheduler = newScheduler(1, 1, null);
+
+        CompletableFuture<Validation> firstBulk = submit(scheduler, ValidationPriority.Lowest);
+        CompletableFuture<Validation> secondBulk = submit(scheduler, ValidationPriority.Lowest);
+        CompletableFuture<Validation> firstRealtime = submit(scheduler, ValidationPriority.Highest);
+        CompletableFuture<Validation> secondRealtime = submit(scheduler, ValidationPriority.Highest);
+
+        assertEquals(2, scheduler.getRunningCount());
+        assertEquals(2, scheduler.getQueuedCount());
+
+        // The bulk lane serves the highest priority first, whatever its lane
+
+        executor.runNext();
+        assertTrue(firstBulk.isDone());
+        assertEquals(2, scheduler.getRunningCount());
+        assertEquals(1, scheduler.getQueuedCount());
+
+        // The bulk request can't take the free real-time slot
+
+        executor.runNext();
+        assertTrue(firstRealtime.isDone());
+        assertEquals(1, scheduler.getRunningCount());
+        assertEquals(1, scheduler.getQueuedCount());
+
+        executor.runNext();
+        assertTrue(secondRealtime.isDone());
+        assertFalse(secondBulk.isDone());
+
+        executor.runNext();
+        assertTrue(secondBulk.isDone());
+        assertEquals(0, scheduler.getRunningCount());
+    }
+
+    @Test
+    public void servesHigherPrioritiesFirstWithoutAging() {
+        PrioritySubmissionScheduler scheduler = newScheduler(0, 1, null);
+
+        CompletableFuture<Validation> running = submit(scheduler, ValidationPriority.Normal);
+        CompletableFuture<Validation> low = submit(scheduler, ValidationPriority.Lowest);
+        CompletableFuture<Validation> firstNormal = submit(scheduler, ValidationPriority.Normal);
+        CompletableFuture<Validation> secondNormal = submit(scheduler, null);
+
+        executor.runNext();
+        assertTrue(running.isDone());
+
+        executor.runNext();
+        assertTrue(firstNormal.isDone());
+        assertFalse(secondNormal.isDone());
+
+        // Requests without a priority are queued as normal ones
+
+        executor.runNext();
+        assertTrue(secondNormal.isDone());
+        assertFalse(low.isDone());
+
+        executor.runNext();
+        assertTrue(low.isDone());
+    }
+
+    @Test
+    public void raisesThePriorityOfWaitingRequests() throws InterruptedException {
+        PrioritySubmissionScheduler scheduler = newScheduler(0, 1, Duration.ofMillis(1));
+
+        CompletableFuture<Validation> running = submit(scheduler, ValidationPriority.Normal);
+        CompletableFuture<Validation> low = submit(scheduler, ValidationPriority.Lowest);
+
+        // Waiting for 200 ms raises the lowest priority by about 200 levels, above a fresh normal request
+
+        Thread.sleep(200);
+
+        CompletableFuture<Validation> normal = submit(scheduler, ValidationPriority.Normal);
+
+        executor.runNext();
+        assertTrue(running.isDone());
+
+        executor.runNext();
+        assertTrue(low.isDone());
+        assertFalse(normal.isDone());
+    }
+
+    private PrioritySubmissionScheduler newScheduler(final int realtimeConcurrency, final int bulkConcurrency, final Duration agingInterval) {
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        RestClient restClient = new RestClient(anonymous,
+                Collections.singletonList(URI.create("http://127.0.0.1:" + server.getAddress().getPort())),
+                "v2.1",
+                RestClientOptions.builder()
+                        .executor(executor)
+                        .build());
+
+        return new PrioritySubmissionScheduler(new EmailValidationsRestClient(restClient), PrioritySchedulerOptions.builder()
+                .realtimeConcurrency(realtimeConcurrency)
+                .bulkConcurrency(bulkConcurrency)
+                .agingInterval(agingInterval)
+                .build());
+    }
+
+    private static CompletableFuture<Validation> submit(final PrioritySubmissionScheduler scheduler, final ValidationPriority priority) {
+        ValidationRequest request = new ValidationRequest("alice@example.com");
+        request.setPriority(priority);
+
+        return scheduler.submit(request, null);
+    }
+
+    /**
+     * An executor which runs its tasks on the calling thread, one at a time and only when asked to.
+     */
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public synchronized void execute(final Runnable task) {
+            tasks.add(task);
+        }
+
+        void runNext() {
+            Runnable task;
+
+            synchronized (this) {
+                task = tasks.poll();
+            }
+
+            assertTrue("No task to run", task != null);
+            task.run();
+        }
+    }
+}
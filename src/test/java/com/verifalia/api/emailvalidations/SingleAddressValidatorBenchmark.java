@@ -0,0 +1,96 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.emailvalidations.models.SingleAddressValidationResult;
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.rest.CodecFixtures;
+import com.verifalia.api.rest.LatencyStubServer;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency distribution - including its p50 and p99 percentiles - of validating one email address through
+ * a {@link SingleAddressValidator} with the one of {@link EmailValidationsRestClient#submit(String)}, against a
+ * {@link LatencyStubServer} which completes each job right away. Once the test sources are compiled with
+ * <tt>mvn test-compile</tt>, run the benchmark with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main SingleAddressValidatorBenchmark
+ * </pre>
+ * where the test classpath is the one printed by <tt>mvn dependency:build-classpath</tt>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SingleAddressValidatorBenchmark {
+    private LatencyStubServer server;
+    private EmailValidationsRestClient emailValidations;
+    private SingleAddressValidator validator;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new LatencyStubServer(CodecFixtures.utf8(CodecFixtures.COMPLETED_VALIDATION), 0);
+
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        emailValidations = new VerifaliaRestClient(new RestClient(anonymous, Collections.singletonList(server.getBaseURI()), "v2.1"))
+                .getEmailValidations();
+        validator = new SingleAddressValidator(emailValidations);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public SingleAddressValidationResult validate() throws VerifaliaException {
+        return validator.validate("alice@example.com");
+    }
+
+    @Benchmark
+    public Validation submit() throws VerifaliaException {
+        return emailValidations.submit("alice@example.com");
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.emailvalidations.jobs.FileValidationJobStore;
+import com.verifalia.api.emailvalidations.jobs.ValidationJobCompletionHandler;
+import com.verifalia.api.emailvalidations.models.Validation;
+import com.verifalia.api.emailvalidations.models.ValidationJob;
+import com.verifalia.api.emailvalidations.models.ValidationJobState;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a {@link ValidationJobManager} resumes the jobs left in a {@link FileValidationJobStore} by a previous
+ * process, against a stub of the Verifalia API.
+ */
+public class ValidationJobManagerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+    private final AtomicInteger submissions = new AtomicInteger();
+    private final Map<String, Validation> completions = new ConcurrentHashMap<>();
+    private final CountDownLatch completed = new CountDownLatch(4);
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void resumesTheStoredJobs() throws Exception {
+        FileValidationJobStore store = new FileValidationJobStore(folder.getRoot().toPath());
+
+        store.save(job("pending", ValidationJobState.Pending, null, 1));
+        store.save(job("accepted", ValidationJobState.Pending, "accepted-id", 2));
+        store.save(job("submitted", ValidationJobState.Submitted, "submitted-id", 3));
+        store.save(job("completed", ValidationJobState.Completed, "completed-id", 4));
+
+        ValidationJobCompletionHandler handler = (job, validation) -> {
+            completions.put(job.getKey(), validation);
+            completed.countDown();
+        };
+
+        try (ValidationJobManager manager = new ValidationJobManager(new VerifaliaRestClient(restClient()), store, handler)) {
+            manager.start();
+
+            assertTrue(completed.await(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals("new-id", completions.get("pending").getOverview().getId());
+        assertEquals("accepted-id", completions.get("accepted").getOverview().getId());
+        assertEquals("submitted-id", completions.get("submitted").getOverview().getId());
+        assertEquals("completed-id", completions.get("completed").getOverview().getId());
+        assertEquals(1, completions.get("pending").getEntries().size());
+
+        // Only the job never accepted by Verifalia is submitted again
+
+        assertEquals(1, submissions.get());
+
+        // The dispatched jobs are removed from the store once the handler returns
+
+        for (int attempt = 0; attempt < 100 && !store.loadAll().isEmpty(); attempt++) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, store.loadAll().size());
+    }
+
+    private RestClient restClient() {
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        return new RestClient(anonymous, Collections.singletonList(URI.create("http://127.0.0.1:" + server.getAddress().getPort())), "v2.1");
+    }
+
+    private static ValidationJob job(final String key, final ValidationJobState state, final String validationId, final long createdOn) {
+        Date date = new Date(createdOn);
+
+        return new ValidationJob(key,
+                state,
+                validationId == null ? "{\"entries\":[{\"inputData\":\"alice@example.com\"}]}" : null,
+                validationId,
+                0,
+                null,
+                date,
+                date);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+
+        if (exchange.getRequestMethod().equals("POST")) {
+            submissions.incrementAndGet();
+            body = validation("new-id", "InProgress");
+        } else if (path.endsWith("/overview")) {
+            body = overview(path.split("/")[3], "Completed");
+        } else {
+            body = validation(path.split("/")[3], "Completed");
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(exchange.getRequestMethod().equals("POST") ? 202 : 200, bytes.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static String validation(final String id, final String status) {
+        return "{\"overview\":" + overview(id, status) + ",\"entries\":{\"data\":[{\"index\":0," +
+                "\"inputData\":\"alice@example.com\",\"classification\":\"Deliverable\",\"status\":\"Success\"}]}}";
+    }
+
+    private static String overview(final String id, final String status) {
+        return "{\"id\":\"" + id + "\",\"status\":\"" + status + "\",\"noOfEntries\":1," +
+                "\"submittedOn\":\"2020-06-01T10:15:30Z\",\"createdOn\":\"2020-06-01T10:15:30Z\"}";
+    }
+}
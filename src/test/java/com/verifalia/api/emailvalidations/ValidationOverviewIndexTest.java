@@ -0,0 +1,143 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.rest.CodecFixtures;
+import com.verifalia.api.rest.RestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks how a {@link ValidationOverviewIndex} handles a listing which fails midway, against a stub of the Verifalia
+ * API which serves the first segment of the overviews and fails on the next one.
+ */
+public class ValidationOverviewIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void keepsTheOverviewsRetrievedBeforeAFailure() throws Exception {
+        Path snapshotPath = folder.getRoot().toPath().resolve("overviews.jsonl");
+        ValidationOverviewIndex index = new ValidationOverviewIndex(emailValidations(), snapshotPath);
+
+        try {
+            index.sync();
+            throw new AssertionError("The failed listing went unnoticed.");
+        } catch (VerifaliaException e) {
+            assertEquals(0, e.getSuppressed().length);
+        }
+
+        assertEquals(1, index.size());
+        assertEquals(1, new ValidationOverviewIndex(emailValidations(), snapshotPath).size());
+    }
+
+    @Test
+    public void keepsTheListingFailureWhenTheSnapshotCantBeWritten() throws Exception {
+        File directory = folder.newFolder("index");
+        ValidationOverviewIndex index = new ValidationOverviewIndex(emailValidations(), directory.toPath().resolve("overviews.jsonl"));
+
+        Files.delete(directory.toPath());
+
+        try {
+            index.sync();
+            throw new AssertionError("The failed listing went unnoticed.");
+        } catch (VerifaliaException e) {
+            assertEquals(1, e.getSuppressed().length);
+            assertTrue(e.getSuppressed()[0] instanceof IOException);
+        }
+    }
+
+    private EmailValidationsRestClient emailValidations() {
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        RestClient restClient = new RestClient(anonymous,
+                Collections.singletonList(URI.create("http://127.0.0.1:" + server.getAddress().getPort())), "v2.1");
+
+        return new VerifaliaRestClient(restClient).getEmailValidations();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+
+        if (query != null && query.contains("cursor=")) {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] body = CodecFixtures.OVERVIEW_SEGMENT.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
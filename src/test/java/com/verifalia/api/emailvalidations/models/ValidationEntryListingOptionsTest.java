@@ -0,0 +1,81 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.emailvalidations.models;
+
+import com.verifalia.api.common.filters.FilterPredicateFragment;
+import com.verifalia.api.common.filters.SetExclusionPredicate;
+import com.verifalia.api.common.filters.SetFilterPredicate;
+import com.verifalia.api.common.filters.SetInclusionPredicate;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationEntryListingOptionsTest {
+    @Test
+    public void appliesTheSetPredicates() {
+        ValidationEntryListingOptions options = new ValidationEntryListingOptions();
+        options.setStatuses(new SetInclusionPredicate<>(ValidationEntryStatus.Success));
+        options.setClassifications(new SetExclusionPredicate<>(ValidationEntryClassification.Undeliverable));
+
+        assertTrue(options.matches(entry(ValidationEntryStatus.Success, ValidationEntryClassification.Deliverable)));
+        assertFalse(options.matches(entry(ValidationEntryStatus.MailboxDoesNotExist, ValidationEntryClassification.Deliverable)));
+        assertFalse(options.matches(entry(ValidationEntryStatus.Success, ValidationEntryClassification.Undeliverable)));
+    }
+
+    @Test
+    public void acceptsEveryValueWithAnEmptyInclusionSet() {
+        ValidationEntryListingOptions options = new ValidationEntryListingOptions();
+        options.setStatuses(new SetInclusionPredicate<>());
+
+        assertTrue(options.matches(entry(ValidationEntryStatus.Success, ValidationEntryClassification.Deliverable)));
+    }
+
+    @Test
+    public void leavesCustomPredicatesToTheServer() {
+        ValidationEntryListingOptions options = new ValidationEntryListingOptions();
+        options.setStatuses(new SetFilterPredicate<ValidationEntryStatus>() {
+            @Override
+            public FilterPredicateFragment[] serialize(final String fieldName) {
+                return new FilterPredicateFragment[]{new FilterPredicateFragment(fieldName, "Success")};
+            }
+        });
+
+        assertTrue(options.matches(entry(ValidationEntryStatus.MailboxDoesNotExist, ValidationEntryClassification.Undeliverable)));
+    }
+
+    private static ValidationEntry entry(final ValidationEntryStatus status, final ValidationEntryClassification classification) {
+        ValidationEntry entry = new ValidationEntry();
+        entry.setStatus(status);
+        entry.setClassification(classification);
+        return entry;
+    }
+}
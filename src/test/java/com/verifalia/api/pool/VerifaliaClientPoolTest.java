@@ -0,0 +1,160 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.pool;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class VerifaliaClientPoolTest {
+    private final List<CloseableProvider> providers = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void reusesTheClientOfEachTenant() throws Exception {
+        try (VerifaliaClientPool pool = new VerifaliaClientPool(this::resolve)) {
+            VerifaliaRestClient client = pool.getClient("a");
+
+            assertSame(client, pool.getClient("a"));
+            assertEquals(1, pool.size());
+            assertEquals(1, providers.size());
+        }
+    }
+
+    @Test
+    public void resolvesTenantsOutsideOfTheLocksOfThePool() throws Exception {
+        CountDownLatch resolving = new CountDownLatch(2);
+
+        // Both threads must be able to run the resolver for the same tenant at the same time
+
+        Function<String, TenantConfiguration> resolver = tenantId -> {
+            resolving.countDown();
+
+            try {
+                assertTrue(resolving.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+
+            return resolve(tenantId);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (VerifaliaClientPool pool = new VerifaliaClientPool(resolver)) {
+            Future<VerifaliaRestClient> first = executor.submit(() -> pool.getClient("a"));
+            Future<VerifaliaRestClient> second = executor.submit(() -> pool.getClient("a"));
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(2, providers.size());
+
+            // The provider of the discarded client is closed right away
+
+            assertTrue(providers.get(0).closed != providers.get(1).closed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void closesInvalidatedProvidersAfterTheGracePeriod() throws Exception {
+        VerifaliaClientPoolOptions options = VerifaliaClientPoolOptions.builder()
+                .evictionGracePeriod(Duration.ZERO)
+                .build();
+
+        try (VerifaliaClientPool pool = new VerifaliaClientPool(this::resolve, options)) {
+            pool.getClient("a");
+            pool.invalidate("a");
+
+            assertEquals(0, pool.size());
+            Thread.sleep(1);
+            pool.evictIdleClients();
+
+            assertTrue(providers.get(0).closed);
+        }
+    }
+
+    @Test
+    public void keepsEvictedProvidersOpenDuringTheGracePeriod() throws Exception {
+        VerifaliaClientPoolOptions options = VerifaliaClientPoolOptions.builder()
+                .idleTimeout(Duration.ZERO)
+                .evictionGracePeriod(Duration.ofHours(1))
+                .build();
+
+        VerifaliaClientPool pool = new VerifaliaClientPool(this::resolve, options);
+
+        pool.getClient("a");
+        Thread.sleep(1);
+
+        assertEquals(1, pool.evictIdleClients());
+        assertEquals(0, pool.size());
+        assertFalse(providers.get(0).closed);
+
+        // Closing the pool closes every provider, regardless of the grace period
+
+        pool.close();
+
+        assertTrue(providers.get(0).closed);
+    }
+
+    private TenantConfiguration resolve(final String tenantId) {
+        CloseableProvider provider = new CloseableProvider();
+        providers.add(provider);
+
+        return TenantConfiguration.builder()
+                .authenticationProvider(provider)
+                .build();
+    }
+
+    private static class CloseableProvider extends AuthenticationProvider implements Closeable {
+        volatile boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import lombok.NonNull;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.annotate.JsonSerialize;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonCodec} which maps the models through Jackson bean introspection and their annotations only, without the
+ * streaming codecs of {@link com.verifalia.api.common.serialization.ModelCodecs}: the mappers are configured as the
+ * SDK did before those codecs were introduced.
+ */
+public class BeanIntrospectionJsonCodec implements JsonCodec {
+    private final ObjectMapper serializationMapper;
+    private final ObjectMapper deserializationMapper;
+
+    public BeanIntrospectionJsonCodec() {
+        this.serializationMapper = new ObjectMapper();
+        this.serializationMapper.setSerializationInclusion(JsonSerialize.Inclusion.NON_NULL);
+
+        JsonFactory factory = new JsonFactory();
+        factory.enable(JsonParser.Feature.ALLOW_COMMENTS);
+        factory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+        this.deserializationMapper = new ObjectMapper(factory);
+        this.deserializationMapper.configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public String serialize(@NonNull final Object value) throws IOException {
+        return serializationMapper.writeValueAsString(value);
+    }
+
+    @Override
+    public <T> T deserialize(@NonNull final byte[] data, @NonNull final Class<T> type) throws IOException {
+        return deserializationMapper.readValue(data, type);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import com.verifalia.api.credits.CreditsRestClient;
+import com.verifalia.api.emailvalidations.EmailValidationsRestClient;
+import com.verifalia.api.emailvalidations.models.CompletionCallback;
+import com.verifalia.api.emailvalidations.models.DeduplicationMode;
+import com.verifalia.api.emailvalidations.models.QualityLevelName;
+import com.verifalia.api.emailvalidations.models.ValidationPriority;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Representative payloads of the Verifalia API, shared by the codec conformance tests and benchmarks.
+ */
+public final class CodecFixtures {
+    public static final String OVERVIEW = "{\"id\":\"a3fd6a48-ba7b-4fe0-8d8b-d6d3ab8b2a42\",\"status\":\"Completed\"," +
+            "\"name\":\"newsletter\",\"owner\":\"00000000-0000-0000-0000-000000000001\",\"clientIP\":\"192.0.2.1\"," +
+            "\"priority\":100,\"quality\":\"High\",\"deduplication\":\"Safe\",\"noOfEntries\":2," +
+            "\"progress\":{\"percentage\":1,\"estimatedTimeRemaining\":\"00:00:00\"},\"retention\":\"1.00:30:00\"," +
+            "\"submittedOn\":\"2020-06-01T10:15:30.123Z\",\"createdOn\":\"2020-06-01T10:15:30.456Z\"," +
+            "\"completedOn\":\"2020-06-01T10:16:02Z\",\"unknownField\":{\"nested\":[1,2,{\"deep\":null}]}}";
+
+    public static final String ENTRY = "{\"index\":1,\"inputData\":\"Alice <alice@example.com>\"," +
+            "\"classification\":\"Deliverable\",\"status\":\"Success\",\"emailAddress\":\"alice@example.com\"," +
+            "\"emailAddressLocalPart\":\"alice\",\"emailAddressDomainPart\":\"example.com\"," +
+            "\"asciiEmailAddressDomainPart\":\"example.com\",\"hasInternationalDomainName\":false," +
+            "\"hasInternationalMailboxName\":false,\"isDisposableEmailAddress\":false,\"isRoleAccount\":false," +
+            "\"isFreeEmailAddress\":true,\"custom\":\"customer-42\",\"completedOn\":\"2020-06-01T10:16:01.5Z\"," +
+            "\"unknownField\":[\"ignored\"]}";
+
+    public static final String DUPLICATE_ENTRY = "{\"index\":2,\"inputData\":\"alice@example.com\"," +
+            "\"classification\":\"Unknown\",\"status\":\"Duplicate\",\"syntaxFailureIndex\":null,\"duplicateOf\":1}";
+
+    public static final String COMPLETED_VALIDATION = "{\"overview\":{\"id\":\"a3fd6a48-ba7b-4fe0-8d8b-d6d3ab8b2a42\"," +
+            "\"status\":\"Completed\",\"owner\":\"00000000-0000-0000-0000-000000000001\",\"priority\":100," +
+            "\"quality\":\"Standard\",\"deduplication\":\"Off\",\"noOfEntries\":1," +
+            "\"submittedOn\":\"2020-06-01T10:15:30.123Z\",\"createdOn\":\"2020-06-01T10:15:30.456Z\"," +
+            "\"completedOn\":\"2020-06-01T10:15:30.789Z\"},\"entries\":{\"meta\":{\"isTruncated\":false},\"data\":[" +
+            ENTRY + "]}}";
+
+    public static final String OVERVIEW_SEGMENT = "{\"meta\":{\"cursor\":\"abc\",\"isTruncated\":true},\"data\":[" +
+            OVERVIEW + "," + OVERVIEW + "]}";
+
+    public static final String BALANCE = "{\"creditPacks\":1234.5,\"freeCredits\":100,\"freeCreditsResetIn\":\"09:41:26\"," +
+            "\"unknownField\":true}";
+
+    public static final String DAILY_USAGE_SEGMENT = "{\"meta\":{\"isTruncated\":false},\"data\":[" +
+            "{\"date\":\"2020-06-01\",\"freeCredits\":25.5,\"creditPacks\":12}," +
+            "{\"date\":\"2020-06-02\",\"freeCredits\":0,\"creditPacks\":3.25}]}";
+
+    public static final Class<EmailValidationsRestClient.ValidationOverviewListSegment> OVERVIEW_SEGMENT_TYPE =
+            EmailValidationsRestClient.ValidationOverviewListSegment.class;
+
+    public static final Class<CreditsRestClient.DailyUsageListSegment> DAILY_USAGE_SEGMENT_TYPE =
+            CreditsRestClient.DailyUsageListSegment.class;
+
+    private CodecFixtures() {
+    }
+
+    /**
+     * Returns the UTF-8 encoded form of the specified payload, as received from the Verifalia API.
+     */
+    public static byte[] utf8(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a request with a single entry and no settings.
+     */
+    public static ValidationRequest minimalRequest() {
+        return new ValidationRequest("alice@example.com");
+    }
+
+    /**
+     * Builds a request with several entries and every setting.
+     */
+    public static ValidationRequest fullRequest() {
+        ValidationRequest request = new ValidationRequest(new String[]{"alice@example.com", "bob@example.net"},
+                QualityLevelName.High, DeduplicationMode.Safe);
+        request.setName("newsletter");
+        request.setPriority(ValidationPriority.Highest);
+        request.setRetention(Duration.ofDays(1).plusMinutes(30));
+        request.setCompletionCallback(new CompletionCallback("https://example.com/callback"));
+
+        return request;
+    }
+}
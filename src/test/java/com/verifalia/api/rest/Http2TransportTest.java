@@ -0,0 +1,122 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the fallback of {@link Http2Transport} against a server which only speaks HTTP/1.1, and thus rejects the
+ * HTTP/2 connection preface.
+ */
+public class Http2TransportTest {
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+
+    private HttpServer server;
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private CloseableHttpClient httpClient;
+    private Http2Transport transport;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedRequests.incrementAndGet();
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        httpClient = HttpClients.createDefault();
+        transport = new Http2Transport();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        transport.close();
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void resendsIdempotentRequestsOverHttp1() throws IOException {
+        try (CloseableHttpResponse response = transport.execute(httpClient, new HttpGet(uri()), TIMEOUT_NANOS)) {
+            assertEquals(204, response.getStatusLine().getStatusCode());
+        }
+
+        assertEquals(1, receivedRequests.get());
+    }
+
+    @Test
+    public void doesNotResendNonIdempotentRequests() throws IOException {
+        try {
+            transport.execute(httpClient, post(), TIMEOUT_NANOS).close();
+            fail("The request should have failed.");
+        } catch (IOException e) {
+            // Expected
+        }
+
+        assertEquals(0, receivedRequests.get());
+
+        // The base URI is now known not to support HTTP/2
+
+        try (CloseableHttpResponse response = transport.execute(httpClient, post(), TIMEOUT_NANOS)) {
+            assertEquals(204, response.getStatusLine().getStatusCode());
+        }
+
+        assertEquals(1, receivedRequests.get());
+    }
+
+    private String uri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/jobs";
+    }
+
+    private HttpPost post() {
+        HttpPost post = new HttpPost(uri());
+        post.setEntity(new StringEntity("{}", "UTF-8"));
+        return post;
+    }
+}
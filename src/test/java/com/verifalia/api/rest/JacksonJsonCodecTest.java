@@ -0,0 +1,84 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.verifalia.api.rest;
+
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class JacksonJsonCodecTest extends JsonCodecConformance {
+    @Override
+    protected JsonCodec createCodec() {
+        return new JacksonJsonCodec();
+    }
+
+    @Test
+    public void skipsTheFieldsOutsideOfTheProjection() throws Exception {
+        JacksonJsonCodec codec = new JacksonJsonCodec();
+        byte[] data = "{\"index\":3,\"inputData\":\"alice@example.com\",\"status\":\"Success\"}".getBytes(StandardCharsets.UTF_8);
+
+        // The second call, with an equal set of another type, reuses the mapper built by the first one
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            ValidationEntry entry = codec.deserialize(data, ValidationEntry.class, attempt == 0
+                    ? EnumSet.of(ValidationEntryField.Index)
+                    : new HashSet<>(EnumSet.of(ValidationEntryField.Index)));
+
+            assertEquals(Integer.valueOf(3), entry.getIndex());
+            assertNull(entry.getInputData());
+            assertNull(entry.getStatus());
+        }
+    }
+
+    @Test
+    public void skipsEveryFieldWithAnEmptyProjection() throws Exception {
+        JacksonJsonCodec codec = new JacksonJsonCodec();
+        byte[] data = "{\"index\":3,\"inputData\":\"alice@example.com\"}".getBytes(StandardCharsets.UTF_8);
+
+        ValidationEntry entry = codec.deserialize(data, ValidationEntry.class, Collections.<ValidationEntryField>emptySet());
+
+        assertNull(entry.getIndex());
+        assertNull(entry.getInputData());
+
+        entry = codec.deserialize(data, ValidationEntry.class, new HashSet<ValidationEntryField>());
+
+        assertNull(entry.getIndex());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import com.verifalia.api.emailvalidations.models.ValidationRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import static com.verifalia.api.rest.CodecFixtures.*;
+
+/**
+ * Compares the throughput of the default {@link JacksonJsonCodec} with the one of the bean introspection based
+ * {@link BeanIntrospectionJsonCodec}, over the payloads of {@link CodecFixtures}. The benchmark is not run by the
+ * build; once the test sources are compiled with <tt>mvn test-compile</tt>, run it with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main JsonCodecBenchmark -prof gc
+ * </pre>
+ * where the test classpath is the one printed by <tt>mvn dependency:build-classpath</tt>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+    private static final EnumSet<ValidationEntryField> PROJECTION = EnumSet.of(ValidationEntryField.Index,
+            ValidationEntryField.Classification, ValidationEntryField.Status);
+
+    @Param({"streaming", "introspection"})
+    public String codecName;
+
+    private JsonCodec codec;
+    private byte[] overviewSegment;
+    private byte[] entry;
+    private byte[] balance;
+    private ValidationRequest request;
+
+    @Setup
+    public void setUp() {
+        codec = "streaming".equals(codecName)
+                ? new JacksonJsonCodec()
+                : new BeanIntrospectionJsonCodec();
+
+        overviewSegment = utf8(OVERVIEW_SEGMENT);
+        entry = utf8(ENTRY);
+        balance = utf8(BALANCE);
+        request = fullRequest();
+    }
+
+    @Benchmark
+    public Object deserializeOverviewSegment() throws IOException {
+        return codec.deserialize(overviewSegment, OVERVIEW_SEGMENT_TYPE);
+    }
+
+    @Benchmark
+    public ValidationEntry deserializeEntry() throws IOException {
+        return codec.deserialize(entry, ValidationEntry.class);
+    }
+
+    @Benchmark
+    public ValidationEntry deserializeProjectedEntry() throws IOException {
+        return codec.deserialize(entry, ValidationEntry.class, PROJECTION);
+    }
+
+    @Benchmark
+    public Balance deserializeBalance() throws IOException {
+        return codec.deserialize(balance, Balance.class);
+    }
+
+    @Benchmark
+    public String serializeRequest() throws IOException {
+        return codec.serialize(request);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.emailvalidations.models.ValidationEntry;
+import com.verifalia.api.emailvalidations.models.ValidationEntryField;
+import com.verifalia.api.emailvalidations.models.ValidationOverview;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static com.verifalia.api.rest.CodecFixtures.*;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks a {@link JsonCodec} against a reference one, over the payloads of {@link CodecFixtures}. The reference maps the
+ * models through Jackson bean introspection, as the SDK did before its streaming codecs were introduced, so that both
+ * the default {@link JacksonJsonCodec} and any alternative codec are held to the same behavior. Authors of alternative
+ * codecs can extend this class, which ships in the test-jar of the SDK, and implement {@link #createCodec()}.
+ */
+public abstract class JsonCodecConformance {
+    private JsonCodec reference;
+    private JsonCodec codec;
+
+    /**
+     * Creates the codec to check.
+     */
+    protected abstract JsonCodec createCodec();
+
+    /**
+     * Creates the codec the checked one is compared with; defaults to a {@link BeanIntrospectionJsonCodec}.
+     */
+    protected JsonCodec createReferenceCodec() {
+        return new BeanIntrospectionJsonCodec();
+    }
+
+    @Before
+    public void setUp() {
+        reference = createReferenceCodec();
+        codec = createCodec();
+    }
+
+    @Test
+    public void deserializesOverviews() throws Exception {
+        assertDeserializesLikeReference(ValidationOverview.class, OVERVIEW);
+    }
+
+    @Test
+    public void deserializesEntries() throws Exception {
+        assertDeserializesLikeReference(ValidationEntry.class, ENTRY);
+        assertDeserializesLikeReference(ValidationEntry.class, DUPLICATE_ENTRY);
+    }
+
+    @Test
+    public void deserializesOverviewSegments() throws Exception {
+        assertDeserializesLikeReference(OVERVIEW_SEGMENT_TYPE, OVERVIEW_SEGMENT);
+    }
+
+    @Test
+    public void deserializesBalances() throws Exception {
+        assertDeserializesLikeReference(Balance.class, BALANCE);
+    }
+
+    @Test
+    public void deserializesDailyUsageSegments() throws Exception {
+        assertDeserializesLikeReference(DAILY_USAGE_SEGMENT_TYPE, DAILY_USAGE_SEGMENT);
+    }
+
+    @Test
+    public void deserializesTimestampsToTheMillisecond() throws Exception {
+        // The string forms of the models only show whole seconds
+
+        ValidationOverview expectedOverview = reference.deserialize(utf8(OVERVIEW), ValidationOverview.class);
+        ValidationOverview actualOverview = codec.deserialize(utf8(OVERVIEW), ValidationOverview.class);
+
+        assertEquals(expectedOverview.getSubmittedOn().getTime(), actualOverview.getSubmittedOn().getTime());
+        assertEquals(expectedOverview.getCreatedOn().getTime(), actualOverview.getCreatedOn().getTime());
+        assertEquals(expectedOverview.getCompletedOn().getTime(), actualOverview.getCompletedOn().getTime());
+
+        ValidationEntry expectedEntry = reference.deserialize(utf8(ENTRY), ValidationEntry.class);
+        ValidationEntry actualEntry = codec.deserialize(utf8(ENTRY), ValidationEntry.class);
+
+        assertEquals(expectedEntry.getCompletedOn().getTime(), actualEntry.getCompletedOn().getTime());
+    }
+
+    @Test
+    public void deserializesProjectedFields() throws Exception {
+        EnumSet<ValidationEntryField> fields = EnumSet.of(ValidationEntryField.Index, ValidationEntryField.Classification);
+
+        ValidationEntry expected = reference.deserialize(utf8(ENTRY), ValidationEntry.class);
+        ValidationEntry actual = codec.deserialize(utf8(ENTRY), ValidationEntry.class, fields);
+
+        assertEquals(expected.getIndex(), actual.getIndex());
+        assertEquals(expected.getClassification(), actual.getClassification());
+    }
+
+    @Test
+    public void serializesMinimalRequests() throws Exception {
+        assertSerializesLikeReference(minimalRequest());
+    }
+
+    @Test
+    public void serializesFullRequests() throws Exception {
+        assertSerializesLikeReference(fullRequest());
+    }
+
+    private void assertDeserializesLikeReference(final Class<?> type, final String json) throws Exception {
+        assertEquals(String.valueOf(reference.deserialize(utf8(json), type)), String.valueOf(codec.deserialize(utf8(json), type)));
+    }
+
+    private void assertSerializesLikeReference(final Object value) throws Exception {
+        // Compare the trees, as the order of the properties is not relevant
+
+        ObjectMapper treeMapper = new ObjectMapper();
+
+        assertEquals(treeMapper.readTree(reference.serialize(value)), treeMapper.readTree(codec.serialize(value)));
+    }
+}
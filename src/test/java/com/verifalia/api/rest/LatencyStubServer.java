@@ -0,0 +1,188 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.AsyncResponseBuilder;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.reactor.IOSession;
+import org.apache.hc.core5.reactor.IOSessionListener;
+import org.apache.hc.core5.reactor.ListenerEndpoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A stub of the Verifalia API for the benchmarks, which answers every request with the same JSON body after a fixed
+ * latency. The stub is non-blocking, so that thousands of requests may wait on it without a thread each, and accepts
+ * both HTTP/1.1 and HTTP/2 with prior knowledge on the same port; it also counts the connections opened by its clients.
+ */
+public class LatencyStubServer implements Closeable {
+    private final HttpAsyncServer server;
+    private final ScheduledExecutorService scheduler;
+    private final URI baseURI;
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger peakConnections = new AtomicInteger();
+
+    /**
+     * Starts a stub listening on an ephemeral port of the loopback interface.
+     * @param body The JSON body of the responses.
+     * @param latencyMillis The delay before each response, in milliseconds.
+     */
+    public LatencyStubServer(final byte[] body, final long latencyMillis) throws IOException {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "verifalia-stub-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = H2ServerBootstrap.bootstrap()
+                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setBacklogSize(4096)
+                        .setIoThreadCount(2)
+                        .build())
+                .setIOSessionListener(new ConnectionCounter())
+                .register("*", new AsyncServerRequestHandler<Message<HttpRequest, byte[]>>() {
+                    @Override
+                    public AsyncRequestConsumer<Message<HttpRequest, byte[]>> prepare(final HttpRequest request, final EntityDetails entityDetails,
+                                                                                     final HttpContext context) {
+                        return new BasicRequestConsumer<>(new BasicAsyncEntityConsumer());
+                    }
+
+                    @Override
+                    public void handle(final Message<HttpRequest, byte[]> message, final ResponseTrigger responseTrigger, final HttpContext context) {
+                        scheduler.schedule(() -> {
+                            try {
+                                responseTrigger.submitResponse(AsyncResponseBuilder.create(200)
+                                        .setEntity(body, ContentType.APPLICATION_JSON)
+                                        .build(), context);
+                            } catch (Exception e) {
+                                // The client is gone
+                            }
+                        }, latencyMillis, TimeUnit.MILLISECONDS);
+                    }
+                })
+                .create();
+
+        server.start();
+
+        try {
+            ListenerEndpoint endpoint = server.listen(new InetSocketAddress("127.0.0.1", 0)).get();
+            baseURI = URI.create("http://127.0.0.1:" + ((InetSocketAddress) endpoint.getAddress()).getPort());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IOException("Interrupted while starting the stub.", e);
+        } catch (ExecutionException e) {
+            close();
+            throw new IOException("Can't start the stub.", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the base URI of the stub.
+     */
+    public URI getBaseURI() {
+        return baseURI;
+    }
+
+    /**
+     * Gets the number of connections currently open to the stub.
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Gets the highest number of connections open at the same time since the last call.
+     */
+    public int takePeakConnections() {
+        return peakConnections.getAndSet(openConnections.get());
+    }
+
+    @Override
+    public void close() {
+        server.close(CloseMode.IMMEDIATE);
+        scheduler.shutdownNow();
+    }
+
+    private class ConnectionCounter implements IOSessionListener {
+        @Override
+        public void connected(final IOSession session) {
+            peakConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public void disconnected(final IOSession session) {
+            openConnections.decrementAndGet();
+        }
+
+        @Override
+        public void startTls(final IOSession session) {
+        }
+
+        @Override
+        public void inputReady(final IOSession session) {
+        }
+
+        @Override
+        public void outputReady(final IOSession session) {
+        }
+
+        @Override
+        public void timeout(final IOSession session) {
+        }
+
+        @Override
+        public void exception(final IOSession session, final Exception cause) {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Verifalia - Email list cleaning and real-time email verification service
+ * https://verifalia.com/
+ * support@verifalia.com
+ *
+ * Copyright (c) 2005-2020 Cobisi Research
+ *
+ * Cobisi Research
+ * Via Prima Strada, 35
+ * 35129, Padova
+ * Italy - European Union
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.verifalia.api.rest;
+
+import com.verifalia.api.VerifaliaRestClient;
+import com.verifalia.api.credits.CreditsRestClient;
+import com.verifalia.api.credits.models.Balance;
+import com.verifalia.api.exceptions.VerifaliaException;
+import com.verifalia.api.rest.security.AuthenticationProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default HTTP/1.1 transport with the {@link Http2Transport}, by the latency distribution of concurrent
+ * balance requests to a {@link LatencyStubServer} and by the number of sockets they open, which is printed at the end
+ * of each iteration. Once the test sources are compiled with <tt>mvn test-compile</tt>, run the benchmark with:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main TransportBenchmark
+ * </pre>
+ * where the test classpath is the one printed by <tt>mvn dependency:build-classpath</tt>; the number of concurrent
+ * requests is the number of benchmark threads, which <tt>-t</tt> overrides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class TransportBenchmark {
+    private static final byte[] BALANCE = "{\"creditPacks\":1000,\"freeCredits\":100}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"http1", "http2"})
+    public String transport;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private LatencyStubServer server;
+    private Http2Transport http2Transport;
+    private CreditsRestClient credits;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new LatencyStubServer(BALANCE, latencyMillis);
+
+        RestClientOptions.RestClientOptionsBuilder options = RestClientOptions.builder();
+
+        if ("http2".equals(transport)) {
+            http2Transport = new Http2Transport();
+            options.transport(http2Transport);
+        }
+
+        // The stub does not check the credentials
+
+        AuthenticationProvider anonymous = new AuthenticationProvider() {
+        };
+
+        credits = new VerifaliaRestClient(new RestClient(anonymous, Collections.singletonList(server.getBaseURI()), "v2.1",
+                options.build()))
+                .getCredits();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printSockets() {
+        System.out.println("Sockets: " + server.takePeakConnections() + " at most, " + server.getOpenConnections() + " open");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (http2Transport != null) {
+            http2Transport.close();
+        }
+
+        server.close();
+    }
+
+    @Benchmark
+    public Balance getBalance() throws VerifaliaException {
+        return credits.getBalance();
+    }
+}